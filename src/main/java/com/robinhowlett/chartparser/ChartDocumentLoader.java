@@ -0,0 +1,110 @@
+package com.robinhowlett.chartparser;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Loads PDF charts into PDFBox {@link PDDocument}s, optionally within a memory budget (beyond
+ * which PDFBox spills to a scratch file) and limiting how many documents may be loaded at once
+ * across concurrent parses
+ */
+class ChartDocumentLoader {
+    static final long UNRESTRICTED = -1;
+
+    private final long maxMainMemoryBytes;
+    private final File tempDirectory;
+    private final Semaphore permits;
+
+    ChartDocumentLoader() {
+        this(UNRESTRICTED, null, 0);
+    }
+
+    /**
+     * @param maxMainMemoryBytes the main memory each document may use before spilling to a
+     *                           scratch file, or {@link #UNRESTRICTED}
+     * @param tempDirectory      the directory for scratch files (the JVM's default when null)
+     * @param maxLoadedDocuments how many documents may be loaded at once (unlimited when zero or
+     *                           less)
+     */
+    ChartDocumentLoader(long maxMainMemoryBytes, File tempDirectory, int maxLoadedDocuments) {
+        this.maxMainMemoryBytes = maxMainMemoryBytes;
+        this.tempDirectory = tempDirectory;
+        this.permits = (maxLoadedDocuments > 0 ? new Semaphore(maxLoadedDocuments, true) : null);
+    }
+
+    /**
+     * Loads the PDF chart, blocking until a document may be loaded; the document must be
+     * released by closing the returned {@link LoadedDocument}
+     */
+    LoadedDocument load(ChartSource chartSource) throws IOException {
+        acquire();
+        try {
+            return new LoadedDocument(chartSource.load(memoryUsageSetting()));
+        } catch (IOException | RuntimeException e) {
+            release();
+            throw e;
+        }
+    }
+
+    MemoryUsageSetting memoryUsageSetting() {
+        MemoryUsageSetting memoryUsageSetting = (maxMainMemoryBytes < 0 ?
+                MemoryUsageSetting.setupMainMemoryOnly() :
+                MemoryUsageSetting.setupMixed(maxMainMemoryBytes));
+        if (tempDirectory != null) {
+            memoryUsageSetting.setTempDir(tempDirectory);
+        }
+        return memoryUsageSetting;
+    }
+
+    private void acquire() throws InterruptedIOException {
+        if (permits != null) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting to load a PDF chart");
+            }
+        }
+    }
+
+    private void release() {
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
+    /**
+     * A loaded {@link PDDocument} that, when closed, also frees its slot for another document
+     */
+    class LoadedDocument implements Closeable {
+        private final PDDocument document;
+        private boolean closed;
+
+        private LoadedDocument(PDDocument document) {
+            this.document = document;
+        }
+
+        PDDocument getDocument() {
+            return document;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                document.close();
+            } finally {
+                release();
+            }
+        }
+    }
+}
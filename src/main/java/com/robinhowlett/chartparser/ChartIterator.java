@@ -0,0 +1,198 @@
+package com.robinhowlett.chartparser;
+
+import com.robinhowlett.chartparser.ChartDocumentLoader.LoadedDocument;
+import com.robinhowlett.chartparser.cache.ChartCharacterCache;
+import com.robinhowlett.chartparser.cache.ChartCharacterCache.CachedPages;
+import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static com.robinhowlett.chartparser.ChartParser.combinePages;
+import static com.robinhowlett.chartparser.ChartParser.createChartCharacters;
+import static com.robinhowlett.chartparser.ChartParser.endsWithCopyright;
+import static com.robinhowlett.chartparser.ChartParser.separateIntoLines;
+
+/**
+ * Lazily extracts the lines of {@link ChartCharacter}s of each chart within a PDF, one page at a
+ * time, combining charts that are spread over two pages. The PDF (or its cached characters) is opened
+ * on the first call to {@link #hasNext()} and released once every page has been read (or when
+ * closed).
+ */
+class ChartIterator implements Iterator<List<List<ChartCharacter>>>, Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChartIterator.class);
+
+    private final ChartSource chartSource;
+    private final ChartDocumentLoader documentLoader;
+    private final ChartCharacterCache characterCache;
+
+    private LoadedDocument charts;
+    private CachedPages cachedPages;
+    private ChartCharacterCache.Writer cacheWriter;
+    private int numberOfPages = -1;
+    private int nextPage = 1;
+    private List<List<ChartCharacter>> next;
+
+    ChartIterator(ChartSource chartSource) {
+        this(chartSource, new ChartDocumentLoader(), null);
+    }
+
+    /**
+     * When a {@link ChartCharacterCache} is provided, the pages are read from it if present;
+     * otherwise each extracted page is added to a new cache entry, which is committed once every
+     * page has been extracted
+     */
+    ChartIterator(ChartSource chartSource, ChartDocumentLoader documentLoader,
+            ChartCharacterCache characterCache) {
+        this.chartSource = chartSource;
+        this.documentLoader = documentLoader;
+        this.characterCache = characterCache;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+
+        if (numberOfPages < 0) {
+            open();
+        }
+
+        List<ChartCharacter> previousPage = null;
+        List<List<ChartCharacter>> previousChart = null;
+        while (next == null && nextPage <= numberOfPages) {
+            List<ChartCharacter> chartCharacters;
+            try {
+                chartCharacters = readPage(nextPage++);
+            } catch (IOException e) {
+                LOGGER.error(e.getMessage(), e);
+                close();
+                break;
+            }
+
+            List<List<ChartCharacter>> lines = separateIntoLines(chartCharacters);
+
+            // if Copyright notice is not the last line, the text continued to the next page
+            if (endsWithCopyright(lines)) {
+                if (previousChart != null) {
+                    next = combinePages(previousPage, previousChart, chartCharacters, lines);
+                } else {
+                    next = lines;
+                }
+            } else {
+                previousPage = chartCharacters;
+                previousChart = lines;
+            }
+        }
+
+        if (nextPage > numberOfPages) {
+            commitCacheEntry();
+            close();
+        }
+
+        return (next != null);
+    }
+
+    @Override
+    public List<List<ChartCharacter>> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<List<ChartCharacter>> chart = next;
+        next = null;
+        return chart;
+    }
+
+    private void open() {
+        numberOfPages = 0;
+
+        if (characterCache != null) {
+            try {
+                String contentHash = chartSource.getContentHash();
+                Optional<CachedPages> cached = characterCache.read(contentHash);
+                if (cached.isPresent()) {
+                    cachedPages = cached.get();
+                    numberOfPages = cachedPages.getNumberOfPages();
+                    return;
+                }
+                cacheWriter = characterCache.writer(contentHash);
+            } catch (IOException e) {
+                LOGGER.warn(String.format("Unable to use character cache for %s",
+                        chartSource.getName()), e);
+            }
+        }
+
+        try {
+            charts = documentLoader.load(chartSource);
+            numberOfPages = charts.getDocument().getNumberOfPages();
+        } catch (IOException e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+    }
+
+    private List<ChartCharacter> readPage(int pageNumber) throws IOException {
+        if (cachedPages != null) {
+            return cachedPages.getPage(pageNumber);
+        }
+
+        List<ChartCharacter> page = createChartCharacters(charts.getDocument(), pageNumber);
+        if (cacheWriter != null) {
+            try {
+                cacheWriter.addPage(page);
+            } catch (IOException e) {
+                LOGGER.warn(String.format("Unable to write character cache for %s",
+                        chartSource.getName()), e);
+                discardCacheEntry();
+            }
+        }
+        return page;
+    }
+
+    // only called once every page has been extracted successfully
+    private void commitCacheEntry() {
+        if (cacheWriter != null && charts != null) {
+            try {
+                cacheWriter.commit();
+            } catch (IOException e) {
+                LOGGER.warn(String.format("Unable to write character cache for %s",
+                        chartSource.getName()), e);
+            }
+        }
+        discardCacheEntry();
+    }
+
+    private void discardCacheEntry() {
+        if (cacheWriter != null) {
+            try {
+                cacheWriter.close();
+            } catch (IOException e) {
+                LOGGER.warn(e.getMessage(), e);
+            }
+            cacheWriter = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        // no more pages should be read once released
+        numberOfPages = 0;
+        cachedPages = null;
+        discardCacheEntry();
+        if (charts != null) {
+            try {
+                charts.close();
+            } catch (IOException e) {
+                LOGGER.error(e.getMessage(), e);
+            }
+            charts = null;
+        }
+    }
+}
@@ -3,12 +3,11 @@ package com.robinhowlett.chartparser;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.databind.MapperFeature;
-import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.dataformat.csv.CsvMapper;
-import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
 import com.robinhowlett.chartparser.charts.pdf.*;
 import com.robinhowlett.chartparser.charts.pdf.DistanceSurfaceTrackRecord.RaceDistance;
@@ -20,8 +19,14 @@ import com.robinhowlett.chartparser.charts.pdf.running_line.RunningLine;
 import com.robinhowlett.chartparser.charts.pdf.running_line.RunningLineColumnIndex;
 import com.robinhowlett.chartparser.charts.pdf.running_line.RunningLineHeader;
 import com.robinhowlett.chartparser.charts.pdf.wagering.WagerPayoffPools;
+import com.robinhowlett.chartparser.ChartDocumentLoader.LoadedDocument;
+import com.robinhowlett.chartparser.cache.ChartCharacterCache;
+import com.robinhowlett.chartparser.cache.ChartCharacterCache.CachedPages;
+import com.robinhowlett.chartparser.cache.RaceResultCache;
+import com.robinhowlett.chartparser.charts.text.ChartDumpReader;
 import com.robinhowlett.chartparser.charts.text.ChartStripper;
 import com.robinhowlett.chartparser.exceptions.ChartParserException;
+import com.robinhowlett.chartparser.exceptions.PageTimeoutException;
 import com.robinhowlett.chartparser.formats.SimpleLocalDateDeserializer;
 import com.robinhowlett.chartparser.formats.SimpleLocalDateSerializer;
 import com.robinhowlett.chartparser.fractionals.FractionalPoint;
@@ -33,7 +38,7 @@ import com.robinhowlett.chartparser.tracks.Track;
 import com.robinhowlett.chartparser.tracks.TrackRepository;
 import com.robinhowlett.chartparser.tracks.TrackService;
 
-import org.apache.pdfbox.multipdf.Splitter;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.slf4j.Logger;
@@ -41,22 +46,42 @@ import org.slf4j.LoggerFactory;
 import org.springframework.hateoas.Link;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.Reader;
 import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
-import static com.robinhowlett.chartparser.charts.pdf.Chart.convertToText;
 import static com.robinhowlett.chartparser.charts.pdf.TrackRaceDateRaceNumber.NoLinesToParse;
+import static com.robinhowlett.chartparser.charts.pdf.ChartSections.Section.*;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * Parses a PDF race chart {@link File}, converting each race to a {@link RaceResult}
@@ -65,33 +90,85 @@ public class ChartParser {
     public static final Pattern COPYRIGHT_PATTERN =
             Pattern.compile("^Copyright (\\d+) Equibase Company LLC. All Rights Reserved\\.$");
 
+    /**
+     * Identifies the version of the parsing logic and bundled reference data; increment it
+     * whenever either changes so that previously cached {@link RaceResult}s are not reused
+     */
+    public static final int RESULT_VERSION = 1;
+    public static final String DEFAULT_REFERENCE_DATA_VERSION = "bundled";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(ChartParser.class);
     private static ObjectMapper mapper;
     private static CsvMapper csvMapper;
 
+    /**
+     * @deprecated the services this parser was constructed with, which do not follow a
+     * {@link ReferenceDataDirectory} reload; use {@link #getReferenceData()} instead
+     */
+    @Deprecated
     protected final TrackService trackService;
+    /**
+     * @deprecated see {@link #trackService}
+     */
+    @Deprecated
     protected final FractionalService fractionalService;
+    /**
+     * @deprecated see {@link #trackService}
+     */
+    @Deprecated
     protected final PointsOfCallService pointsOfCallService;
+    protected final ReferenceData referenceData;
+    protected final ExecutorService extractionExecutor;
+    protected final ChartDocumentLoader documentLoader;
+    protected final ChartCharacterCache characterCache;
+    protected final RaceResultCache resultCache;
+    protected final ReferenceDataDirectory referenceDataDirectory;
+    protected final Duration pageTimeBudget;
 
     public ChartParser(TrackService trackService, FractionalService fractionalService,
             PointsOfCallService pointsOfCallService) {
-        this.trackService = trackService;
-        this.fractionalService = fractionalService;
-        this.pointsOfCallService = pointsOfCallService;
+        this(trackService, fractionalService, pointsOfCallService, null);
     }
 
-    public static ChartParser create() {
-        ObjectMapper jsonMapper = getObjectMapper();
-
-        CsvMapper csvMapper = getCsvMapper();
+    /**
+     * When an {@link ExecutorService} is provided, the pages of each PDF are extracted
+     * concurrently using it; otherwise they are extracted sequentially on the calling thread. The
+     * executor is owned by the caller and is never shut down by this parser. The parsing thread
+     * waits for the executor's tasks, so do not parse on the same bounded executor: if all of its
+     * threads are parsing, none are left to extract and the parses deadlock.
+     */
+    public ChartParser(TrackService trackService, FractionalService fractionalService,
+            PointsOfCallService pointsOfCallService, ExecutorService extractionExecutor) {
+        this.referenceData = new ReferenceData(trackService, fractionalService,
+                pointsOfCallService, DEFAULT_REFERENCE_DATA_VERSION);
+        this.trackService = referenceData.getTrackService();
+        this.fractionalService = referenceData.getFractionalService();
+        this.pointsOfCallService = referenceData.getPointsOfCallService();
+        this.extractionExecutor = extractionExecutor;
+        this.documentLoader = new ChartDocumentLoader();
+        this.characterCache = null;
+        this.resultCache = null;
+        this.referenceDataDirectory = null;
+        this.pageTimeBudget = null;
+    }
 
-        TrackService trackService = new TrackService(new TrackRepository(csvMapper));
-        FractionalService fractionalService = new FractionalService(
-                new FractionalPointRepository(jsonMapper));
-        PointsOfCallService pointsOfCallService = new PointsOfCallService(
-                new PointsOfCallRepository(jsonMapper));
+    private ChartParser(Builder builder) {
+        this.referenceData = new ReferenceData(builder.trackService, builder.fractionalService,
+                builder.pointsOfCallService, builder.referenceDataVersion);
+        this.trackService = referenceData.getTrackService();
+        this.fractionalService = referenceData.getFractionalService();
+        this.pointsOfCallService = referenceData.getPointsOfCallService();
+        this.extractionExecutor = builder.extractionExecutor;
+        this.documentLoader = new ChartDocumentLoader(builder.maxMainMemoryBytes,
+                builder.tempDirectory, builder.maxLoadedDocuments);
+        this.characterCache = builder.characterCache;
+        this.resultCache = builder.resultCache;
+        this.referenceDataDirectory = builder.referenceDataDirectory;
+        this.pageTimeBudget = builder.pageTimeBudget;
+    }
 
-        return new ChartParser(trackService, fractionalService, pointsOfCallService);
+    public static ChartParser create() {
+        return new Builder().build();
     }
 
     public static ObjectMapper getObjectMapper() {
@@ -131,18 +208,18 @@ public class ChartParser {
     }
 
     /**
-     * Loads the file into PDFBox's PDDocument, splits it into pages, and converts to CSV strings
+     * Loads the file into PDFBox's PDDocument and converts each page to a CSV string
      */
     static List<String> convertToCsv(File pdfChartFile) throws ChartParserException {
         List<String> csvCharts = new ArrayList<>();
+        List<List<ChartCharacter>> pages = new ArrayList<>();
         try (PDDocument charts = PDDocument.load(pdfChartFile)) {
-            Splitter splitter = new Splitter();
-            List<PDDocument> raceCharts = splitter.split(charts);
-            for (int i = 0; i < raceCharts.size(); i++) {
-                try (PDDocument raceChart = raceCharts.get(i)) {
-                    String csvChart = createCsvChart(raceChart);
-                    csvCharts.add(csvChart);
-                }
+            for (int page = 1; page <= charts.getNumberOfPages(); page++) {
+                // the characters are collected in the same pass, so the CSV needn't be read back
+                List<ChartCharacter> chartCharacters = new ArrayList<>();
+                String csvChart = createCsvChart(charts, page, chartCharacters);
+                csvCharts.add(csvChart);
+                pages.add(chartCharacters);
             }
         } catch (IOException e) {
             LOGGER.error(e.getMessage(), e);
@@ -153,14 +230,10 @@ public class ChartParser {
         String previousChart = null;
         for (int i = 0; i < csvCharts.size(); i++) {
             String csvChart = csvCharts.get(i);
-            List<ChartCharacter> chartCharacters = readChartCsv(csvChart);
-            List<List<ChartCharacter>> lines = separateIntoLines(chartCharacters);
+            List<List<ChartCharacter>> lines = separateIntoLines(pages.get(i));
 
             // if Copyright notice is not the last line, the text continued to the next page
-            List<ChartCharacter> lastLine = lines.get(lines.size() - 1);
-            String text = Chart.convertToText(lastLine);
-            Matcher matcher = COPYRIGHT_PATTERN.matcher(text);
-            if (matcher.find()) {
+            if (endsWithCopyright(lines)) {
                 if (previousChart != null) {
                     csvChart = csvChart.substring(csvChart.indexOf(System.lineSeparator()));
                     previousChart = previousChart.concat(csvChart);
@@ -176,24 +249,310 @@ public class ChartParser {
         return prunedCsvCharts;
     }
 
+    /**
+     * Loads the file into PDFBox's PDDocument and extracts the {@link ChartCharacter}s of each
+     * page directly i.e. without writing and reading back the pipe-delimited CSV representation
+     * (see {@link #convertToCsv(File)} for that), grouped into the lines of each chart
+     */
+    static List<List<List<ChartCharacter>>> extractChartLines(File pdfChartFile) {
+        return extractChartLines(ChartSource.of(pdfChartFile), null, new ChartDocumentLoader());
+    }
+
+    static List<List<List<ChartCharacter>>> extractChartLines(File pdfChartFile,
+            ExecutorService executor) {
+        return extractChartLines(ChartSource.of(pdfChartFile), executor,
+                new ChartDocumentLoader());
+    }
+
+    /**
+     * Extracts the {@link ChartCharacter}s of each page and groups them into the lines of each
+     * chart (combining multi-page charts), logging (and stopping at) the first page that could
+     * not be extracted
+     *
+     * @see #extractPages(ChartSource, ExecutorService, ChartDocumentLoader, List)
+     */
+    static List<List<List<ChartCharacter>>> extractChartLines(ChartSource chartSource,
+            ExecutorService executor, ChartDocumentLoader documentLoader) {
+        List<List<ChartCharacter>> pages = new ArrayList<>();
+        try {
+            extractPages(chartSource, executor, documentLoader, pages);
+        } catch (IOException e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+        return combineMultiPageCharts(pages);
+    }
+
+    /**
+     * Adds the {@link ChartCharacter}s of each page, in page order, to the list of pages. When an
+     * executor is provided the pages are extracted concurrently using it; the result is the same.
+     * <p>
+     * PDFBox documents are not thread-safe (every page of a document reads from the same
+     * underlying source), so the pages are split into contiguous ranges, one per thread the
+     * executor can run (up to the number of processors), and each concurrent task loads its own
+     * {@link PDDocument} and strips only its range. The calling thread strips the first range
+     * using the document it loaded to count the pages, then waits for the other ranges; so the
+     * executor must not be one whose threads may all be waiting in this method.
+     *
+     * @throws IOException for the first page that could not be extracted (the pages before it
+     *                     will have been added)
+     */
+    static void extractPages(ChartSource chartSource, ExecutorService executor,
+            ChartDocumentLoader documentLoader, List<List<ChartCharacter>> pages)
+            throws IOException {
+        if (executor == null) {
+            try (LoadedDocument charts = documentLoader.load(chartSource)) {
+                extractPageRange(charts.getDocument(), 1,
+                        charts.getDocument().getNumberOfPages()).addTo(pages);
+            }
+            return;
+        }
+
+        List<Future<ExtractedPages>> futures = new ArrayList<>();
+        try {
+            ExtractedPages firstRange;
+            try (LoadedDocument charts = documentLoader.load(chartSource)) {
+                int numberOfPages = charts.getDocument().getNumberOfPages();
+                int ranges = Math.max(1, Math.min(numberOfPages, parallelism(executor) + 1));
+                for (int range = 1; range < ranges; range++) {
+                    int firstPage = (range * numberOfPages / ranges) + 1;
+                    int lastPage = (range + 1) * numberOfPages / ranges;
+                    futures.add(executor.submit(() -> {
+                        try (LoadedDocument rangeCharts = documentLoader.load(chartSource)) {
+                            return extractPageRange(rangeCharts.getDocument(), firstPage,
+                                    lastPage);
+                        }
+                    }));
+                }
+                firstRange = extractPageRange(charts.getDocument(), 1, numberOfPages / ranges);
+            }
+
+            // collect in page order, stopping at the first failure (as the sequential path does)
+            firstRange.addTo(pages);
+            for (Future<ExtractedPages> future : futures) {
+                future.get().addTo(pages);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted extracting " + chartSource.getName());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause().getMessage(), e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    // the number of threads the executor may run tasks on at once, up to the number of processors
+    private static int parallelism(ExecutorService executor) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        if (executor instanceof ThreadPoolExecutor) {
+            return Math.min(((ThreadPoolExecutor) executor).getMaximumPoolSize(), processors);
+        }
+        if (executor instanceof ForkJoinPool) {
+            return Math.min(((ForkJoinPool) executor).getParallelism(), processors);
+        }
+        return processors;
+    }
+
+    /**
+     * Extracts the {@link ChartCharacter}s of each page in the (inclusive) range, stopping at the
+     * first page that could not be extracted
+     */
+    private static ExtractedPages extractPageRange(PDDocument document, int firstPage,
+            int lastPage) {
+        ExtractedPages extractedPages = new ExtractedPages();
+        try {
+            for (int page = firstPage; page <= lastPage; page++) {
+                extractedPages.pages.add(createChartCharacters(document, page));
+            }
+        } catch (IOException e) {
+            extractedPages.failure = e;
+        }
+        return extractedPages;
+    }
+
+    /**
+     * The pages extracted from a range and, if extraction stopped early, why
+     */
+    private static class ExtractedPages {
+        private final List<List<ChartCharacter>> pages = new ArrayList<>();
+        private IOException failure;
+
+        /**
+         * @throws IOException if extraction stopped before the end of the range (after adding
+         *                     the pages before it)
+         */
+        void addTo(List<List<ChartCharacter>> allPages) throws IOException {
+            allPages.addAll(pages);
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Adds the {@link ChartCharacter}s of each page to the list of pages, reading them from the
+     * {@link ChartCharacterCache} (when configured) rather than the PDF if previously extracted
+     *
+     * @return true if every page was extracted, false if extraction stopped at a page that could
+     * not be extracted (which is logged)
+     */
+    boolean readPages(ChartSource chartSource, List<List<ChartCharacter>> pages) {
+        String contentHash = null;
+        if (characterCache != null) {
+            try {
+                contentHash = chartSource.getContentHash();
+                Optional<CachedPages> cachedPages = characterCache.read(contentHash);
+                if (cachedPages.isPresent()) {
+                    pages.addAll(cachedPages.get().getPages());
+                    return true;
+                }
+            } catch (IOException e) {
+                LOGGER.warn(fileLogMessage("Unable to use character cache",
+                        chartSource.getName(), 0), e);
+            }
+        }
+
+        try {
+            extractPages(chartSource, extractionExecutor, documentLoader, pages);
+        } catch (IOException e) {
+            LOGGER.error(e.getMessage(), e);
+            return false;
+        }
+
+        if (contentHash != null) {
+            try {
+                characterCache.write(contentHash, pages);
+            } catch (IOException e) {
+                LOGGER.warn(fileLogMessage("Unable to write character cache",
+                        chartSource.getName(), 0), e);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Separates each page into lines (once) and, as some charts are spread over two pages,
+     * detects and combines the lines of each
+     */
+    static List<List<List<ChartCharacter>>> combineMultiPageCharts(
+            List<List<ChartCharacter>> pages) {
+        List<List<List<ChartCharacter>>> prunedCharts = new ArrayList<>();
+        List<ChartCharacter> previousPage = null;
+        List<List<ChartCharacter>> previousChart = null;
+        for (List<ChartCharacter> chartCharacters : pages) {
+            List<List<ChartCharacter>> lines = separateIntoLines(chartCharacters);
+
+            // if Copyright notice is not the last line, the text continued to the next page
+            if (endsWithCopyright(lines)) {
+                if (previousChart != null) {
+                    prunedCharts.add(combinePages(previousPage, previousChart, chartCharacters,
+                            lines));
+                    previousChart = null;
+                } else {
+                    prunedCharts.add(lines);
+                }
+            } else {
+                previousPage = chartCharacters;
+                previousChart = lines;
+            }
+        }
+        return prunedCharts;
+    }
+
+    /**
+     * The lines of a chart spread over two pages, given the characters and lines of each page:
+     * the lines of a new {@link ChartCharacterBuffer} of both pages when the pages are buffers,
+     * otherwise the lines of the first page with those of the second appended
+     */
+    static List<List<ChartCharacter>> combinePages(List<ChartCharacter> firstPage,
+            List<List<ChartCharacter>> firstPageLines, List<ChartCharacter> secondPage,
+            List<List<ChartCharacter>> secondPageLines) {
+        if (firstPage instanceof ChartCharacterBuffer &&
+                secondPage instanceof ChartCharacterBuffer) {
+            return ChartCharacterBuffer.concat((ChartCharacterBuffer) firstPage,
+                    (ChartCharacterBuffer) secondPage).getLines();
+        }
+        appendLines(firstPageLines, secondPageLines);
+        return firstPageLines;
+    }
+
+    /**
+     * Appends the lines of the next page to those of the previous page, giving the same lines as
+     * separating the characters of both pages together would (i.e. the first characters of the
+     * next page only start a new line if they would have otherwise)
+     */
+    static void appendLines(List<List<ChartCharacter>> lines,
+            List<List<ChartCharacter>> nextPageLines) {
+        for (int i = 0; i < nextPageLines.size(); i++) {
+            List<ChartCharacter> line = nextPageLines.get(i);
+            if (i == 0 && !lines.isEmpty()) {
+                List<ChartCharacter> lastLine = lines.get(lines.size() - 1);
+                if (lastLine.isEmpty() || line.isEmpty() || !startsNewLine(line.get(0))) {
+                    lastLine.addAll(line);
+                    continue;
+                }
+            }
+            lines.add(line);
+        }
+    }
+
+    static boolean endsWithCopyright(List<List<ChartCharacter>> lines) {
+        String text = ChartPage.of(lines).getText(lines.size() - 1);
+        Matcher matcher = COPYRIGHT_PATTERN.matcher(text);
+        return matcher.find();
+    }
+
     /**
      * Uses {@link ChartStripper} (an extension of Apache PDFBox's {@link PDFTextStripper}) to
-     * extract the text from the PDF and, adding a header row, write a CSV String with each row
-     * being a character from the PDF with its location etc.
+     * extract the text from a single (1-based) page of the PDF and, adding a header row, write a
+     * CSV String with each row being a character from the PDF with its location etc.
      */
-    static String createCsvChart(PDDocument raceChart) throws IOException {
-        ChartStripper chartStripper = new ChartStripper(new StringWriter());
+    static String createCsvChart(PDDocument charts, int pageNumber) throws IOException {
+        return createCsvChart(charts, pageNumber, null);
+    }
+
+    /**
+     * As {@link #createCsvChart(PDDocument, int)}, also adding each character to the list (when
+     * not null) as a {@link ChartCharacter}
+     */
+    static String createCsvChart(PDDocument charts, int pageNumber,
+            List<ChartCharacter> chartCharacters) throws IOException {
+        ChartStripper chartStripper = new ChartStripper(new StringWriter(), chartCharacters);
+        chartStripper.setStartPage(pageNumber);
+        chartStripper.setEndPage(pageNumber);
         try (StringWriter writer = chartStripper.getWriter()) {
             try (StringWriter throwawayWriter = new StringWriter()) {
-                writer.write("xDirAdj|yDirAdj|fontSize|xScale|height|widthOfSpace|widthDirAdj|" +
-                        "unicode");
-                chartStripper.writeText(raceChart, throwawayWriter);
+                writer.write(ChartDumpReader.HEADER);
+                chartStripper.writeText(charts, throwawayWriter);
             }
             return writer.getBuffer().toString();
         }
     }
 
+    /**
+     * Uses {@link ChartStripper} to extract each character from a single (1-based) page of the
+     * PDF straight into a {@link ChartCharacterBuffer}
+     */
+    static List<ChartCharacter> createChartCharacters(PDDocument charts, int pageNumber)
+            throws IOException {
+        ChartStripper chartStripper = new ChartStripper(new ChartCharacterBuffer());
+        chartStripper.setStartPage(pageNumber);
+        chartStripper.setEndPage(pageNumber);
+        try (StringWriter throwawayWriter = new StringWriter()) {
+            chartStripper.writeText(charts, throwawayWriter);
+        }
+        return chartStripper.getChartCharacters();
+    }
+
     static List<List<ChartCharacter>> separateIntoLines(List<ChartCharacter> data) {
+        // a buffer separates its characters into lines as they are added
+        if (data instanceof ChartCharacterBuffer) {
+            return ((ChartCharacterBuffer) data).getLines();
+        }
+
         List<List<ChartCharacter>> lines = new ArrayList<>();
         List<ChartCharacter> line = new ArrayList<>();
         boolean firstTime = true;
@@ -202,9 +561,7 @@ public class ChartParser {
                 line.add(d);
                 firstTime = false;
             } else {
-                // start of line or "Past Performance Running Line Preview"
-                if (d.getxDirAdj() == 9.92 ||
-                        (d.getxDirAdj() == 209.385 && d.getUnicode() == 'P')) {
+                if (startsNewLine(d)) {
                     lines.add(line);
                     line = new ArrayList<>();
                 }
@@ -216,14 +573,22 @@ public class ChartParser {
         return lines;
     }
 
+    // start of line or "Past Performance Running Line Preview"
+    private static boolean startsNewLine(ChartCharacter chartCharacter) {
+        return ChartCharacterBuffer.startsNewLine(chartCharacter.getxDirAdjThousandths(),
+                chartCharacter.getUnicode());
+    }
+
     /**
      * Extracts the running line rows/characters
      */
     static List<List<ChartCharacter>> getRunningLines(List<List<ChartCharacter>> lines) {
         List<List<ChartCharacter>> runningLines = new ArrayList<>();
         boolean runningLineSectionsAreActive = false;
-        for (List<ChartCharacter> line : lines) {
-            String text = convertToText(line);
+        ChartPage page = ChartPage.of(lines);
+        for (int i = 0; i < page.size(); i++) {
+            List<ChartCharacter> line = page.get(i);
+            String text = page.getText(i);
             if (text.startsWith("Last Raced|Pgm")) {
                 runningLineSectionsAreActive = true;
             } else if (text.startsWith("Run-Up:")) {
@@ -239,24 +604,11 @@ public class ChartParser {
     }
 
     /**
-     * Uses a {@link CsvMapper} to reading a String representing a CSV representation of a PDF
-     * Chart, returning a list of {@link ChartCharacter}s
+     * Reads a String representing a CSV representation of a PDF Chart (see
+     * {@link ChartDumpReader}), returning a (modifiable) list of {@link ChartCharacter}s
      */
     static List<ChartCharacter> readChartCsv(String csvChart) throws ChartParserException {
-        CsvSchema schema = CsvSchema.emptySchema()
-                .withHeader()
-                .withColumnSeparator('|')
-                .withoutQuoteChar();
-
-        try {
-            MappingIterator<ChartCharacter> mappingIterator =
-                    getCsvMapper().readerFor(ChartCharacter.class)
-                            .with(schema)
-                            .readValues(csvChart);
-            return mappingIterator.readAll();
-        } catch (Exception e) {
-            throw new ChartParserException("Error deserializing the Chart CSV data", e);
-        }
+        return new ArrayList<>(ChartDumpReader.read(csvChart));
     }
 
     // http://www.drf.com/news/settlement-creates-two-winners-2016-parx-oaks
@@ -289,300 +641,518 @@ public class ChartParser {
     }
 
     public TrackService getTrackService() {
-        return trackService;
+        return getReferenceData().getTrackService();
+    }
+
+    /**
+     * The reference data currently loaded from the {@link ReferenceDataDirectory}, if one is
+     * used, otherwise that provided to the {@link Builder}
+     */
+    public ReferenceData getReferenceData() {
+        return (referenceDataDirectory != null ? referenceDataDirectory.getReferenceData() :
+                referenceData);
+    }
+
+    /**
+     * The version of the reference data currently loaded from the {@link ReferenceDataDirectory},
+     * if one is used, otherwise the version provided to the {@link Builder}
+     */
+    public String getReferenceDataVersion() {
+        return getReferenceData().getVersion();
     }
 
     public List<RaceResult> parse(File pdfChartFile) {
-        List<RaceResult> raceResults = new ArrayList<>();
+        return parse(ChartSource.of(pdfChartFile));
+    }
+
+    /**
+     * Parses a PDF chart already in memory; the name is used to identify it in log messages
+     */
+    public List<RaceResult> parse(byte[] pdfChart, String name) {
+        return parse(ChartSource.of(pdfChart, name));
+    }
+
+    /**
+     * Parses a PDF chart held in a (heap, direct or memory-mapped) buffer, from its position to
+     * its limit; the name is used to identify it in log messages
+     */
+    public List<RaceResult> parse(ByteBuffer pdfChart, String name) {
+        return parse(ChartSource.of(pdfChart, name));
+    }
 
-        List<String> chartCsvs;
+    /**
+     * Parses a PDF chart read fully from the stream (which is not closed); the name is used to
+     * identify it in log messages
+     */
+    public List<RaceResult> parse(InputStream pdfChart, String name) {
         try {
-            // for every character in the PDF file, create a pipe-delimited String noting its
-            // position, width, height, scale, font-size and unicode value, and group them into a
-            // List
-            chartCsvs = convertToCsv(pdfChartFile);
-        } catch (ChartParserException e) {
-            LOGGER.error(fileLogMessage(e.getMessage(), pdfChartFile, 0));
-            return raceResults;
+            return parse(ChartSource.of(pdfChart, name));
+        } catch (IOException e) {
+            LOGGER.error(fileLogMessage(e.getMessage(), name, 0), e);
+            return new ArrayList<>();
         }
+    }
 
-        // for each pipe-delimited String representing a character within the PDF
-        for (int index = 0; index < chartCsvs.size(); index++) {
-            String chartCsv = chartCsvs.get(index);
-            List<ChartCharacter> chartCharacters;
+    /**
+     * Parses the PDF chart or, when a {@link RaceResultCache} is configured and the same PDF has
+     * been parsed before (by the same {@link #RESULT_VERSION} and reference data version), returns
+     * the previously parsed race results
+     */
+    public List<RaceResult> parse(ChartSource chartSource) {
+        // the same reference data is used throughout, even if it is reloaded meanwhile
+        ReferenceData referenceData = getReferenceData();
+        String resultKey = null;
+        if (resultCache != null) {
             try {
-                // convert the pipe-delimited String into an instance of ChartCharacter using
-                // Jackson (the CSV data format)
-                chartCharacters = readChartCsv(chartCsv);
-            } catch (ChartParserException e) {
-                LOGGER.error(fileLogMessage(e.getMessage(), pdfChartFile, index));
-                continue;
+                resultKey = RaceResultCache.key(chartSource.getContentHash(),
+                        RESULT_VERSION + "." + referenceData.getVersion());
+                Optional<List<RaceResult>> raceResults = resultCache.get(resultKey);
+                if (raceResults.isPresent()) {
+                    return raceResults.get();
+                }
+            } catch (IOException e) {
+                LOGGER.warn(fileLogMessage("Unable to use result cache", chartSource.getName(),
+                        0), e);
             }
+        }
 
-            // further group the ChartCharacters by line
-            List<List<ChartCharacter>> lines = separateIntoLines(chartCharacters);
+        // for every character in the PDF file, create a ChartCharacter noting its position,
+        // width, height, scale, font-size and unicode value
+        List<List<ChartCharacter>> pages = new ArrayList<>();
+        boolean extracted = readPages(chartSource, pages);
 
-            RaceResult.Builder raceResultBuilder = new RaceResult.Builder();
+        // group them by chart and line, and parse each chart
+        List<RaceResult> raceResults = new ArrayList<>();
+        boolean withinBudget = parseCharts(combineMultiPageCharts(pages), chartSource.getName(),
+                referenceData, raceResults);
 
-            // use the lines of characters to extract out the specific race-related information
-            // for each field in the RaceResult domain model
+        // only cache the results of a complete extraction, parsed within the time budget
+        if (resultKey != null && extracted && withinBudget) {
             try {
-                TrackRaceDateRaceNumber trackRaceDateRaceNumber =
-                        TrackRaceDateRaceNumber.parse(lines);
-
-                Optional<Track> track = trackService.getTrackWithName(
-                        trackRaceDateRaceNumber.getTrackName());
-                if (!track.isPresent()) {
-                    throw new ChartParserException(String.format("Unable to find Track with name:" +
-                            " %s", trackRaceDateRaceNumber.getTrackName()));
-                }
+                resultCache.put(resultKey, raceResults);
+            } catch (IOException e) {
+                LOGGER.warn(fileLogMessage("Unable to write result cache",
+                        chartSource.getName(), 0), e);
+            }
+        }
+        return raceResults;
+    }
 
-                // Track
-                // Race Date
-                // Race Number
-                raceResultBuilder.track(track.get())
-                        .raceDate(trackRaceDateRaceNumber.getRaceDate())
-                        .raceNumber(trackRaceDateRaceNumber.getRaceNumber());
-
-                // Check for Cancellation
-                Cancellation cancellation = Cancellation.parse(lines);
-                if (cancellation.isCancelled()) {
-                    RaceResult raceResult = raceResultBuilder.cancellation(cancellation).build();
-                    raceResults.add(raceResult);
-                    continue;
-                }
+    /**
+     * Parses the race of a single chart from the pipe-delimited dump of its characters (as
+     * written by {@link #convertToCsv(File)}) e.g. to reproduce an issue without the PDF, logging
+     * and returning empty if it could not be read or parsed
+     */
+    public Optional<RaceResult> parseDump(File dumpFile) {
+        try (Reader dump = new InputStreamReader(new FileInputStream(dumpFile), UTF_8)) {
+            return parseDump(dump, dumpFile.getName());
+        } catch (IOException e) {
+            LOGGER.error(fileLogMessage(e.getMessage(), dumpFile.getName(), 0), e);
+            return Optional.empty();
+        }
+    }
 
-                // Race Type
-                // Race Name
-                // Race Grade, Stakes Indicator, Black Type categorization
-                // Breed
-                RaceTypeNameBlackTypeBreed raceTypeNameBlackTypeBreed =
-                        RaceTypeNameBlackTypeBreed.parse(lines);
-                raceResultBuilder.raceTypeAndRaceNameAndBlackTypeAndBreed(
-                        raceTypeNameBlackTypeBreed);
-
-                // Race Conditions
-                RaceConditions raceConditions =
-                        RaceConditions.parse(lines);
-                raceResultBuilder.raceConditionsAndClaimingPricesRange(
-                        raceConditions);
-
-                // Race Distance
-                // Surface
-                // Track Record
-                DistanceSurfaceTrackRecord distanceSurfaceTrackRecord =
-                        DistanceSurfaceTrackRecord.parse(lines);
-                raceResultBuilder.distanceAndSurfaceAndTrackRecord(distanceSurfaceTrackRecord);
-
-                // Purse
-                Purse purse = Purse.parse(lines);
-                raceResultBuilder.purse(purse);
-
-                // Wind Speed
-                // Wind Direction
-                Optional<WindSpeedDirection> windSpeedDirection =
-                        WindSpeedDirection.parse(lines);
-                if (windSpeedDirection.isPresent()) {
-                    raceResultBuilder.windSpeedAndDirection(windSpeedDirection.get());
-                }
+    /**
+     * As {@link #parseDump(File)}, reading the dump to its end (the reader is not closed); the
+     * name is used to identify it in log messages
+     */
+    public Optional<RaceResult> parseDump(Reader dump, String name) {
+        ChartCharacterBuffer chartCharacters;
+        try {
+            chartCharacters = ChartDumpReader.read(dump);
+        } catch (IOException | ChartParserException e) {
+            LOGGER.error(fileLogMessage(e.getMessage(), name, 0), e);
+            return Optional.empty();
+        }
+        return parseChart(chartCharacters.getLines(), name, 0, getReferenceData());
+    }
 
-                // Weather Description
-                // Track Condition
-                Optional<WeatherTrackCondition> weatherTrackCondition =
-                        WeatherTrackCondition.parse(lines);
-                if (weatherTrackCondition.isPresent()) {
-                    raceResultBuilder.weatherAndTrackCondition(weatherTrackCondition.get());
-                }
+    /**
+     * @return false if any chart was not parsed within the time budget
+     */
+    private boolean parseCharts(List<List<List<ChartCharacter>>> charts, String name,
+            ReferenceData referenceData, List<RaceResult> raceResults) {
+        boolean withinBudget = true;
+        for (int index = 0; index < charts.size(); index++) {
+            try {
+                Optional<RaceResult> raceResult = parseChartWithinBudget(charts.get(index), name,
+                        index, referenceData);
+                raceResult.ifPresent(raceResults::add);
+            } catch (PageTimeoutException e) {
+                LOGGER.error(fileLogMessage(e.getMessage(), name, index));
+                withinBudget = false;
+            }
+        }
 
-                // Post Time
-                // Start Comments
-                // Timer Type
-                Optional<PostTimeStartCommentsTimer> postTimeStartCommentsTimer =
-                        PostTimeStartCommentsTimer.parse(lines);
-                if (postTimeStartCommentsTimer.isPresent()) {
-                    raceResultBuilder.postTimeAndStartCommentsAndTimer(
-                            postTimeStartCommentsTimer.get());
+        return withinBudget;
+    }
+
+    /**
+     * Lazily parses the PDF, extracting and parsing one chart (a page, or a pair of pages for a
+     * chart spread over two) at a time, so that each {@link RaceResult} is available as soon as
+     * its chart is parsed and only one chart's characters are held in memory at once.
+     * <p>
+     * The returned {@link Stream} holds the PDF open until it is consumed or closed, so it should
+     * be used within a try-with-resources block. The PDF is released as soon as its last page is
+     * extracted, i.e. before its last {@link RaceResult} is returned. Until then, the stream also
+     * holds one of the {@link Builder#maxLoadedDocuments(int)} slots, including while the consumer
+     * processes each {@link RaceResult}; a slow consumer therefore delays the other parses waiting
+     * for a slot, and should not itself wait on another parse by the same parser.
+     */
+    public Stream<RaceResult> stream(File pdfChartFile) {
+        return stream(ChartSource.of(pdfChartFile));
+    }
+
+    /**
+     * @see #stream(File)
+     */
+    public Stream<RaceResult> stream(ChartSource chartSource) {
+        ChartIterator charts = new ChartIterator(chartSource, documentLoader, characterCache);
+        // the same reference data is used for every chart, even if it is reloaded meanwhile
+        ReferenceData referenceData = getReferenceData();
+        Iterator<RaceResult> raceResults = new Iterator<RaceResult>() {
+            private RaceResult next;
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && charts.hasNext()) {
+                    next = parseChart(charts.next(), chartSource.getName(), index++,
+                            referenceData).orElse(null);
                 }
+                return (next != null);
+            }
 
-                List<List<ChartCharacter>> runningLines = getRunningLines(lines);
-                List<ChartCharacter> headerCharacters = runningLines.get(0);
-                TreeSet<RunningLineColumnIndex> runningLineColumnIndices =
-                        RunningLineHeader.createIndexOfRunningLineColumns(headerCharacters);
+            @Override
+            public RaceResult next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                RaceResult raceResult = next;
+                next = null;
+                return raceResult;
+            }
+        };
 
-                // remove running line header
-                runningLines = runningLines.subList(1, runningLines.size());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(raceResults,
+                Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(charts::close);
+    }
 
-                runningLines = SplitTimes.removeSplitTimesIfPresent(runningLines);
+    /**
+     * Parses the lines of characters of a single chart into a {@link RaceResult} using the
+     * reference data's services, logging and returning empty if the chart could not be parsed
+     * (or was not parsed within the time budget)
+     */
+    Optional<RaceResult> parseChart(List<List<ChartCharacter>> chartLines, String name,
+            int index, ReferenceData referenceData) {
+        try {
+            return parseChartWithinBudget(chartLines, name, index, referenceData);
+        } catch (PageTimeoutException e) {
+            LOGGER.error(fileLogMessage(e.getMessage(), name, index));
+            return Optional.empty();
+        }
+    }
 
-                RaceDistance raceDistance = distanceSurfaceTrackRecord.getRaceDistance();
+    /**
+     * As {@link #parseChart(List, String, int, ReferenceData)}, except that exceeding the time
+     * budget (see {@link PageDeadline}) is thrown, rather than logged
+     */
+    private Optional<RaceResult> parseChartWithinBudget(List<List<ChartCharacter>> chartLines,
+            String name, int index, ReferenceData referenceData) throws PageTimeoutException {
+        // each line is converted to text once, when first needed, for all the section parsers
+        ChartPage lines = ChartPage.of(chartLines);
+        RaceResult.Builder raceResultBuilder = new RaceResult.Builder();
+
+        // use the lines of characters to extract out the specific race-related information
+        // for each field in the RaceResult domain model
+        try (PageDeadline deadline = PageDeadline.start(pageTimeBudget)) {
+            deadline.step("race header");
+
+            // classify the chart from its first few lines, skipping non-race pages
+            ChartClassification classification = ChartClassification.classify(lines);
+            TrackRaceDateRaceNumber trackRaceDateRaceNumber =
+                    classification.getTrackRaceDateRaceNumber();
+
+            Optional<Track> track = referenceData.getTrackService().getTrackWithName(
+                    trackRaceDateRaceNumber.getTrackName());
+            if (!track.isPresent()) {
+                throw new ChartParserException(String.format("Unable to find Track with name:" +
+                        " %s", trackRaceDateRaceNumber.getTrackName()));
+            }
+            deadline.step("chart sections");
+
+            // Track
+            // Race Date
+            // Race Number
+            raceResultBuilder.track(track.get())
+                    .raceDate(trackRaceDateRaceNumber.getRaceDate())
+                    .raceNumber(trackRaceDateRaceNumber.getRaceNumber());
+
+            // Check for Cancellation (cancelled races only need an abbreviated record)
+            Cancellation cancellation = classification.getCancellation(lines);
+            if (cancellation.isCancelled()) {
+                RaceResult raceResult = raceResultBuilder.cancellation(cancellation).build();
+                return Optional.of(raceResult);
+            }
 
-                // Race Fractions
-                ArrayList<String> fractions = FractionalTimes.parse(runningLines);
-                List<FractionalPoint.Fractional> fractionalPointsForDistance =
-                        fractionalService.getFractionalPointsForDistance(fractions,
-                                raceDistance.getFeet(), raceDistance.getCompact(),
-                                raceTypeNameBlackTypeBreed.getBreed());
-                raceResultBuilder.fractionals(fractionalPointsForDistance);
+            // route the lines of each section to its parser in a single pass
+            ChartSections sections = ChartSections.of(lines);
+            for (String unrecognizedLine : sections.getUnrecognizedLines()) {
+                LOGGER.warn(fileRaceLogMessage(String.format("Unrecognized section: %s",
+                        unrecognizedLine), name, index, raceResultBuilder));
+            }
+            deadline.step("race conditions");
+
+            // Race Type
+            // Race Name
+            // Race Grade, Stakes Indicator, Black Type categorization
+            // Breed
+            RaceTypeNameBlackTypeBreed raceTypeNameBlackTypeBreed =
+                    RaceTypeNameBlackTypeBreed.parse(lines);
+            raceResultBuilder.raceTypeAndRaceNameAndBlackTypeAndBreed(
+                    raceTypeNameBlackTypeBreed);
+
+            // Race Conditions
+            RaceConditions raceConditions =
+                    RaceConditions.parse(lines);
+            raceResultBuilder.raceConditionsAndClaimingPricesRange(
+                    raceConditions);
+
+            // Race Distance
+            // Surface
+            // Track Record
+            DistanceSurfaceTrackRecord distanceSurfaceTrackRecord =
+                    DistanceSurfaceTrackRecord.parse(lines);
+            raceResultBuilder.distanceAndSurfaceAndTrackRecord(distanceSurfaceTrackRecord);
+            deadline.step("race details");
+
+            // Purse
+            Purse purse = Purse.parse(sections.getLines(PURSE));
+            raceResultBuilder.purse(purse);
+
+            // Wind Speed
+            // Wind Direction
+            Optional<WindSpeedDirection> windSpeedDirection =
+                    WindSpeedDirection.parse(sections.getLines(WIND_SPEED_DIRECTION));
+            if (windSpeedDirection.isPresent()) {
+                raceResultBuilder.windSpeedAndDirection(windSpeedDirection.get());
+            }
 
-                // Run-Up and Temporary Rail
-                RunUpTemporaryRail runUpTemporaryRail = RunUpTemporaryRail.parse(runningLines);
-                raceResultBuilder.runUpTemporaryRail(runUpTemporaryRail);
+            // Weather Description
+            // Track Condition
+            Optional<WeatherTrackCondition> weatherTrackCondition =
+                    WeatherTrackCondition.parse(sections.getLines(WEATHER_TRACK_CONDITION));
+            if (weatherTrackCondition.isPresent()) {
+                raceResultBuilder.weatherAndTrackCondition(weatherTrackCondition.get());
+            }
 
-                List<Starter> starters = new ArrayList<>();
-                for (List<ChartCharacter> runningLine : runningLines) {
-                    Map<String, List<ChartCharacter>> runningLineCharactersByColumn =
-                            RunningLine.groupRunningLineCharactersByColumn(
-                                    runningLineColumnIndices, runningLine);
+            // Post Time
+            // Start Comments
+            // Timer Type
+            Optional<PostTimeStartCommentsTimer> postTimeStartCommentsTimer =
+                    PostTimeStartCommentsTimer.parse(
+                            sections.getLines(POST_TIME_START_COMMENTS_TIMER));
+            if (postTimeStartCommentsTimer.isPresent()) {
+                raceResultBuilder.postTimeAndStartCommentsAndTimer(
+                        postTimeStartCommentsTimer.get());
+            }
+            deadline.step("fractional times");
+
+            List<List<ChartCharacter>> runningLines = getRunningLines(lines);
+            List<ChartCharacter> headerCharacters = runningLines.get(0);
+            TreeSet<RunningLineColumnIndex> runningLineColumnIndices =
+                    RunningLineHeader.createIndexOfRunningLineColumns(headerCharacters);
+
+            // remove running line header
+            runningLines = runningLines.subList(1, runningLines.size());
+
+            runningLines = SplitTimes.removeSplitTimesIfPresent(runningLines);
+
+            RaceDistance raceDistance = distanceSurfaceTrackRecord.getRaceDistance();
+
+            // Race Fractions
+            ArrayList<String> fractions = FractionalTimes.parse(runningLines);
+            List<FractionalPoint.Fractional> fractionalPointsForDistance =
+                    referenceData.getFractionalService().getFractionalPointsForDistance(
+                            fractions, raceDistance.getFeet(), raceDistance.getCompact(),
+                            raceTypeNameBlackTypeBreed.getBreed());
+            raceResultBuilder.fractionals(fractionalPointsForDistance);
+
+            // Run-Up and Temporary Rail
+            RunUpTemporaryRail runUpTemporaryRail = RunUpTemporaryRail.parse(runningLines);
+            raceResultBuilder.runUpTemporaryRail(runUpTemporaryRail);
+            deadline.step("running lines");
+
+            List<Starter> starters = new ArrayList<>();
+            for (List<ChartCharacter> runningLine : runningLines) {
+                Map<String, List<ChartCharacter>> runningLineCharactersByColumn =
+                        RunningLine.groupRunningLineCharactersByColumn(
+                                runningLineColumnIndices, runningLine);
+
+                // Running Line for each Starter
+                Starter starter = Starter.parseRunningLineData(
+                        runningLineCharactersByColumn, trackRaceDateRaceNumber.getRaceDate(),
+                        raceTypeNameBlackTypeBreed.getBreed(), raceDistance,
+                        referenceData.getTrackService(),
+                        referenceData.getPointsOfCallService());
+
+                starters.add(starter);
+                deadline.check();
+            }
+            deadline.step("starter details");
 
-                    // Running Line for each Starter
-                    Starter starter = Starter.parseRunningLineData(
-                            runningLineCharactersByColumn, trackRaceDateRaceNumber.getRaceDate(),
-                            raceTypeNameBlackTypeBreed.getBreed(), raceDistance,
-                            trackService, pointsOfCallService);
+            // Winner(s)
+            List<Winner> winners = new ArrayList<>();
+            try {
+                winners = Winner.parse(sections.getLines(WINNER));
+            } catch (NoWinnersDeclaredException e) {
+                LOGGER.warn(fileRaceLogMessage(e.getMessage(), name, index,
+                        raceResultBuilder));
+            }
 
-                    starters.add(starter);
+            for (Winner winner : winners) {
+                for (Starter starter : starters) {
+                    if (winner.getHorseName().equals(starter.getHorse().getName())) {
+                        starter.updateWinner(winner);
+                    }
                 }
+            }
 
-                // Winner(s)
-                List<Winner> winners = new ArrayList<>();
-                try {
-                    winners = Winner.parse(lines);
-                } catch (NoWinnersDeclaredException e) {
-                    LOGGER.warn(fileRaceLogMessage(e.getMessage(), pdfChartFile, index,
-                            raceResultBuilder));
-                }
+            // used to combine claim-related information
+            Map<Starter, ClaimedHorse> starterClaimedHorseMap = new LinkedHashMap<>();
 
-                for (Winner winner : winners) {
+            // the horses that were claimed
+            List<ClaimedHorse> claimedHorses = ClaimedHorse.parse(
+                    sections.getLines(CLAIMED_HORSES));
+            if (!claimedHorses.isEmpty()) {
+                for (ClaimedHorse claimedHorse : claimedHorses) {
                     for (Starter starter : starters) {
-                        if (winner.getHorseName().equals(starter.getHorse().getName())) {
-                            starter.updateWinner(winner);
+                        if (claimedHorse.getHorse().getName().equals(
+                                starter.getHorse().getName())) {
+                            // save for later
+                            starterClaimedHorseMap.put(starter, claimedHorse);
+                            break;
                         }
                     }
                 }
+            }
 
-                // used to combine claim-related information
-                Map<Starter, ClaimedHorse> starterClaimedHorseMap = new LinkedHashMap<>();
-
-                // the horses that were claimed
-                List<ClaimedHorse> claimedHorses = ClaimedHorse.parse(lines);
-                if (!claimedHorses.isEmpty()) {
-                    for (ClaimedHorse claimedHorse : claimedHorses) {
-                        for (Starter starter : starters) {
-                            if (claimedHorse.getHorse().getName().equals(
-                                    starter.getHorse().getName())) {
-                                // save for later
-                                starterClaimedHorseMap.put(starter, claimedHorse);
-                                break;
+            // the registered claiming prices for each starter (if applicable)
+            List<ClaimingPrice> claimingPrices = ClaimingPrice.parse(
+                    sections.getLines(CLAIMING_PRICES));
+            if (!claimingPrices.isEmpty()) {
+                for (ClaimingPrice claimingPrice : claimingPrices) {
+                    for (Starter starter : starters) {
+                        if (matchesStarter(claimingPrice, starter)) {
+                            // combine the claim-related information
+                            ClaimedHorse claimedHorse = null;
+                            if (starterClaimedHorseMap.containsKey(starter)) {
+                                claimedHorse = starterClaimedHorseMap.get(starter);
                             }
+                            Claim claim = new Claim(claimingPrice, claimedHorse);
+                            starter.setClaim(claim);
+                            break;
                         }
                     }
                 }
+            }
 
-                // the registered claiming prices for each starter (if applicable)
-                List<ClaimingPrice> claimingPrices = ClaimingPrice.parse(lines);
-                if (!claimingPrices.isEmpty()) {
-                    for (ClaimingPrice claimingPrice : claimingPrices) {
+            // the trainer of each starter
+            List<Trainer> trainers = Trainer.parse(sections.getLines(TRAINERS));
+            if (!trainers.isEmpty()) {
+                for (int i = 0; i < trainers.size(); i++) {
+                    Trainer trainer = trainers.get(i);
+                    if (trainer.getProgram() != null) {
                         for (Starter starter : starters) {
-                            if (matchesStarter(claimingPrice, starter)) {
-                                // combine the claim-related information
-                                ClaimedHorse claimedHorse = null;
-                                if (starterClaimedHorseMap.containsKey(starter)) {
-                                    claimedHorse = starterClaimedHorseMap.get(starter);
-                                }
-                                Claim claim = new Claim(claimingPrice, claimedHorse);
-                                starter.setClaim(claim);
+                            if (trainer.getProgram().equals(
+                                    starter.getProgram())) {
+                                starter.setTrainer(trainer);
                                 break;
                             }
                         }
+                    } else {
+                        // no program number, so assign based on index position
+                        Starter starter = starters.get(i);
+                        starter.setTrainer(trainer);
+                        break;
                     }
                 }
+            }
 
-                // the trainer of each starter
-                List<Trainer> trainers = Trainer.parse(lines);
-                if (!trainers.isEmpty()) {
-                    for (int i = 0; i < trainers.size(); i++) {
-                        Trainer trainer = trainers.get(i);
-                        if (trainer.getProgram() != null) {
-                            for (Starter starter : starters) {
-                                if (trainer.getProgram().equals(
-                                        starter.getProgram())) {
-                                    starter.setTrainer(trainer);
-                                    break;
-                                }
-                            }
-                        } else {
-                            // no program number, so assign based on index position
-                            Starter starter = starters.get(i);
-                            starter.setTrainer(trainer);
-                            break;
-                        }
-                    }
-                }
-
-                // the owner of each starter
-                List<Owner> owners = Owner.parse(lines);
-                if (!owners.isEmpty()) {
-                    for (int i = 0; i < owners.size(); i++) {
-                        Owner owner = owners.get(i);
-                        if (owner.getProgram() != null) {
-                            for (Starter starter : starters) {
-                                if (owner.getProgram().equals(starter.getProgram())) {
-                                    starter.setOwner(owner);
-                                    break;
-                                }
+            // the owner of each starter
+            List<Owner> owners = Owner.parse(sections.getLines(OWNERS));
+            if (!owners.isEmpty()) {
+                for (int i = 0; i < owners.size(); i++) {
+                    Owner owner = owners.get(i);
+                    if (owner.getProgram() != null) {
+                        for (Starter starter : starters) {
+                            if (owner.getProgram().equals(starter.getProgram())) {
+                                starter.setOwner(owner);
+                                break;
                             }
-                        } else {
-                            // no program number, so assign based on index position
-                            Starter starter = starters.get(i);
-                            starter.setOwner(owner);
-                            break;
                         }
+                    } else {
+                        // no program number, so assign based on index position
+                        Starter starter = starters.get(i);
+                        starter.setOwner(owner);
+                        break;
                     }
                 }
+            }
 
-                // horses scratched from the race
-                List<Scratch> scratches = Scratch.parse(lines);
-                raceResultBuilder.scratches(scratches);
-
-                // update result if affected by disqualifications
-                List<Disqualification> disqualifications = Disqualification.parse(lines);
-                updateStartersAffectedByDisqualifications(starters, disqualifications);
-
-                // handle the utter debacle that was the 2016 Parx Oaks co-winner decision
-                if (is2016ParxOaksDebacle(track.get(), trackRaceDateRaceNumber.getRaceDate(),
-                        trackRaceDateRaceNumber.getRaceNumber())) {
-                    starters.stream()
-                            .filter(starter -> starter.getFinishPosition() > 1)
-                            .forEach(starter -> starter.setOfficialPosition(
-                                    starter.getFinishPosition() - 1));
-                }
-
-                // parse the wagering pools and payoffs (WPS and exotics)
-                WagerPayoffPools wagerPayoffPools = WagerPayoffPools.parse(lines);
-                raceResultBuilder.wagerPoolsAndPayoffs(wagerPayoffPools);
-
-                // update each starter with the total lengths behind at each point of call (if
-                // applicable)
-                starters = PastPerformanceRunningLinePreview.parse(lines, starters);
-                raceResultBuilder.starters(starters);
-
-                // Footnotes
-                String footnotes = Footnotes.parse(lines);
-                raceResultBuilder.footnotes(footnotes);
-
-                RaceResult raceResult = raceResultBuilder.build();
-                raceResults.add(raceResult);
-            } catch (InvalidRaceException | NoLinesToParse e) {
-                LOGGER.error(fileLogMessage(e.getMessage(), pdfChartFile, index));
-                continue;
-            } catch (ChartParserException e) {
-                LOGGER.error(fileRaceLogMessage(e.getMessage(), pdfChartFile, index,
-                        raceResultBuilder));
-                continue;
+            // horses scratched from the race
+            List<Scratch> scratches = Scratch.parse(sections.getLines(SCRATCHES));
+            raceResultBuilder.scratches(scratches);
+
+            // update result if affected by disqualifications
+            List<Disqualification> disqualifications = Disqualification.parse(
+                    sections.getLines(DISQUALIFICATIONS));
+            updateStartersAffectedByDisqualifications(starters, disqualifications);
+            deadline.step("wagering");
+
+            // handle the utter debacle that was the 2016 Parx Oaks co-winner decision
+            if (is2016ParxOaksDebacle(track.get(), trackRaceDateRaceNumber.getRaceDate(),
+                    trackRaceDateRaceNumber.getRaceNumber())) {
+                starters.stream()
+                        .filter(starter -> starter.getFinishPosition() > 1)
+                        .forEach(starter -> starter.setOfficialPosition(
+                                starter.getFinishPosition() - 1));
             }
-        }
 
-        return raceResults;
+            // parse the wagering pools and payoffs (WPS and exotics)
+            WagerPayoffPools wagerPayoffPools = WagerPayoffPools.parse(
+                    sections.getLines(WAGER_PAYOFF_POOLS));
+            raceResultBuilder.wagerPoolsAndPayoffs(wagerPayoffPools);
+            deadline.step("footnotes");
+
+            // update each starter with the total lengths behind at each point of call (if
+            // applicable)
+            starters = PastPerformanceRunningLinePreview.parse(
+                    sections.getLines(PAST_PERFORMANCE_RUNNING_LINE_PREVIEW), starters);
+            raceResultBuilder.starters(starters);
+
+            // Footnotes
+            String footnotes = Footnotes.parse(sections.getLines(FOOTNOTES));
+            raceResultBuilder.footnotes(footnotes);
+
+            deadline.check();
+
+            RaceResult raceResult = raceResultBuilder.build();
+            return Optional.of(raceResult);
+        } catch (PageTimeoutException e) {
+            throw e;
+        } catch (PageDeadline.Exceeded e) {
+            // a section parser's regular expression was cut off
+            throw e.getCause();
+        } catch (InvalidRaceException | NoLinesToParse e) {
+            LOGGER.error(fileLogMessage(e.getMessage(), name, index));
+            return Optional.empty();
+        } catch (ChartParserException e) {
+            LOGGER.error(fileRaceLogMessage(e.getMessage(), name, index,
+                    raceResultBuilder));
+            return Optional.empty();
+        }
     }
 
     public void updateStartersAffectedByDisqualifications(List<Starter> starters,
@@ -606,16 +1176,15 @@ public class ChartParser {
         }
     }
 
-    private String fileLogMessage(String message, File pdfChartFile, int index) {
-        return String.format("File: %s, page: %d - %s", pdfChartFile.getName(), (index + 1),
-                message);
+    private String fileLogMessage(String message, String name, int index) {
+        return String.format("File: %s, page: %d - %s", name, (index + 1), message);
     }
 
     // logs with the race details (track, date, race number, and breed)
-    private String fileRaceLogMessage(String message, File pdfChartFile, int index,
+    private String fileRaceLogMessage(String message, String name, int index,
             RaceResult.Builder raceResultBuilder) {
-        return String.format("File: %s, page: %d, race: %s - %s", pdfChartFile.getName(),
-                (index + 1), raceResultBuilder.summaryText(), message);
+        return String.format("File: %s, page: %d, race: %s - %s", name, (index + 1),
+                raceResultBuilder.summaryText(), message);
     }
 
     private boolean officialPositionAffectedByDisqualification(Disqualification disqualification,
@@ -645,8 +1214,155 @@ public class ChartParser {
                                 starter.getHorse().getName()));
     }
 
+    /**
+     * Builds a {@link ChartParser}, defaulting any service not provided to one backed by the
+     * bundled reference data
+     */
+    public static class Builder {
+        private TrackService trackService;
+        private FractionalService fractionalService;
+        private PointsOfCallService pointsOfCallService;
+        private ExecutorService extractionExecutor;
+        private long maxMainMemoryBytes = ChartDocumentLoader.UNRESTRICTED;
+        private File tempDirectory;
+        private int maxLoadedDocuments;
+        private ChartCharacterCache characterCache;
+        private RaceResultCache resultCache;
+        private String referenceDataVersion = DEFAULT_REFERENCE_DATA_VERSION;
+        private ReferenceDataDirectory referenceDataDirectory;
+        private Duration pageTimeBudget;
+
+        public Builder trackService(final TrackService trackService) {
+            this.trackService = trackService;
+            return this;
+        }
+
+        public Builder fractionalService(final FractionalService fractionalService) {
+            this.fractionalService = fractionalService;
+            return this;
+        }
+
+        public Builder pointsOfCallService(final PointsOfCallService pointsOfCallService) {
+            this.pointsOfCallService = pointsOfCallService;
+            return this;
+        }
+
+        /**
+         * Extract the pages of each PDF concurrently using this executor (which remains owned by
+         * the caller). The parsing thread waits for the executor's tasks, so parse on other
+         * threads than those of a bounded executor; otherwise the parses can deadlock.
+         */
+        public Builder extractionExecutor(final ExecutorService extractionExecutor) {
+            this.extractionExecutor = extractionExecutor;
+            return this;
+        }
+
+        /**
+         * The main memory each loaded PDF may use before PDFBox spills the remainder to a scratch
+         * file (see {@link MemoryUsageSetting#setupMixed(long)}); unrestricted by default
+         */
+        public Builder memoryBudget(final long maxMainMemoryBytes) {
+            this.maxMainMemoryBytes = maxMainMemoryBytes;
+            return this;
+        }
+
+        /**
+         * The directory in which PDFBox scratch files are created (the JVM's default when not
+         * provided)
+         */
+        public Builder tempDirectory(final File tempDirectory) {
+            this.tempDirectory = tempDirectory;
+            return this;
+        }
+
+        /**
+         * The maximum number of PDFs this parser will hold loaded at once across all concurrent
+         * parses (including each worker of a parallel extraction); unlimited by default. A
+         * {@link ChartParser#stream(File) stream} holds its slot until its last page is extracted
+         * or it is closed, however slowly it is consumed.
+         */
+        public Builder maxLoadedDocuments(final int maxLoadedDocuments) {
+            this.maxLoadedDocuments = maxLoadedDocuments;
+            return this;
+        }
+
+        /**
+         * Reuse the characters previously extracted from the same PDF (stored in this cache)
+         * instead of extracting them with PDFBox again
+         */
+        public Builder characterCache(final ChartCharacterCache characterCache) {
+            this.characterCache = characterCache;
+            return this;
+        }
+
+        /**
+         * Return the race results previously parsed from the same PDF (stored in this cache)
+         * instead of parsing it again
+         */
+        public Builder resultCache(final RaceResultCache resultCache) {
+            this.resultCache = resultCache;
+            return this;
+        }
+
+        /**
+         * Identifies the reference data used when custom services are provided, so that cached
+         * race results are not reused once it changes (letters, digits, '.', '_' and '-' only)
+         */
+        public Builder referenceDataVersion(final String referenceDataVersion) {
+            this.referenceDataVersion = RaceResultCache.checkVersion(referenceDataVersion);
+            return this;
+        }
+
+        /**
+         * Parse each PDF with the reference data this directory (which remains owned by the
+         * caller) has loaded at the start of the parse, keying cached race results by its
+         * version; this takes the place of any services or reference data version provided
+         */
+        public Builder referenceDataDirectory(
+                final ReferenceDataDirectory referenceDataDirectory) {
+            this.referenceDataDirectory = referenceDataDirectory;
+            return this;
+        }
+
+        /**
+         * The longest that parsing each chart may take; a chart that takes longer is logged and
+         * skipped (its race result is not returned) and the remaining charts are still parsed.
+         * The budget is checked between the steps of parsing a chart and within the section
+         * parsers' regular expressions, so a runaway match is cut off (see
+         * {@link PageDeadline}). Unlimited by default.
+         */
+        public Builder pageTimeBudget(final Duration pageTimeBudget) {
+            if (pageTimeBudget != null &&
+                    (pageTimeBudget.isNegative() || pageTimeBudget.isZero())) {
+                throw new IllegalArgumentException("The page time budget must be positive");
+            }
+            this.pageTimeBudget = pageTimeBudget;
+            return this;
+        }
+
+        public ChartParser build() {
+            ObjectMapper jsonMapper = getObjectMapper();
+
+            if (trackService == null) {
+                trackService = new TrackService(new TrackRepository(getCsvMapper()));
+            }
+            if (fractionalService == null) {
+                fractionalService = new FractionalService(
+                        new FractionalPointRepository(jsonMapper));
+            }
+            if (pointsOfCallService == null) {
+                pointsOfCallService = new PointsOfCallService(
+                        new PointsOfCallRepository(jsonMapper));
+            }
+
+            return new ChartParser(this);
+        }
+    }
+
     @JsonInclude(NON_NULL)
-    abstract class LinkMixin {
+    @JsonPropertyOrder({"rel", "href"})
+    abstract static class LinkMixin {
+        @JsonCreator
         LinkMixin(@JsonProperty("href") String href, @JsonProperty("rel") String rel) {
         }
 
@@ -0,0 +1,142 @@
+package com.robinhowlett.chartparser;
+
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.ScratchFile;
+import org.apache.pdfbox.pdfparser.PDFParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * The PDF chart to be parsed, whether a {@link File} or already in memory, along with a name
+ * used to identify it in log messages. A source can be loaded any number of times (e.g. once per
+ * worker when extracting in parallel).
+ * <p>
+ * Sources are only created by the {@code of} factory methods: the constructor and the methods
+ * that load and digest the PDF are package-private, so it cannot be subclassed elsewhere.
+ */
+public abstract class ChartSource {
+
+    private final String name;
+    private volatile String contentHash;
+
+    // package-private, as subclasses must implement the package-private load and digest
+    ChartSource(String name) {
+        this.name = name;
+    }
+
+    public static ChartSource of(File pdfChartFile) {
+        return new ChartSource(pdfChartFile.getName()) {
+            @Override
+            PDDocument load(MemoryUsageSetting memoryUsageSetting) throws IOException {
+                return PDDocument.load(pdfChartFile, memoryUsageSetting);
+            }
+
+            @Override
+            void digest(MessageDigest messageDigest) throws IOException {
+                try (InputStream inputStream = new FileInputStream(pdfChartFile)) {
+                    byte[] buffer = new byte[8192];
+                    int bytesRead;
+                    while ((bytesRead = inputStream.read(buffer)) != -1) {
+                        messageDigest.update(buffer, 0, bytesRead);
+                    }
+                }
+            }
+        };
+    }
+
+    public static ChartSource of(byte[] pdfChart, String name) {
+        return new ChartSource(name) {
+            @Override
+            PDDocument load(MemoryUsageSetting memoryUsageSetting) throws IOException {
+                return PDDocument.load(pdfChart, "", null, null, memoryUsageSetting);
+            }
+
+            @Override
+            void digest(MessageDigest messageDigest) {
+                messageDigest.update(pdfChart);
+            }
+        };
+    }
+
+    /**
+     * The PDF is read from the buffer's position up to its limit, without being copied (so
+     * memory-mapped buffers stay off-heap); the buffer's own position and limit are not modified
+     */
+    public static ChartSource of(ByteBuffer pdfChart, String name) {
+        ByteBuffer content = pdfChart.slice();
+        return new ChartSource(name) {
+            @Override
+            PDDocument load(MemoryUsageSetting memoryUsageSetting) throws IOException {
+                ScratchFile scratchFile = new ScratchFile(memoryUsageSetting);
+                try {
+                    PDFParser parser = new PDFParser(
+                            new ByteBufferRandomAccessRead(content.duplicate()), "", null, null,
+                            scratchFile);
+                    parser.parse();
+                    return parser.getPDDocument();
+                } catch (IOException e) {
+                    IOUtils.closeQuietly(scratchFile);
+                    throw e;
+                }
+            }
+
+            @Override
+            void digest(MessageDigest messageDigest) {
+                messageDigest.update(content.duplicate());
+            }
+        };
+    }
+
+    /**
+     * The stream is read fully (but not closed) so that the PDF can be loaded more than once
+     */
+    public static ChartSource of(InputStream pdfChart, String name) throws IOException {
+        return of(IOUtils.toByteArray(pdfChart), name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The hex-encoded SHA-256 digest of the PDF's content, calculated once; used to identify the
+     * same chart regardless of its name or where it was read from
+     */
+    public String getContentHash() throws IOException {
+        if (contentHash == null) {
+            MessageDigest messageDigest;
+            try {
+                messageDigest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+            digest(messageDigest);
+
+            StringBuilder hex = new StringBuilder();
+            for (byte b : messageDigest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            contentHash = hex.toString();
+        }
+        return contentHash;
+    }
+
+    abstract PDDocument load(MemoryUsageSetting memoryUsageSetting) throws IOException;
+
+    abstract void digest(MessageDigest messageDigest) throws IOException;
+
+    @Override
+    public String toString() {
+        return "ChartSource{" +
+                "name='" + name + '\'' +
+                '}';
+    }
+}
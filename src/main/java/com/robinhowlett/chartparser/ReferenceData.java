@@ -0,0 +1,50 @@
+package com.robinhowlett.chartparser;
+
+import com.robinhowlett.chartparser.fractionals.FractionalService;
+import com.robinhowlett.chartparser.points_of_call.PointsOfCallService;
+import com.robinhowlett.chartparser.tracks.TrackService;
+
+/**
+ * The track, fractional point and points of call services a chart is parsed with, and the version
+ * identifying their reference data (see {@link ChartParser.Builder#referenceDataVersion(String)}).
+ * A parse reads the {@link ChartParser}'s reference data once and uses it throughout, so that it
+ * is unaffected by a {@link ReferenceDataDirectory} reloading meanwhile.
+ */
+public final class ReferenceData {
+
+    private final TrackService trackService;
+    private final FractionalService fractionalService;
+    private final PointsOfCallService pointsOfCallService;
+    private final String version;
+
+    public ReferenceData(TrackService trackService, FractionalService fractionalService,
+            PointsOfCallService pointsOfCallService, String version) {
+        this.trackService = trackService;
+        this.fractionalService = fractionalService;
+        this.pointsOfCallService = pointsOfCallService;
+        this.version = version;
+    }
+
+    public TrackService getTrackService() {
+        return trackService;
+    }
+
+    public FractionalService getFractionalService() {
+        return fractionalService;
+    }
+
+    public PointsOfCallService getPointsOfCallService() {
+        return pointsOfCallService;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return "ReferenceData{" +
+                "version='" + version + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,314 @@
+package com.robinhowlett.chartparser;
+
+import com.robinhowlett.chartparser.exceptions.ChartParserException;
+import com.robinhowlett.chartparser.fractionals.FractionalPointRepository;
+import com.robinhowlett.chartparser.fractionals.FractionalService;
+import com.robinhowlett.chartparser.points_of_call.PointsOfCallRepository;
+import com.robinhowlett.chartparser.points_of_call.PointsOfCallService;
+import com.robinhowlett.chartparser.tracks.TrackRepository;
+import com.robinhowlett.chartparser.tracks.TrackService;
+
+import org.apache.pdfbox.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.robinhowlett.chartparser.ChartParser.getCsvMapper;
+import static com.robinhowlett.chartparser.ChartParser.getObjectMapper;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+/**
+ * Reference data (the track codes, fractional points and points of call) read from a directory
+ * instead of the classpath, so that it can be updated without redeploying. The directory mirrors
+ * the bundled resources e.g. {@code track-codes.csv} and
+ * {@code points_of_call/points-of-call.json}; any file it does not contain is read from the
+ * classpath.
+ * <p>
+ * The reference data is loaded into new services and published as a single {@link ReferenceData}
+ * snapshot, which each parse reads once and uses throughout. Once {@link #watch()} is called, the
+ * files are watched and, shortly after they stop changing, reloaded by a background thread. Each
+ * kind of reference data is reloaded on its own: one whose files cannot be read is logged and its
+ * previously loaded data kept (until it is fixed), while the others are still reloaded. Use with
+ * {@link ChartParser.Builder#referenceDataDirectory(ReferenceDataDirectory)}; the directory is
+ * owned by the caller, who should {@link #close()} it to stop watching.
+ */
+public class ReferenceDataDirectory implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReferenceDataDirectory.class);
+    private static final long QUIET_PERIOD_MILLIS = 250;
+
+    private final Path directory;
+    private final Set<Path> watchedDirectories = new HashSet<>();
+    private Loaded<TrackService> tracks;
+    private Loaded<FractionalService> fractionals;
+    private Loaded<PointsOfCallService> pointsOfCall;
+    private volatile ReferenceData referenceData;
+    private WatchService watchService;
+    private Thread watcher;
+
+    private ReferenceDataDirectory(Path directory) throws ChartParserException {
+        this.directory = directory;
+        this.tracks = loadTracks();
+        this.fractionals = loadFractionals();
+        this.pointsOfCall = loadPointsOfCall();
+        publish();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the directory does not exist
+     * @throws ChartParserException     if the reference data could not be loaded
+     */
+    public static ReferenceDataDirectory of(Path directory) throws ChartParserException {
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalArgumentException(String.format("Reference data directory not " +
+                    "found: %s", directory));
+        }
+        return new ReferenceDataDirectory(directory);
+    }
+
+    /**
+     * Starts watching the directory (and its {@code points_of_call} subdirectory) for changes,
+     * reloading the reference data after each
+     */
+    public synchronized ReferenceDataDirectory watch() throws IOException {
+        if (watcher == null) {
+            watchService = directory.getFileSystem().newWatchService();
+            registerDirectories();
+            watcher = new Thread(this::watchForChanges,
+                    "reference-data-watcher-" + directory.getFileName());
+            watcher.setDaemon(true);
+            watcher.start();
+        }
+        return this;
+    }
+
+    /**
+     * Reloads each kind of reference data from the directory, then publishes them as a new
+     * snapshot. A kind that cannot be reloaded is logged, and its previously loaded data kept.
+     *
+     * @return false if any kind of reference data could not be reloaded
+     */
+    public synchronized boolean reload() {
+        boolean reloaded = true;
+        try {
+            tracks = loadTracks();
+        } catch (RuntimeException e) {
+            logReloadFailure("track codes", e);
+            reloaded = false;
+        }
+        try {
+            fractionals = loadFractionals();
+        } catch (ChartParserException | RuntimeException e) {
+            logReloadFailure("fractional points", e);
+            reloaded = false;
+        }
+        try {
+            pointsOfCall = loadPointsOfCall();
+        } catch (RuntimeException e) {
+            logReloadFailure("points of call", e);
+            reloaded = false;
+        }
+        publish();
+        return reloaded;
+    }
+
+    /**
+     * The reference data as last loaded; read it once for each parse
+     */
+    public ReferenceData getReferenceData() {
+        return referenceData;
+    }
+
+    /**
+     * Identifies the reference data as last loaded (for keying cached race results):
+     * "directory-" followed by part of the SHA-256 digest of the names and contents of the files
+     * it was loaded from
+     */
+    public String getVersion() {
+        return referenceData.getVersion();
+    }
+
+    @Override
+    public void close() throws IOException {
+        Thread watcher;
+        synchronized (this) {
+            watcher = this.watcher;
+            if (watcher == null) {
+                return;
+            }
+            this.watcher = null;
+            watchService.close();
+        }
+        watcher.interrupt();
+    }
+
+    private void watchForChanges() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                // wait for a change, then for the files to stop changing
+                WatchKey watchKey = watchService.take();
+                while (watchKey != null) {
+                    watchKey.pollEvents();
+                    watchKey.reset();
+                    watchKey = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+                }
+
+                boolean reloaded;
+                synchronized (this) {
+                    if (watcher == null) {
+                        return; // closed
+                    }
+                    try {
+                        registerDirectories();
+                    } catch (IOException e) {
+                        LOGGER.error(String.format("Unable to watch the reference data in %s",
+                                directory), e);
+                    }
+                    reloaded = reload();
+                }
+                if (reloaded) {
+                    LOGGER.info(String.format("Reloaded the reference data in %s (%s)",
+                            directory, getVersion()));
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    // the points_of_call subdirectory may be created after watching starts
+    private void registerDirectories() throws IOException {
+        for (Path watched : new Path[]{directory, directory.resolve("points_of_call")}) {
+            if (Files.isDirectory(watched) && watchedDirectories.add(watched)) {
+                watched.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+            }
+        }
+    }
+
+    private void logReloadFailure(String kind, Exception e) {
+        LOGGER.error(String.format("Unable to reload the %s in %s; still using those previously " +
+                "loaded", kind, directory), e);
+    }
+
+    private Loaded<TrackService> loadTracks() {
+        DirectorySource source = new DirectorySource(directory);
+        TrackService trackService = new TrackService(new TrackRepository(getCsvMapper(), source));
+        trackService.refresh();
+        return new Loaded<>(trackService, source.digest());
+    }
+
+    private Loaded<FractionalService> loadFractionals() throws ChartParserException {
+        DirectorySource source = new DirectorySource(directory);
+        FractionalService fractionalService = new FractionalService(
+                new FractionalPointRepository(getObjectMapper(), source));
+        fractionalService.refresh();
+        return new Loaded<>(fractionalService, source.digest());
+    }
+
+    private Loaded<PointsOfCallService> loadPointsOfCall() {
+        DirectorySource source = new DirectorySource(directory);
+        PointsOfCallService pointsOfCallService = new PointsOfCallService(
+                new PointsOfCallRepository(getObjectMapper(), source));
+        pointsOfCallService.loadAll();
+        return new Loaded<>(pointsOfCallService, source.digest());
+    }
+
+    private void publish() {
+        MessageDigest messageDigest = sha256();
+        messageDigest.update(tracks.digest);
+        messageDigest.update(fractionals.digest);
+        messageDigest.update(pointsOfCall.digest);
+
+        StringBuilder version = new StringBuilder("directory-");
+        byte[] digest = messageDigest.digest();
+        for (int i = 0; i < 8; i++) {
+            version.append(String.format("%02x", digest[i]));
+        }
+
+        referenceData = new ReferenceData(tracks.service, fractionals.service,
+                pointsOfCall.service, version.toString());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A service and the digest of the files it was loaded from
+     */
+    private static class Loaded<T> {
+        private final T service;
+        private final byte[] digest;
+
+        private Loaded(T service, byte[] digest) {
+            this.service = service;
+            this.digest = digest;
+        }
+    }
+
+    /**
+     * Reads each file from the directory or, when it is not there, the classpath, keeping what
+     * was read so that the version identifies exactly the content that was loaded
+     */
+    private static class DirectorySource implements ReferenceDataSource {
+        private final Path directory;
+        private final Map<String, byte[]> filesRead = new TreeMap<>();
+
+        private DirectorySource(Path directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        public synchronized InputStream open(String fileName) throws IOException {
+            byte[] content = filesRead.get(fileName);
+            if (content == null) {
+                Path file = directory.resolve(fileName);
+                if (Files.isRegularFile(file)) {
+                    content = Files.readAllBytes(file);
+                } else {
+                    try (InputStream resource = CLASSPATH.open(fileName)) {
+                        if (resource == null) {
+                            return null;
+                        }
+                        content = IOUtils.toByteArray(resource);
+                    }
+                }
+                filesRead.put(fileName, content);
+            }
+            return new ByteArrayInputStream(content);
+        }
+
+        private synchronized byte[] digest() {
+            MessageDigest messageDigest = sha256();
+            for (Map.Entry<String, byte[]> fileRead : filesRead.entrySet()) {
+                messageDigest.update(fileRead.getKey().getBytes(UTF_8));
+                messageDigest.update((byte) 0);
+                messageDigest.update(fileRead.getValue());
+            }
+            return messageDigest.digest();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.robinhowlett.chartparser;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Where the repositories read the reference data files from (e.g. {@code track-codes.csv}), by
+ * default the classpath
+ */
+@FunctionalInterface
+public interface ReferenceDataSource {
+
+    ReferenceDataSource CLASSPATH = fileName ->
+            ReferenceDataSource.class.getClassLoader().getResourceAsStream(fileName);
+
+    /**
+     * The content of the file, or null if there is no such file
+     */
+    InputStream open(String fileName) throws IOException;
+}
@@ -0,0 +1,276 @@
+package com.robinhowlett.chartparser.cache;
+
+import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
+import com.robinhowlett.chartparser.charts.pdf.ChartCharacterBuffer;
+import com.robinhowlett.chartparser.charts.text.ChartStripper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A persistent cache of the {@link ChartCharacter}s extracted from each page of a PDF chart, so
+ * that re-parsing the same PDF does not need PDFBox at all.
+ * <p>
+ * Each PDF is stored as a single binary file named by its content hash and the
+ * {@link ChartStripper#EXTRACTOR_VERSION} that produced it. The file is memory-mapped when read;
+ * its (big-endian) layout is:
+ * <pre>
+ * int    magic number ("CHRC")
+ * int    format version
+ * int    extractor version
+ * record per character: xDirAdj, yDirAdj, fontSize, xScale, height, widthOfSpace and
+ *        widthDirAdj as ints (thousandths of a point), then the unicode char
+ * int[]  n + 1 cumulative character offsets, one per page plus the total
+ * int    number of pages (n)
+ * </pre>
+ * The page offsets trail the characters so that an entry can be written one page at a time.
+ * Values are stored in thousandths as the extracted characters are already rounded to three
+ * decimal places, so reading them back gives exactly the same doubles.
+ */
+public class ChartCharacterCache {
+    public static final int FORMAT_VERSION = 1;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChartCharacterCache.class);
+    private static final int MAGIC_NUMBER = 0x43485243;
+    private static final int HEADER_BYTES = 3 * Integer.BYTES;
+    private static final int CHARACTER_BYTES = (7 * Integer.BYTES) + Character.BYTES;
+    private static final String EXTENSION = ".chrc";
+
+    private final Path directory;
+
+    public ChartCharacterCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Opens the cached pages for the PDF with this content hash, if present and written by the
+     * current format and extractor versions; unreadable entries are treated as absent
+     */
+    public Optional<CachedPages> read(String contentHash) {
+        Path path = pathFor(contentHash);
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(path)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.limit() < HEADER_BYTES + (2 * Integer.BYTES) ||
+                    buffer.getInt(0) != MAGIC_NUMBER ||
+                    buffer.getInt(4) != FORMAT_VERSION ||
+                    buffer.getInt(8) != ChartStripper.EXTRACTOR_VERSION) {
+                LOGGER.warn(String.format("Ignoring incompatible cache entry: %s", path));
+                return Optional.empty();
+            }
+
+            Optional<CachedPages> cachedPages = CachedPages.of(buffer);
+            if (!cachedPages.isPresent()) {
+                LOGGER.warn(String.format("Ignoring corrupt cache entry: %s", path));
+            }
+            return cachedPages;
+        } catch (IOException e) {
+            LOGGER.warn(String.format("Unable to read cache entry: %s", path), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the characters of each page of the PDF with this content hash
+     */
+    public void write(String contentHash, List<List<ChartCharacter>> pages) throws IOException {
+        try (Writer writer = writer(contentHash)) {
+            for (List<ChartCharacter> page : pages) {
+                writer.addPage(page);
+            }
+            writer.commit();
+        }
+    }
+
+    /**
+     * Starts a new entry for the PDF with this content hash, to which pages are added in order.
+     * The entry is written to a temporary file and only moved into place when committed, so
+     * concurrent readers never see a partially-written entry.
+     */
+    public Writer writer(String contentHash) throws IOException {
+        Files.createDirectories(directory);
+        return new Writer(contentHash, Files.createTempFile(directory, contentHash, ".tmp"));
+    }
+
+    Path pathFor(String contentHash) {
+        return directory.resolve(contentHash + "-" + ChartStripper.EXTRACTOR_VERSION + EXTENSION);
+    }
+
+    /**
+     * Writes a single cache entry
+     */
+    public class Writer implements Closeable {
+        private final String contentHash;
+        private final Path temp;
+        private final DataOutputStream out;
+        private final List<Integer> offsets = new ArrayList<>();
+        private int offset;
+        private boolean closed;
+
+        private Writer(String contentHash, Path temp) throws IOException {
+            this.contentHash = contentHash;
+            this.temp = temp;
+            this.out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(temp)));
+            out.writeInt(MAGIC_NUMBER);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(ChartStripper.EXTRACTOR_VERSION);
+            offsets.add(offset);
+        }
+
+        public void addPage(List<ChartCharacter> page) throws IOException {
+            if (page instanceof ChartCharacterBuffer) {
+                addPage((ChartCharacterBuffer) page);
+                return;
+            }
+            for (ChartCharacter chartCharacter : page) {
+                out.writeInt(chartCharacter.getxDirAdjThousandths());
+                out.writeInt(chartCharacter.getyDirAdjThousandths());
+                out.writeInt(chartCharacter.getFontSizeThousandths());
+                out.writeInt(chartCharacter.getxScaleThousandths());
+                out.writeInt(chartCharacter.getHeightThousandths());
+                out.writeInt(chartCharacter.getWidthOfSpaceThousandths());
+                out.writeInt(chartCharacter.getWidthDirAdjThousandths());
+                out.writeChar(chartCharacter.getUnicode());
+            }
+            offset += page.size();
+            offsets.add(offset);
+        }
+
+        private void addPage(ChartCharacterBuffer page) throws IOException {
+            for (int i = 0; i < page.size(); i++) {
+                out.writeInt(page.getxDirAdjThousandths(i));
+                out.writeInt(page.getyDirAdjThousandths(i));
+                out.writeInt(page.getFontSizeThousandths(i));
+                out.writeInt(page.getxScaleThousandths(i));
+                out.writeInt(page.getHeightThousandths(i));
+                out.writeInt(page.getWidthOfSpaceThousandths(i));
+                out.writeInt(page.getWidthDirAdjThousandths(i));
+                out.writeChar(page.getUnicode(i));
+            }
+            offset += page.size();
+            offsets.add(offset);
+        }
+
+        /**
+         * Completes the entry and moves it into place
+         */
+        public void commit() throws IOException {
+            for (Integer pageOffset : offsets) {
+                out.writeInt(pageOffset);
+            }
+            out.writeInt(offsets.size() - 1);
+            closed = true;
+            out.close();
+            Files.move(temp, pathFor(contentHash), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        /**
+         * Discards the entry if it was not committed
+         */
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                out.close();
+            }
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * The pages of a cache entry, read directly from the memory-mapped file
+     */
+    public static class CachedPages {
+        private final ByteBuffer buffer;
+        private final int numberOfPages;
+        private final int offsetsStart;
+
+        private CachedPages(ByteBuffer buffer, int numberOfPages, int offsetsStart) {
+            this.buffer = buffer;
+            this.numberOfPages = numberOfPages;
+            this.offsetsStart = offsetsStart;
+        }
+
+        static Optional<CachedPages> of(ByteBuffer buffer) {
+            int limit = buffer.limit();
+            int numberOfPages = buffer.getInt(limit - Integer.BYTES);
+            long offsetsStart = limit - Integer.BYTES - ((numberOfPages + 1L) * Integer.BYTES);
+            if (numberOfPages < 0 || offsetsStart < HEADER_BYTES) {
+                return Optional.empty();
+            }
+
+            CachedPages cachedPages = new CachedPages(buffer, numberOfPages, (int) offsetsStart);
+            for (int i = 0; i < numberOfPages; i++) {
+                if (cachedPages.characterOffset(i) > cachedPages.characterOffset(i + 1)) {
+                    return Optional.empty();
+                }
+            }
+            if (cachedPages.characterOffset(0) != 0) {
+                return Optional.empty();
+            }
+
+            long expectedStart = HEADER_BYTES +
+                    ((long) cachedPages.characterOffset(numberOfPages) * CHARACTER_BYTES);
+            if (expectedStart != offsetsStart) {
+                return Optional.empty();
+            }
+            return Optional.of(cachedPages);
+        }
+
+        public int getNumberOfPages() {
+            return numberOfPages;
+        }
+
+        /**
+         * The characters of the (1-based) page
+         */
+        public List<ChartCharacter> getPage(int pageNumber) {
+            if (pageNumber < 1 || pageNumber > numberOfPages) {
+                throw new IndexOutOfBoundsException("Page " + pageNumber + " of " +
+                        numberOfPages);
+            }
+            int start = characterOffset(pageNumber - 1);
+            int end = characterOffset(pageNumber);
+
+            ChartCharacterBuffer page = new ChartCharacterBuffer(end - start);
+            for (int i = start; i < end; i++) {
+                int position = HEADER_BYTES + (i * CHARACTER_BYTES);
+                page.add(buffer.getInt(position), buffer.getInt(position + 4),
+                        buffer.getInt(position + 8), buffer.getInt(position + 12),
+                        buffer.getInt(position + 16), buffer.getInt(position + 20),
+                        buffer.getInt(position + 24), buffer.getChar(position + 28));
+            }
+            return page;
+        }
+
+        public List<List<ChartCharacter>> getPages() {
+            List<List<ChartCharacter>> pages = new ArrayList<>(numberOfPages);
+            for (int pageNumber = 1; pageNumber <= numberOfPages; pageNumber++) {
+                pages.add(getPage(pageNumber));
+            }
+            return pages;
+        }
+
+        private int characterOffset(int index) {
+            return buffer.getInt(offsetsStart + (index * Integer.BYTES));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.robinhowlett.chartparser.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.robinhowlett.chartparser.ChartParser;
+import com.robinhowlett.chartparser.charts.pdf.RaceResult;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * A persistent cache of the {@link RaceResult}s parsed from each PDF chart, so that a PDF that has
+ * been parsed before (e.g. when re-downloaded or re-sent) is not parsed again.
+ * <p>
+ * Entries are keyed by the content hash of the PDF and a version stamp identifying the parser
+ * and reference data that produced them (see {@link #key(String, String)}), so that results are
+ * not reused once either changes. Each entry is stored as a JSON file, serialized with
+ * {@link ChartParser#getObjectMapper()} extended to include what its JSON leaves out, with the
+ * most recently used entries also held in memory (still serialized). Each read returns new race
+ * results that are the same, through their public getters, as those originally parsed.
+ */
+public class RaceResultCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RaceResultCache.class);
+    private static final Pattern VALID_VERSION = Pattern.compile("[A-Za-z0-9._-]+");
+    private static final String EXTENSION = ".json";
+
+    private final Path directory;
+    private final ObjectMapper mapper;
+    private final Map<String, byte[]> recentlyUsed;
+
+    /**
+     * @param directory          the directory in which the entries are stored
+     * @param maxEntriesInMemory how many of the most recently used entries are also held in
+     *                           memory (none when zero)
+     */
+    public RaceResultCache(Path directory, int maxEntriesInMemory) {
+        this.directory = directory;
+        this.mapper = RaceResultMapper.create();
+        this.recentlyUsed = new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > maxEntriesInMemory;
+            }
+        };
+    }
+
+    /**
+     * The key of the entry for the PDF with this content hash, as parsed by the versioned parser
+     * and reference data
+     *
+     * @throws IllegalArgumentException if the version contains characters other than letters,
+     *                                  digits, '.', '_' or '-'
+     */
+    public static String key(String contentHash, String version) {
+        return contentHash + "-" + checkVersion(version);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the version contains characters other than letters,
+     *                                  digits, '.', '_' or '-'
+     */
+    public static String checkVersion(String version) {
+        if (version == null || !VALID_VERSION.matcher(version).matches()) {
+            throw new IllegalArgumentException(String.format("Invalid cache version: %s",
+                    version));
+        }
+        return version;
+    }
+
+    /**
+     * The race results stored for this key, if present and readable; unreadable entries are
+     * treated as absent. Each call returns new {@link RaceResult}s, so they may be modified
+     * without affecting the entry.
+     */
+    public Optional<List<RaceResult>> get(String key) {
+        byte[] entry;
+        synchronized (recentlyUsed) {
+            entry = recentlyUsed.get(key);
+        }
+
+        Path path = pathFor(key);
+        try {
+            boolean read = false;
+            if (entry == null) {
+                if (!Files.isRegularFile(path)) {
+                    return Optional.empty();
+                }
+                entry = Files.readAllBytes(path);
+                read = true;
+            }
+
+            List<RaceResult> raceResults = mapper.readValue(entry,
+                    new TypeReference<List<RaceResult>>() {
+                    });
+            if (read) {
+                synchronized (recentlyUsed) {
+                    recentlyUsed.put(key, entry);
+                }
+            }
+            return Optional.of(raceResults);
+        } catch (IOException e) {
+            LOGGER.warn(String.format("Ignoring unreadable cache entry: %s", path), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the race results for this key. The entry is written to a temporary file and moved
+     * into place, so concurrent readers never see a partially-written entry.
+     */
+    public void put(String key, List<RaceResult> raceResults) throws IOException {
+        // serialized now, so later changes to the race results do not affect the entry
+        byte[] entry = mapper.writeValueAsBytes(raceResults);
+
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, key, ".tmp");
+        try {
+            Files.write(temp, entry);
+            Files.move(temp, pathFor(key), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        synchronized (recentlyUsed) {
+            recentlyUsed.put(key, entry);
+        }
+    }
+
+    Path pathFor(String key) {
+        return directory.resolve(key + EXTENSION);
+    }
+}
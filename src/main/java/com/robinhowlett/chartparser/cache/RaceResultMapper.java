@@ -0,0 +1,93 @@
+package com.robinhowlett.chartparser.cache;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.robinhowlett.chartparser.ChartParser;
+import com.robinhowlett.chartparser.charts.pdf.Owner;
+import com.robinhowlett.chartparser.charts.pdf.Rating;
+import com.robinhowlett.chartparser.charts.pdf.Rating.AqhaSpeedIndex;
+import com.robinhowlett.chartparser.charts.pdf.Starter;
+import com.robinhowlett.chartparser.charts.pdf.Trainer;
+import com.robinhowlett.chartparser.charts.pdf.wagering.WagerPayoffPools.WinPlaceShowPayoffPool
+        .WinPlaceShowPayoff;
+import com.robinhowlett.chartparser.tracks.Track;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+
+/**
+ * Creates the mapper that stores {@link com.robinhowlett.chartparser.charts.pdf.RaceResult}s in
+ * a {@link RaceResultCache}. It is {@link ChartParser#getObjectMapper()} plus mix-ins that also
+ * store what the published JSON leaves out: the program numbers of owners and trainers, the
+ * program and horse of each starter's Win-Place-Show payoff, each {@link Starter}'s values as set
+ * (rather than as derived by its getters), the type of each {@link Rating} (and the time of an
+ * {@link AqhaSpeedIndex}), and each {@link Track}'s values as read. A race result read back is
+ * therefore the same as the one parsed through its public getters, and not only through its JSON.
+ */
+final class RaceResultMapper {
+
+    private RaceResultMapper() {
+    }
+
+    static ObjectMapper create() {
+        return ChartParser.getObjectMapper().copy()
+                .addMixIn(Owner.class, OwnerMixIn.class)
+                .addMixIn(Trainer.class, TrainerMixIn.class)
+                .addMixIn(Starter.class, StarterMixIn.class)
+                .addMixIn(Rating.class, RatingMixIn.class)
+                .addMixIn(AqhaSpeedIndex.class, AqhaSpeedIndexMixIn.class)
+                .addMixIn(Track.class, TrackMixIn.class);
+    }
+
+    abstract static class OwnerMixIn {
+        @JsonIgnore(false)
+        @JsonProperty("program")
+        private String program;
+    }
+
+    abstract static class TrainerMixIn {
+        @JsonIgnore(false)
+        @JsonProperty("program")
+        private String program;
+    }
+
+    // the values as set, which some getters derive from others e.g. the official position
+    @JsonAutoDetect(fieldVisibility = ANY, getterVisibility = NONE, isGetterVisibility = NONE)
+    abstract static class StarterMixIn {
+        @JsonProperty("wagering")
+        @JsonIgnoreProperties({})
+        private WinPlaceShowPayoff winPlaceShowPayoff;
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type", defaultImpl = Rating.class)
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = Rating.class, name = "Rating"),
+            @JsonSubTypes.Type(value = AqhaSpeedIndex.class, name = "AqhaSpeedIndex")})
+    abstract static class RatingMixIn {
+    }
+
+    // the name and text are derived from the value
+    @JsonIgnoreProperties(value = {"name", "text", "extra"}, allowGetters = true)
+    abstract static class AqhaSpeedIndexMixIn {
+        @JsonCreator
+        AqhaSpeedIndexMixIn(@JsonProperty("value") Integer value,
+                @JsonProperty("millis") Long millis) {
+        }
+
+        @JsonIgnore(false)
+        @JsonProperty("millis")
+        abstract Long getMillis();
+    }
+
+    // the values as read from the track codes file, which the getters trim
+    @JsonAutoDetect(fieldVisibility = ANY, getterVisibility = NONE, isGetterVisibility = NONE,
+            setterVisibility = NONE)
+    abstract static class TrackMixIn {
+    }
+}
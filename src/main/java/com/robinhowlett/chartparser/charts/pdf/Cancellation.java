@@ -38,8 +38,7 @@ public class Cancellation {
     }
 
     public static Cancellation parse(List<List<ChartCharacter>> lines) {
-        for (List<ChartCharacter> line : lines) {
-            String rawText = Chart.convertToText(line);
+        for (String rawText : ChartPage.of(lines).getTexts()) {
             Optional<Cancellation> cancellation = checkForCancellation(rawText);
             if (cancellation.isPresent()) {
                 return cancellation.get();
@@ -49,7 +48,7 @@ public class Cancellation {
     }
 
     static Optional<Cancellation> checkForCancellation(String text) {
-        Matcher matcher = CANCELLATION_PATTERN.matcher(text);
+        Matcher matcher = CANCELLATION_PATTERN.matcher(PageDeadline.guard(text));
         if (matcher.find()) {
             String reason = matcher.group(2);
             if (Breed.isBreed(reason)) {
@@ -11,6 +11,11 @@ import java.util.regex.Pattern;
 public class Chart {
 
     public static final BigDecimal THREE = new BigDecimal(3);
+    public static final long THREE_THOUSANDTHS = 3000;
+
+    public static final char NO_WHITESPACE = '\0';
+    private static final char SPACE = ' ';
+    private static final char TAB_MARKER = '|';
 
     private static final Pattern ENTRY_PROGRAM = Pattern.compile("(\\d+)F|(\\d+)[A-Z]?");
 
@@ -33,20 +38,48 @@ public class Chart {
         return bd;
     }
 
+    /**
+     * The value rounded half-up to three decimal places, as {@link #round(double)}, as a whole
+     * number of thousandths
+     */
+    public static long toThousandths(double d) {
+        double thousandths = d * 1000;
+        double nearest = Math.rint(thousandths);
+        // a value that is already (all but) a whole number of thousandths, as chart character
+        // positions and widths are, rounds to that number whatever its decimal representation;
+        // anything else is rounded via its decimal representation
+        if (Math.abs(thousandths - nearest) < 1e-6 && Math.abs(d) < 1e9) {
+            return (long) nearest;
+        }
+        return round(d).unscaledValue().longValue();
+    }
+
     /**
      * Converts the list of {@link ChartCharacter}s into a String, including inserting space, pipe,
      * and new line characters when the horizontal and vertical positions of adjacent characters
      * suggests it
      */
     public static String convertToText(List<ChartCharacter> line) {
-        StringBuilder sb = new StringBuilder();
+        if (line == null) {
+            return "";
+        }
+        return appendText(new StringBuilder(line.size() + 16), line).toString();
+    }
+
+    /**
+     * Appends the text of the list of {@link ChartCharacter}s (see {@link #convertToText(List)})
+     * to the builder, so that a builder can be reused for many lines
+     */
+    public static StringBuilder appendText(StringBuilder sb, List<ChartCharacter> line) {
         ChartCharacter prev = null;
         if (line != null) {
             for (ChartCharacter curr : line) {
                 if (prev != null) {
                     // add a whitespace (if required)
-                    sb.append(addWhitespaceIfRequired(curr.getxDirAdj(), prev.getxDirAdj(),
-                            prev.getWidthDirAdj()));
+                    char whitespace = getWhitespace(curr, prev);
+                    if (whitespace != NO_WHITESPACE) {
+                        sb.append(whitespace);
+                    }
                     // add a new line (if required)
                     if (Math.abs(curr.getyDirAdj() - prev.getyDirAdj()) > 4) {
                         sb.append(System.lineSeparator());
@@ -57,7 +90,7 @@ public class Chart {
                 prev = curr;
             }
         }
-        return sb.toString();
+        return sb;
     }
 
     /**
@@ -66,17 +99,45 @@ public class Chart {
      */
     public static String addWhitespaceIfRequired(double currXDir, double prevXDir,
             double prevWidthDirAdj) {
-        BigDecimal spacing = round(currXDir).subtract(round(prevXDir).add(round(prevWidthDirAdj)));
+        switch (getWhitespace(currXDir, prevXDir, prevWidthDirAdj)) {
+            case SPACE:
+                return " ";
+            case TAB_MARKER:
+                return "|";
+            default:
+                return "";
+        }
+    }
+
+    /**
+     * A space or a tab marker (a pipe character) when the positions of two characters suggests
+     * it, otherwise {@link #NO_WHITESPACE}. The spacing between the characters is calculated in
+     * whole thousandths, so no objects are created
+     */
+    public static char getWhitespace(double currXDir, double prevXDir, double prevWidthDirAdj) {
+        return getWhitespace(toThousandths(currXDir) -
+                (toThousandths(prevXDir) + toThousandths(prevWidthDirAdj)));
+    }
+
+    /**
+     * As {@link #getWhitespace(double, double, double)}, using the characters' positions in
+     * thousandths as they are held
+     */
+    public static char getWhitespace(ChartCharacter curr, ChartCharacter prev) {
+        return getWhitespace((long) curr.getxDirAdjThousandths() -
+                ((long) prev.getxDirAdjThousandths() + prev.getWidthDirAdjThousandths()));
+    }
 
+    static char getWhitespace(long spacing) {
         // changed to 0.001 from ZERO; found a few occurances of when it appeared there was
         // rounding up
-        if (spacing.compareTo(BigDecimal.valueOf(0.001)) > 0 && spacing.compareTo(THREE) <= 0) {
-            return " "; // a space
-        } else if (spacing.compareTo(THREE) > 0) {
-            return "|"; // used as a CSV separator
+        if (spacing > 1 && spacing <= THREE_THOUSANDTHS) {
+            return SPACE;
+        } else if (spacing > THREE_THOUSANDTHS) {
+            return TAB_MARKER; // used as a CSV separator
         }
 
-        return ""; // no whitespace
+        return NO_WHITESPACE;
     }
 
     /**
@@ -88,7 +149,7 @@ public class Chart {
      */
     public static String getEntryProgram(String program) {
         if (program != null) {
-            Matcher matcher = ENTRY_PROGRAM.matcher(program);
+            Matcher matcher = ENTRY_PROGRAM.matcher(PageDeadline.guard(program));
             if (matcher.find()) {
                 return (matcher.group(1) != null ? "F" : matcher.group(2));
             }
@@ -2,71 +2,131 @@ package com.robinhowlett.chartparser.charts.pdf;
 
 /**
  * Corresponds to a character within the PDF chart
+ * <p>
+ * Positions and sizes are held as whole thousandths of a point (the PDF values rounded half-up
+ * to three decimal places), so that they can be compared exactly and cheaply. The {@code double}
+ * accessors convert to and from points, rounding any value set to three decimal places.
  */
 public class ChartCharacter {
 
-    private double xDirAdj;
-    private double yDirAdj;
-    private double fontSize;
-    private double xScale;
-    private double height;
-    private double widthOfSpace;
-    private double widthDirAdj;
+    private int xDirAdj;
+    private int yDirAdj;
+    private int fontSize;
+    private int xScale;
+    private int height;
+    private int widthOfSpace;
+    private int widthDirAdj;
     private char unicode;
 
     public double getxDirAdj() {
-        return xDirAdj;
+        return xDirAdj / 1000.0;
     }
 
     public void setxDirAdj(double xDirAdj) {
+        this.xDirAdj = Math.toIntExact(Chart.toThousandths(xDirAdj));
+    }
+
+    public int getxDirAdjThousandths() {
+        return xDirAdj;
+    }
+
+    public void setxDirAdjThousandths(int xDirAdj) {
         this.xDirAdj = xDirAdj;
     }
 
     public double getyDirAdj() {
-        return yDirAdj;
+        return yDirAdj / 1000.0;
     }
 
     public void setyDirAdj(double yDirAdj) {
+        this.yDirAdj = Math.toIntExact(Chart.toThousandths(yDirAdj));
+    }
+
+    public int getyDirAdjThousandths() {
+        return yDirAdj;
+    }
+
+    public void setyDirAdjThousandths(int yDirAdj) {
         this.yDirAdj = yDirAdj;
     }
 
     public double getFontSize() {
-        return fontSize;
+        return fontSize / 1000.0;
     }
 
     public void setFontSize(double fontSize) {
+        this.fontSize = Math.toIntExact(Chart.toThousandths(fontSize));
+    }
+
+    public int getFontSizeThousandths() {
+        return fontSize;
+    }
+
+    public void setFontSizeThousandths(int fontSize) {
         this.fontSize = fontSize;
     }
 
     public double getxScale() {
-        return xScale;
+        return xScale / 1000.0;
     }
 
     public void setxScale(double xScale) {
+        this.xScale = Math.toIntExact(Chart.toThousandths(xScale));
+    }
+
+    public int getxScaleThousandths() {
+        return xScale;
+    }
+
+    public void setxScaleThousandths(int xScale) {
         this.xScale = xScale;
     }
 
     public double getHeight() {
-        return height;
+        return height / 1000.0;
     }
 
     public void setHeight(double height) {
+        this.height = Math.toIntExact(Chart.toThousandths(height));
+    }
+
+    public int getHeightThousandths() {
+        return height;
+    }
+
+    public void setHeightThousandths(int height) {
         this.height = height;
     }
 
     public double getWidthOfSpace() {
-        return widthOfSpace;
+        return widthOfSpace / 1000.0;
     }
 
     public void setWidthOfSpace(double widthOfSpace) {
+        this.widthOfSpace = Math.toIntExact(Chart.toThousandths(widthOfSpace));
+    }
+
+    public int getWidthOfSpaceThousandths() {
+        return widthOfSpace;
+    }
+
+    public void setWidthOfSpaceThousandths(int widthOfSpace) {
         this.widthOfSpace = widthOfSpace;
     }
 
     public double getWidthDirAdj() {
-        return widthDirAdj;
+        return widthDirAdj / 1000.0;
     }
 
     public void setWidthDirAdj(double widthDirAdj) {
+        this.widthDirAdj = Math.toIntExact(Chart.toThousandths(widthDirAdj));
+    }
+
+    public int getWidthDirAdjThousandths() {
+        return widthDirAdj;
+    }
+
+    public void setWidthDirAdjThousandths(int widthDirAdj) {
         this.widthDirAdj = widthDirAdj;
     }
 
@@ -81,13 +141,13 @@ public class ChartCharacter {
     @Override
     public String toString() {
         return "ChartCharacter{" +
-                "xDirAdj=" + xDirAdj +
-                ", yDirAdj=" + yDirAdj +
-                ", fontSize=" + fontSize +
-                ", xScale=" + xScale +
-                ", height=" + height +
-                ", widthOfSpace=" + widthOfSpace +
-                ", widthDirAdj=" + widthDirAdj +
+                "xDirAdj=" + getxDirAdj() +
+                ", yDirAdj=" + getyDirAdj() +
+                ", fontSize=" + getFontSize() +
+                ", xScale=" + getxScale() +
+                ", height=" + getHeight() +
+                ", widthOfSpace=" + getWidthOfSpace() +
+                ", widthDirAdj=" + getWidthDirAdj() +
                 ", unicode=" + unicode +
                 '}';
     }
@@ -99,35 +159,26 @@ public class ChartCharacter {
 
         ChartCharacter that = (ChartCharacter) o;
 
-        if (Double.compare(that.xDirAdj, xDirAdj) != 0) return false;
-        if (Double.compare(that.yDirAdj, yDirAdj) != 0) return false;
-        if (Double.compare(that.fontSize, fontSize) != 0) return false;
-        if (Double.compare(that.xScale, xScale) != 0) return false;
-        if (Double.compare(that.height, height) != 0) return false;
-        if (Double.compare(that.widthOfSpace, widthOfSpace) != 0) return false;
-        if (Double.compare(that.widthDirAdj, widthDirAdj) != 0) return false;
+        if (xDirAdj != that.xDirAdj) return false;
+        if (yDirAdj != that.yDirAdj) return false;
+        if (fontSize != that.fontSize) return false;
+        if (xScale != that.xScale) return false;
+        if (height != that.height) return false;
+        if (widthOfSpace != that.widthOfSpace) return false;
+        if (widthDirAdj != that.widthDirAdj) return false;
         return unicode == that.unicode;
 
     }
 
     @Override
     public int hashCode() {
-        int result;
-        long temp;
-        temp = Double.doubleToLongBits(xDirAdj);
-        result = (int) (temp ^ (temp >>> 32));
-        temp = Double.doubleToLongBits(yDirAdj);
-        result = 31 * result + (int) (temp ^ (temp >>> 32));
-        temp = Double.doubleToLongBits(fontSize);
-        result = 31 * result + (int) (temp ^ (temp >>> 32));
-        temp = Double.doubleToLongBits(xScale);
-        result = 31 * result + (int) (temp ^ (temp >>> 32));
-        temp = Double.doubleToLongBits(height);
-        result = 31 * result + (int) (temp ^ (temp >>> 32));
-        temp = Double.doubleToLongBits(widthOfSpace);
-        result = 31 * result + (int) (temp ^ (temp >>> 32));
-        temp = Double.doubleToLongBits(widthDirAdj);
-        result = 31 * result + (int) (temp ^ (temp >>> 32));
+        int result = xDirAdj;
+        result = 31 * result + yDirAdj;
+        result = 31 * result + fontSize;
+        result = 31 * result + xScale;
+        result = 31 * result + height;
+        result = 31 * result + widthOfSpace;
+        result = 31 * result + widthDirAdj;
         result = 31 * result + (int) unicode;
         return result;
     }
@@ -0,0 +1,304 @@
+package com.robinhowlett.chartparser.charts.pdf;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The characters of a chart page held column-wise: parallel arrays of each measurement (in
+ * thousandths of a point, see {@link ChartCharacter}) and of the glyphs, with the start of each
+ * line of the page kept as an offset into them. This avoids an object per character while pages
+ * are extracted, cached and combined.
+ * <p>
+ * As a {@code List<ChartCharacter>}, each {@link ChartCharacter} is created when read.
+ * {@link #getLines()} gives the lines of the page, in the form the section parsers use, with each
+ * line's characters only created when that line is first read; until then its text is assembled
+ * straight from the arrays.
+ */
+public class ChartCharacterBuffer extends AbstractList<ChartCharacter> implements RandomAccess {
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private int size;
+    private int[] xDirAdj;
+    private int[] yDirAdj;
+    private int[] fontSize;
+    private int[] xScale;
+    private int[] height;
+    private int[] widthOfSpace;
+    private int[] widthDirAdj;
+    private char[] unicode;
+
+    // the first line always starts at zero, even when there are no characters
+    private int numberOfLines = 1;
+    private int[] lineStarts = new int[64];
+
+    private Lines lines;
+
+    public ChartCharacterBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ChartCharacterBuffer(int capacity) {
+        xDirAdj = new int[capacity];
+        yDirAdj = new int[capacity];
+        fontSize = new int[capacity];
+        xScale = new int[capacity];
+        height = new int[capacity];
+        widthOfSpace = new int[capacity];
+        widthDirAdj = new int[capacity];
+        unicode = new char[capacity];
+    }
+
+    public static ChartCharacterBuffer of(List<ChartCharacter> chartCharacters) {
+        if (chartCharacters instanceof ChartCharacterBuffer) {
+            return (ChartCharacterBuffer) chartCharacters;
+        }
+        ChartCharacterBuffer buffer = new ChartCharacterBuffer(chartCharacters.size());
+        for (ChartCharacter chartCharacter : chartCharacters) {
+            buffer.add(chartCharacter);
+        }
+        return buffer;
+    }
+
+    /**
+     * A buffer of the characters of the first page followed by those of the second, with the
+     * lines that separating the characters of both pages together would give i.e. the first
+     * character of the second page only starts a new line if it would have otherwise
+     */
+    public static ChartCharacterBuffer concat(ChartCharacterBuffer first,
+            ChartCharacterBuffer second) {
+        ChartCharacterBuffer buffer = new ChartCharacterBuffer(first.size + second.size);
+        buffer.addAll(first, 0, first.size);
+        buffer.addAll(second, 0, second.size);
+        return buffer;
+    }
+
+    /**
+     * Whether a character at this position starts a new line: the start of a line, or "Past
+     * Performance Running Line Preview"
+     */
+    public static boolean startsNewLine(int xDirAdjThousandths, char unicode) {
+        return xDirAdjThousandths == 9920 || (xDirAdjThousandths == 209385 && unicode == 'P');
+    }
+
+    /**
+     * Adds a character, in thousandths of a point; as with {@link ChartCharacter}s, the first
+     * character of the buffer always starts the first line
+     */
+    public void add(int xDirAdj, int yDirAdj, int fontSize, int xScale, int height,
+            int widthOfSpace, int widthDirAdj, char unicode) {
+        if (size == this.unicode.length) {
+            grow(Math.max(DEFAULT_CAPACITY, size * 2));
+        }
+        if (size > 0 && startsNewLine(xDirAdj, unicode)) {
+            if (numberOfLines == lineStarts.length) {
+                lineStarts = Arrays.copyOf(lineStarts, numberOfLines * 2);
+            }
+            lineStarts[numberOfLines++] = size;
+        }
+
+        this.xDirAdj[size] = xDirAdj;
+        this.yDirAdj[size] = yDirAdj;
+        this.fontSize[size] = fontSize;
+        this.xScale[size] = xScale;
+        this.height[size] = height;
+        this.widthOfSpace[size] = widthOfSpace;
+        this.widthDirAdj[size] = widthDirAdj;
+        this.unicode[size] = unicode;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public boolean add(ChartCharacter chartCharacter) {
+        add(chartCharacter.getxDirAdjThousandths(), chartCharacter.getyDirAdjThousandths(),
+                chartCharacter.getFontSizeThousandths(), chartCharacter.getxScaleThousandths(),
+                chartCharacter.getHeightThousandths(),
+                chartCharacter.getWidthOfSpaceThousandths(),
+                chartCharacter.getWidthDirAdjThousandths(), chartCharacter.getUnicode());
+        return true;
+    }
+
+    private void addAll(ChartCharacterBuffer other, int from, int to) {
+        for (int i = from; i < to; i++) {
+            add(other.xDirAdj[i], other.yDirAdj[i], other.fontSize[i], other.xScale[i],
+                    other.height[i], other.widthOfSpace[i], other.widthDirAdj[i],
+                    other.unicode[i]);
+        }
+    }
+
+    private void grow(int capacity) {
+        xDirAdj = Arrays.copyOf(xDirAdj, capacity);
+        yDirAdj = Arrays.copyOf(yDirAdj, capacity);
+        fontSize = Arrays.copyOf(fontSize, capacity);
+        xScale = Arrays.copyOf(xScale, capacity);
+        height = Arrays.copyOf(height, capacity);
+        widthOfSpace = Arrays.copyOf(widthOfSpace, capacity);
+        widthDirAdj = Arrays.copyOf(widthDirAdj, capacity);
+        unicode = Arrays.copyOf(unicode, capacity);
+    }
+
+    /**
+     * A new {@link ChartCharacter} for the character at this index
+     */
+    @Override
+    public ChartCharacter get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        ChartCharacter chartCharacter = new ChartCharacter();
+        chartCharacter.setxDirAdjThousandths(xDirAdj[index]);
+        chartCharacter.setyDirAdjThousandths(yDirAdj[index]);
+        chartCharacter.setFontSizeThousandths(fontSize[index]);
+        chartCharacter.setxScaleThousandths(xScale[index]);
+        chartCharacter.setHeightThousandths(height[index]);
+        chartCharacter.setWidthOfSpaceThousandths(widthOfSpace[index]);
+        chartCharacter.setWidthDirAdjThousandths(widthDirAdj[index]);
+        chartCharacter.setUnicode(unicode[index]);
+        return chartCharacter;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int getxDirAdjThousandths(int index) {
+        return xDirAdj[index];
+    }
+
+    public int getyDirAdjThousandths(int index) {
+        return yDirAdj[index];
+    }
+
+    public int getFontSizeThousandths(int index) {
+        return fontSize[index];
+    }
+
+    public int getxScaleThousandths(int index) {
+        return xScale[index];
+    }
+
+    public int getHeightThousandths(int index) {
+        return height[index];
+    }
+
+    public int getWidthOfSpaceThousandths(int index) {
+        return widthOfSpace[index];
+    }
+
+    public int getWidthDirAdjThousandths(int index) {
+        return widthDirAdj[index];
+    }
+
+    public char getUnicode(int index) {
+        return unicode[index];
+    }
+
+    public int getNumberOfLines() {
+        return numberOfLines;
+    }
+
+    /**
+     * The index of the first character of the line
+     */
+    public int getLineStart(int line) {
+        return lineStarts[line];
+    }
+
+    /**
+     * The index after the last character of the line
+     */
+    public int getLineEnd(int line) {
+        return (line + 1 < numberOfLines ? lineStarts[line + 1] : size);
+    }
+
+    /**
+     * Appends the text of the line to the builder, exactly as {@link Chart#convertToText(List)}
+     * would for the line's {@link ChartCharacter}s
+     */
+    public StringBuilder appendText(StringBuilder sb, int line) {
+        int start = getLineStart(line);
+        int end = getLineEnd(line);
+        for (int i = start; i < end; i++) {
+            if (i > start) {
+                // add a whitespace (if required)
+                char whitespace = Chart.getWhitespace((long) xDirAdj[i] -
+                        ((long) xDirAdj[i - 1] + widthDirAdj[i - 1]));
+                if (whitespace != Chart.NO_WHITESPACE) {
+                    sb.append(whitespace);
+                }
+                // add a new line (if required); compared in points, as ChartCharacters are
+                if (Math.abs((yDirAdj[i] / 1000.0) - (yDirAdj[i - 1] / 1000.0)) > 4) {
+                    sb.append(System.lineSeparator());
+                }
+            }
+            // add the actual character
+            sb.append(unicode[i]);
+        }
+        return sb;
+    }
+
+    /**
+     * The lines of the page, as separated by {@link #startsNewLine(int, char)}. The buffer should
+     * not be added to once its lines have been read.
+     */
+    public Lines getLines() {
+        if (lines == null) {
+            lines = new Lines();
+        }
+        return lines;
+    }
+
+    /**
+     * The lines of a {@link ChartCharacterBuffer}. Each line's {@link ChartCharacter}s are created
+     * when it is first read, and the same (modifiable) list is returned thereafter, as parsers
+     * may adjust or remove the characters of a line
+     */
+    public class Lines extends AbstractList<List<ChartCharacter>> implements RandomAccess {
+        private final List<ChartCharacter>[] lines;
+
+        @SuppressWarnings("unchecked")
+        private Lines() {
+            this.lines = new List[numberOfLines];
+        }
+
+        @Override
+        public List<ChartCharacter> get(int line) {
+            List<ChartCharacter> chartCharacters = lines[line];
+            if (chartCharacters == null) {
+                int start = getLineStart(line);
+                int end = getLineEnd(line);
+                chartCharacters = new ArrayList<>(end - start);
+                for (int i = start; i < end; i++) {
+                    chartCharacters.add(ChartCharacterBuffer.this.get(i));
+                }
+                lines[line] = chartCharacters;
+            }
+            return chartCharacters;
+        }
+
+        @Override
+        public int size() {
+            return lines.length;
+        }
+
+        /**
+         * The text of the line, assembled from the buffer unless the line's characters have
+         * been read (and so may have been changed)
+         */
+        public String getText(int line) {
+            if (lines[line] != null) {
+                return Chart.convertToText(lines[line]);
+            }
+            int start = getLineStart(line);
+            return appendText(new StringBuilder(getLineEnd(line) - start + 16), line).toString();
+        }
+
+        public ChartCharacterBuffer getBuffer() {
+            return ChartCharacterBuffer.this;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.robinhowlett.chartparser.charts.pdf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A spatial index of {@link ChartCharacter}s by their position ({@code xDirAdj},
+ * {@code yDirAdj}), for finding the characters within a rectangular region of a chart (e.g. a
+ * cell of a grid) without scanning every character.
+ * <p>
+ * The characters are bucketed into a uniform grid of cells, so a query only examines the
+ * characters of the cells that overlap the region. The bounds of a region are inclusive and
+ * compared exactly as the characters' {@code double} positions would be, so e.g. a column that
+ * ends where the next one starts can be queried up to {@code Math.nextDown(nextColumnStart)}.
+ */
+public class ChartCharacterIndex {
+    // in thousandths of a point: about three characters wide, and a line high
+    private static final int CELL_WIDTH = 16000;
+    private static final int CELL_HEIGHT = 8000;
+    // bounds beyond this (in points) are clamped, so that any region can be queried
+    private static final double MAX_BOUND = 1e9;
+
+    private final List<ChartCharacter> chartCharacters;
+    private final int[] xDirAdj;
+    private final int[] yDirAdj;
+    private final int minX;
+    private final int minY;
+    private final int columns;
+    private final int rows;
+    private final int[] cellStarts;
+    // the indexes of the characters, grouped by cell and in ascending order within each cell
+    private final int[] cellCharacters;
+
+    private ChartCharacterIndex(List<ChartCharacter> chartCharacters) {
+        this.chartCharacters = chartCharacters;
+        int size = chartCharacters.size();
+        xDirAdj = new int[size];
+        yDirAdj = new int[size];
+
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            ChartCharacter chartCharacter = chartCharacters.get(i);
+            xDirAdj[i] = chartCharacter.getxDirAdjThousandths();
+            yDirAdj[i] = chartCharacter.getyDirAdjThousandths();
+            minX = Math.min(minX, xDirAdj[i]);
+            minY = Math.min(minY, yDirAdj[i]);
+            maxX = Math.max(maxX, xDirAdj[i]);
+            maxY = Math.max(maxY, yDirAdj[i]);
+        }
+        this.minX = minX;
+        this.minY = minY;
+        columns = (size > 0 ? (int) (((long) maxX - minX) / CELL_WIDTH) + 1 : 0);
+        rows = (size > 0 ? (int) (((long) maxY - minY) / CELL_HEIGHT) + 1 : 0);
+
+        // counting sort of the characters by cell
+        int[] cellOfCharacter = new int[size];
+        cellStarts = new int[(columns * rows) + 1];
+        for (int i = 0; i < size; i++) {
+            cellOfCharacter[i] = cell(column(xDirAdj[i]), row(yDirAdj[i]));
+            cellStarts[cellOfCharacter[i] + 1]++;
+        }
+        for (int cell = 0; cell < columns * rows; cell++) {
+            cellStarts[cell + 1] += cellStarts[cell];
+        }
+        cellCharacters = new int[size];
+        int[] next = Arrays.copyOf(cellStarts, columns * rows);
+        for (int i = 0; i < size; i++) {
+            cellCharacters[next[cellOfCharacter[i]]++] = i;
+        }
+    }
+
+    public static ChartCharacterIndex of(List<ChartCharacter> chartCharacters) {
+        return new ChartCharacterIndex(chartCharacters);
+    }
+
+    /**
+     * The characters positioned within the region (bounds inclusive), in the order they were
+     * indexed
+     */
+    public List<ChartCharacter> charactersIn(double xMin, double yMin, double xMax,
+            double yMax) {
+        int[] indexes = indexesIn(xMin, yMin, xMax, yMax);
+        List<ChartCharacter> characters = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            characters.add(chartCharacters.get(index));
+        }
+        return characters;
+    }
+
+    /**
+     * The (ascending) indexes of the characters positioned within the region (bounds inclusive)
+     */
+    public int[] indexesIn(double xMin, double yMin, double xMax, double yMax) {
+        long fromX = atLeast(xMin);
+        long toX = atMost(xMax);
+        long fromY = atLeast(yMin);
+        long toY = atMost(yMax);
+        if (chartCharacters.isEmpty() || fromX > toX || fromY > toY) {
+            return new int[0];
+        }
+
+        int fromColumn = column(fromX);
+        int toColumn = column(toX);
+        int fromRow = row(fromY);
+        int toRow = row(toY);
+
+        int[] indexes = new int[16];
+        int found = 0;
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = fromColumn; column <= toColumn; column++) {
+                int cell = cell(column, row);
+                for (int i = cellStarts[cell]; i < cellStarts[cell + 1]; i++) {
+                    int index = cellCharacters[i];
+                    if (xDirAdj[index] >= fromX && xDirAdj[index] <= toX &&
+                            yDirAdj[index] >= fromY && yDirAdj[index] <= toY) {
+                        if (found == indexes.length) {
+                            indexes = Arrays.copyOf(indexes, found * 2);
+                        }
+                        indexes[found++] = index;
+                    }
+                }
+            }
+        }
+
+        indexes = Arrays.copyOf(indexes, found);
+        // the cells are each in order, so only needed when more than one cell was examined
+        if (fromRow != toRow || fromColumn != toColumn) {
+            Arrays.sort(indexes);
+        }
+        return indexes;
+    }
+
+    public int size() {
+        return chartCharacters.size();
+    }
+
+    private int column(long xDirAdj) {
+        return clamp((xDirAdj - minX) / CELL_WIDTH, columns);
+    }
+
+    private int row(long yDirAdj) {
+        return clamp((yDirAdj - minY) / CELL_HEIGHT, rows);
+    }
+
+    private int cell(int column, int row) {
+        return (row * columns) + column;
+    }
+
+    private static int clamp(long cell, int cells) {
+        return (int) Math.max(0, Math.min(cell, cells - 1));
+    }
+
+    /**
+     * The smallest position (in thousandths) that, as a {@code double}, is not less than the bound
+     */
+    static long atLeast(double bound) {
+        bound = Math.max(-MAX_BOUND, Math.min(bound, MAX_BOUND));
+        long thousandths = (long) Math.ceil(bound * 1000);
+        while (thousandths / 1000.0 < bound) {
+            thousandths++;
+        }
+        while ((thousandths - 1) / 1000.0 >= bound) {
+            thousandths--;
+        }
+        return thousandths;
+    }
+
+    /**
+     * The largest position (in thousandths) that, as a {@code double}, is not more than the bound
+     */
+    static long atMost(double bound) {
+        bound = Math.max(-MAX_BOUND, Math.min(bound, MAX_BOUND));
+        long thousandths = (long) Math.floor(bound * 1000);
+        while (thousandths / 1000.0 > bound) {
+            thousandths--;
+        }
+        while ((thousandths + 1) / 1000.0 <= bound) {
+            thousandths++;
+        }
+        return thousandths;
+    }
+}
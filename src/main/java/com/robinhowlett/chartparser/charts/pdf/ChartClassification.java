@@ -0,0 +1,116 @@
+package com.robinhowlett.chartparser.charts.pdf;
+
+import com.robinhowlett.chartparser.charts.pdf.TrackRaceDateRaceNumber.InvalidRaceException;
+import com.robinhowlett.chartparser.charts.pdf.TrackRaceDateRaceNumber.NoLinesToParse;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Cheaply classifies a chart from its first few lines (the track/date/race number header and,
+ * for cancelled races, the cancellation banner that follows it) so that cancelled races and
+ * non-race pages can be handled without running the rest of the section parsers
+ */
+public class ChartClassification {
+    /**
+     * How many lines are checked for the cancellation banner; the header is always the first
+     * line of a race chart and the banner, when present, immediately follows it
+     */
+    static final int PREVIEW_LINES = 3;
+
+    public enum Kind {
+        RACE, CANCELLED
+    }
+
+    private final Kind kind;
+    private final TrackRaceDateRaceNumber trackRaceDateRaceNumber;
+    private final Cancellation cancellation;
+    private final int previewedLines;
+
+    ChartClassification(Kind kind, TrackRaceDateRaceNumber trackRaceDateRaceNumber,
+            Cancellation cancellation, int previewedLines) {
+        this.kind = kind;
+        this.trackRaceDateRaceNumber = trackRaceDateRaceNumber;
+        this.cancellation = cancellation;
+        this.previewedLines = previewedLines;
+    }
+
+    /**
+     * Reads the lines up to (and including) the header, and at least the first
+     * {@link #PREVIEW_LINES}, converting each to text only once. The results are the same as
+     * {@link TrackRaceDateRaceNumber#parse(List)} and {@link Cancellation#parse(List)} would
+     * give; for races, {@link #getCancellation(List)} also checks the remaining lines.
+     *
+     * @throws NoLinesToParse      if there are no lines
+     * @throws InvalidRaceException if no line contains the header i.e. the page is not a race
+     */
+    public static ChartClassification classify(final List<List<ChartCharacter>> lines)
+            throws NoLinesToParse, InvalidRaceException {
+        if (lines == null || lines.isEmpty()) {
+            throw new NoLinesToParse();
+        }
+
+        ChartPage page = ChartPage.of(lines);
+        TrackRaceDateRaceNumber trackRaceDateRaceNumber = null;
+        Cancellation cancellation = null;
+        int index = 0;
+        while (index < page.size() &&
+                (index < PREVIEW_LINES || trackRaceDateRaceNumber == null)) {
+            String text = page.getText(index++);
+            if (trackRaceDateRaceNumber == null) {
+                trackRaceDateRaceNumber =
+                        TrackRaceDateRaceNumber.buildTrackRaceDateRaceNumber(text).orElse(null);
+            }
+            if (cancellation == null) {
+                cancellation = Cancellation.checkForCancellation(text).orElse(null);
+            }
+        }
+
+        if (trackRaceDateRaceNumber == null) {
+            throw new InvalidRaceException("Unable to detect a valid race track, date and number");
+        }
+
+        if (cancellation != null) {
+            return new ChartClassification(Kind.CANCELLED, trackRaceDateRaceNumber, cancellation,
+                    index);
+        }
+        return new ChartClassification(Kind.RACE, trackRaceDateRaceNumber,
+                Cancellation.notCancelled(), index);
+    }
+
+    /**
+     * The cancellation found when previewed or, for races, after checking the lines that were
+     * not previewed (a banner would almost always have been previewed, so this is a fallback)
+     */
+    public Cancellation getCancellation(final List<List<ChartCharacter>> lines) {
+        if (kind == Kind.CANCELLED || previewedLines >= lines.size()) {
+            return cancellation;
+        }
+        ChartPage page = ChartPage.of(lines);
+        for (int i = previewedLines; i < page.size(); i++) {
+            Optional<Cancellation> cancellation = Cancellation.checkForCancellation(
+                    page.getText(i));
+            if (cancellation.isPresent()) {
+                return cancellation.get();
+            }
+        }
+        return Cancellation.notCancelled();
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public TrackRaceDateRaceNumber getTrackRaceDateRaceNumber() {
+        return trackRaceDateRaceNumber;
+    }
+
+    @Override
+    public String toString() {
+        return "ChartClassification{" +
+                "kind=" + kind +
+                ", trackRaceDateRaceNumber=" + trackRaceDateRaceNumber +
+                ", cancellation=" + cancellation +
+                '}';
+    }
+}
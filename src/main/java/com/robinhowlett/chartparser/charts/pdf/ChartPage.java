@@ -0,0 +1,83 @@
+package com.robinhowlett.chartparser.charts.pdf;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The lines of characters of a single chart, with the text of each line (see
+ * {@link Chart#convertToText(List)}) computed at most once, when first needed, and shared by all
+ * of the section parsers that scan the chart's lines.
+ * <p>
+ * The lines themselves are not copied and must not be modified once wrapped.
+ */
+public class ChartPage extends AbstractList<List<ChartCharacter>> implements RandomAccess {
+    private final List<List<ChartCharacter>> lines;
+    private final String[] texts;
+
+    private ChartPage(List<List<ChartCharacter>> lines) {
+        this(lines, new String[lines.size()]);
+    }
+
+    /**
+     * @param texts the text of each line, or null for those not yet converted
+     */
+    ChartPage(List<List<ChartCharacter>> lines, String[] texts) {
+        this.lines = lines;
+        this.texts = texts;
+    }
+
+    /**
+     * Wraps the lines of a chart, or returns them unchanged if they are already a
+     * {@link ChartPage}, so that section parsers can be called with either
+     */
+    public static ChartPage of(List<List<ChartCharacter>> lines) {
+        if (lines instanceof ChartPage) {
+            return (ChartPage) lines;
+        }
+        return new ChartPage(lines);
+    }
+
+    @Override
+    public List<ChartCharacter> get(int index) {
+        return lines.get(index);
+    }
+
+    @Override
+    public int size() {
+        return texts.length;
+    }
+
+    /**
+     * The text of the line at this index, converting it on first use
+     */
+    public String getText(int index) {
+        String text = texts[index];
+        if (text == null) {
+            text = (lines instanceof ChartCharacterBuffer.Lines) ?
+                    ((ChartCharacterBuffer.Lines) lines).getText(index) :
+                    Chart.convertToText(lines.get(index));
+            texts[index] = text;
+        }
+        return text;
+    }
+
+    /**
+     * A view of the text of each line, each converted on first use
+     */
+    public List<String> getTexts() {
+        return new Texts();
+    }
+
+    private class Texts extends AbstractList<String> implements RandomAccess {
+        @Override
+        public String get(int index) {
+            return getText(index);
+        }
+
+        @Override
+        public int size() {
+            return texts.length;
+        }
+    }
+}
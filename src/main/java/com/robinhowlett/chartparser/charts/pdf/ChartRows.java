@@ -0,0 +1,151 @@
+package com.robinhowlett.chartparser.charts.pdf;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * The visual rows of a list of {@link ChartCharacter}s i.e. the characters grouped by their
+ * vertical position, found in a single pass. A line of a chart (see
+ * {@link ChartCharacterBuffer#getLines()}) may span several rows, such as the wagering grid,
+ * which is one line of the chart.
+ * <p>
+ * Each row is identified by the vertical position of its first character, and a character joins
+ * the nearest existing row within the tolerance, otherwise it starts a new row. Rows are found by
+ * bucketing the vertical positions by the tolerance, so only the rows of the neighbouring buckets
+ * are compared with each character.
+ */
+public class ChartRows extends AbstractList<List<ChartCharacter>> implements RandomAccess {
+    private final List<ChartCharacter> chartCharacters;
+    private final int[] rowOfCharacter;
+    private final int[] rowYDirAdj;
+    private final int[] rowStarts;
+    // the indexes of the characters, grouped by row
+    private final int[] rowCharacters;
+
+    private ChartRows(List<ChartCharacter> chartCharacters, int[] rowOfCharacter,
+            int[] rowYDirAdj, int numberOfRows) {
+        this.chartCharacters = chartCharacters;
+        this.rowOfCharacter = rowOfCharacter;
+        this.rowYDirAdj = rowYDirAdj;
+
+        rowStarts = new int[numberOfRows + 1];
+        for (int row : rowOfCharacter) {
+            rowStarts[row + 1]++;
+        }
+        for (int row = 0; row < numberOfRows; row++) {
+            rowStarts[row + 1] += rowStarts[row];
+        }
+        rowCharacters = new int[rowOfCharacter.length];
+        int[] next = new int[numberOfRows];
+        for (int i = 0; i < rowOfCharacter.length; i++) {
+            int row = rowOfCharacter[i];
+            rowCharacters[rowStarts[row] + next[row]++] = i;
+        }
+    }
+
+    /**
+     * The rows of characters at exactly the same vertical position
+     */
+    public static ChartRows of(List<ChartCharacter> chartCharacters) {
+        return of(chartCharacters, 0);
+    }
+
+    /**
+     * The rows of characters within the tolerance (in points) of the vertical position of each
+     * row's first character
+     */
+    public static ChartRows of(List<ChartCharacter> chartCharacters, double tolerance) {
+        int toleranceThousandths = Math.toIntExact(Chart.toThousandths(tolerance));
+        int bucketSize = toleranceThousandths + 1;
+
+        // a row's first character is more than the tolerance from every other row's, so there
+        // is at most one row per bucket
+        Map<Integer, Integer> rowsByBucket = new HashMap<>();
+        int[] rowOfCharacter = new int[chartCharacters.size()];
+        int[] rowYDirAdj = new int[Math.min(chartCharacters.size(), 16)];
+        int numberOfRows = 0;
+        for (int i = 0; i < chartCharacters.size(); i++) {
+            int yDirAdj = chartCharacters.get(i).getyDirAdjThousandths();
+            int bucket = Math.floorDiv(yDirAdj, bucketSize);
+
+            int row = -1;
+            long nearest = Long.MAX_VALUE;
+            for (int neighbour = bucket - 1; neighbour <= bucket + 1; neighbour++) {
+                Integer candidate = rowsByBucket.get(neighbour);
+                if (candidate != null) {
+                    long distance = Math.abs((long) yDirAdj - rowYDirAdj[candidate]);
+                    if (distance <= toleranceThousandths && (distance < nearest ||
+                            (distance == nearest && candidate < row))) {
+                        row = candidate;
+                        nearest = distance;
+                    }
+                }
+            }
+
+            if (row < 0) {
+                if (numberOfRows == rowYDirAdj.length) {
+                    rowYDirAdj = Arrays.copyOf(rowYDirAdj, numberOfRows * 2);
+                }
+                row = numberOfRows++;
+                rowYDirAdj[row] = yDirAdj;
+                rowsByBucket.put(bucket, row);
+            }
+            rowOfCharacter[i] = row;
+        }
+        return new ChartRows(chartCharacters, rowOfCharacter, rowYDirAdj, numberOfRows);
+    }
+
+    /**
+     * The characters of the row, in the order they were given
+     */
+    @Override
+    public List<ChartCharacter> get(int row) {
+        if (row < 0 || row >= size()) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", Rows: " + size());
+        }
+        return new AbstractList<ChartCharacter>() {
+            @Override
+            public ChartCharacter get(int index) {
+                return chartCharacters.get(rowCharacters[rowStarts[row] + index]);
+            }
+
+            @Override
+            public int size() {
+                return rowStarts[row + 1] - rowStarts[row];
+            }
+        };
+    }
+
+    /**
+     * The number of rows
+     */
+    @Override
+    public int size() {
+        return rowStarts.length - 1;
+    }
+
+    /**
+     * The vertical position of the row (that of its first character)
+     */
+    public double getyDirAdj(int row) {
+        return rowYDirAdj[row] / 1000.0;
+    }
+
+    /**
+     * The row of the character at this index
+     */
+    public int getRowOf(int index) {
+        return rowOfCharacter[index];
+    }
+
+    /**
+     * The index of the first character of the row
+     */
+    public int getRowStart(int row) {
+        return rowCharacters[rowStarts[row]];
+    }
+}
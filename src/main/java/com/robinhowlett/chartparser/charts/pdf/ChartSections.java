@@ -0,0 +1,275 @@
+package com.robinhowlett.chartparser.charts.pdf;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Routes the lines of a chart to the section parsers in a single pass, so that each parser only
+ * scans the lines of its own section rather than the whole chart.
+ * <p>
+ * Each {@link Section} is recognized by one or more anchors: literal text that every line the
+ * section's parser can match must contain. The anchors of all sections are found with a single
+ * multi-pattern (Aho-Corasick) matcher over the text of each line, and the lines containing a
+ * section's anchors are handed to its parser. As lines without the anchors would have been
+ * ignored by the parser anyway, the results are the same as parsing the whole chart.
+ * <p>
+ * Lines after the start of the first section that are labelled like a section (e.g.
+ * "Equipment: ...") but are not one that is recognized are reported by
+ * {@link #getUnrecognizedLines()}, rather than being silently skipped.
+ */
+public class ChartSections {
+    /**
+     * The sections that are routed by anchor; the race header, conditions and distance, and the
+     * running lines, at the top of the chart, are still parsed from the chart's lines
+     */
+    public enum Section {
+        PURSE(false, "Purse: $", "Available Money: $", "Includes: $", "Plus: $",
+                "Value of Race: $"),
+        WIND_SPEED_DIRECTION(false, "Wind Speed: "),
+        WEATHER_TRACK_CONDITION(false, "Weather: "),
+        POST_TIME_START_COMMENTS_TIMER(false, "Off at: "),
+        WINNER(false, "Winner:|", "Breeder:|"),
+        CLAIMED_HORSES(false, " Claimed Horse(s)"),
+        CLAIMING_PRICES(false, "Claiming Prices:"),
+        TRAINERS(false, "Trainers:|"),
+        OWNERS(false, "Owners:|"),
+        SCRATCHES(false, "Scratched Horse(s):"),
+        DISQUALIFICATIONS(false, "Disqualification(s):"),
+        WAGER_PAYOFF_POOLS(false, "Total WPS Pool: $"),
+        PAST_PERFORMANCE_RUNNING_LINE_PREVIEW(false, "Past Performance Running Line Preview"),
+        // the footnotes text follows the "Footnotes" line
+        FOOTNOTES(true, "Footnotes");
+
+        private final boolean continuesToEnd;
+        private final List<String> anchors;
+
+        Section(boolean continuesToEnd, String... anchors) {
+            this.continuesToEnd = continuesToEnd;
+            this.anchors = Arrays.asList(anchors);
+        }
+
+        public List<String> getAnchors() {
+            return anchors;
+        }
+    }
+
+    /**
+     * Labels of lines that are part of a recognized section, or are parsed from the running
+     * lines, without being one of its anchors
+     */
+    private static final Set<String> KNOWN_LABELS = new HashSet<>(Arrays.asList(
+            "Purse", "Available Money", "Includes", "Plus", "Value of Race", "Wind Speed",
+            "Weather", "Off at", "Fractional Times", "Split Times", "Run-Up", "Temporary Rail",
+            "Claiming Prices", "Scratched Horse(s)", "Disqualification(s)", "Total WPS Pool",
+            "Track Attendance", "Attendance", "Handle"));
+    private static final int MAX_LABEL_LENGTH = 40;
+
+    private static final AnchorMatcher ANCHOR_MATCHER = new AnchorMatcher(Section.values());
+
+    private final ChartPage page;
+    private final Map<Section, ChartPage> sections;
+    private final List<String> unrecognizedLines;
+
+    private ChartSections(ChartPage page, Map<Section, ChartPage> sections,
+            List<String> unrecognizedLines) {
+        this.page = page;
+        this.sections = sections;
+        this.unrecognizedLines = unrecognizedLines;
+    }
+
+    /**
+     * Reads the text of each of the chart's lines once, routing the lines to the section(s) whose
+     * anchors they contain
+     */
+    public static ChartSections of(List<List<ChartCharacter>> lines) {
+        ChartPage page = ChartPage.of(lines);
+        Section[] values = Section.values();
+        List<List<Integer>> indexes = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            indexes.add(new ArrayList<>());
+        }
+
+        List<String> unrecognizedLines = new ArrayList<>();
+        boolean sectionsStarted = false;
+        for (int i = 0; i < page.size(); i++) {
+            String text = page.getText(i);
+            int matches = ANCHOR_MATCHER.match(text);
+            for (Section section : values) {
+                if ((matches & (1 << section.ordinal())) != 0) {
+                    indexes.get(section.ordinal()).add(i);
+                }
+            }
+
+            if (matches != 0) {
+                sectionsStarted = true;
+            } else if (sectionsStarted && indexes.get(Section.FOOTNOTES.ordinal()).isEmpty()) {
+                String label = getLabel(text);
+                if (label != null && !KNOWN_LABELS.contains(label)) {
+                    unrecognizedLines.add(text);
+                }
+            }
+        }
+
+        Map<Section, ChartPage> sections = new EnumMap<>(Section.class);
+        for (Section section : values) {
+            List<Integer> sectionIndexes = indexes.get(section.ordinal());
+            if (section.continuesToEnd && !sectionIndexes.isEmpty()) {
+                int from = sectionIndexes.get(0);
+                sectionIndexes = new ArrayList<>(page.size() - from);
+                for (int i = from; i < page.size(); i++) {
+                    sectionIndexes.add(i);
+                }
+            }
+            sections.put(section, select(page, sectionIndexes));
+        }
+
+        return new ChartSections(page, sections, unrecognizedLines);
+    }
+
+    // the lines are only read by the section's parser
+    private static ChartPage select(ChartPage page, List<Integer> indexes) {
+        String[] texts = new String[indexes.size()];
+        for (int i = 0; i < indexes.size(); i++) {
+            texts[i] = page.getText(indexes.get(i));
+        }
+        return new ChartPage(new AbstractList<List<ChartCharacter>>() {
+            @Override
+            public List<ChartCharacter> get(int index) {
+                return page.get(indexes.get(index));
+            }
+
+            @Override
+            public int size() {
+                return indexes.size();
+            }
+        }, texts);
+    }
+
+    /**
+     * The text before a leading ':' if it looks like a section label i.e. starts with a capital
+     * letter and only contains letters, spaces and "()'/-", otherwise null
+     */
+    static String getLabel(String text) {
+        if (text.isEmpty() || !Character.isUpperCase(text.charAt(0))) {
+            return null;
+        }
+        int length = Math.min(text.length(), MAX_LABEL_LENGTH);
+        for (int i = 1; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == ':') {
+                return text.substring(0, i);
+            }
+            if (!Character.isLetter(c) && " ()'/-".indexOf(c) < 0) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * All of the chart's lines
+     */
+    public ChartPage getPage() {
+        return page;
+    }
+
+    /**
+     * The lines routed to this section, in chart order (empty if the section is not present)
+     */
+    public ChartPage getLines(Section section) {
+        return sections.get(section);
+    }
+
+    /**
+     * The text of the lines that are labelled like a section but not recognized as one
+     */
+    public List<String> getUnrecognizedLines() {
+        return Collections.unmodifiableList(unrecognizedLines);
+    }
+
+    /**
+     * Finds which sections' anchors occur in a line of text in a single pass over it
+     */
+    static class AnchorMatcher {
+        private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+        private final int[] failures;
+        private final int[] outputs;
+
+        AnchorMatcher(Section[] sections) {
+            List<Integer> anchorOutputs = new ArrayList<>();
+            transitions.add(new HashMap<>());
+            anchorOutputs.add(0);
+            for (Section section : sections) {
+                for (String anchor : section.getAnchors()) {
+                    int state = 0;
+                    for (int i = 0; i < anchor.length(); i++) {
+                        Integer next = transitions.get(state).get(anchor.charAt(i));
+                        if (next == null) {
+                            next = transitions.size();
+                            transitions.add(new HashMap<>());
+                            anchorOutputs.add(0);
+                            transitions.get(state).put(anchor.charAt(i), next);
+                        }
+                        state = next;
+                    }
+                    anchorOutputs.set(state, anchorOutputs.get(state) | 1 << section.ordinal());
+                }
+            }
+
+            failures = new int[transitions.size()];
+            outputs = new int[transitions.size()];
+            for (int state = 0; state < outputs.length; state++) {
+                outputs[state] = anchorOutputs.get(state);
+            }
+
+            // breadth-first, so each state's failure state is complete before its children's (the
+            // root's children fail back to the root)
+            Queue<Integer> queue = new ArrayDeque<>(transitions.get(0).values());
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                for (Map.Entry<Character, Integer> transition : transitions.get(state)
+                        .entrySet()) {
+                    int child = transition.getValue();
+                    int failure = failures[state];
+                    while (failure != 0 &&
+                            !transitions.get(failure).containsKey(transition.getKey())) {
+                        failure = failures[failure];
+                    }
+                    Integer next = transitions.get(failure).get(transition.getKey());
+                    failures[child] = (next != null ? next : 0);
+                    outputs[child] |= outputs[failures[child]];
+                    queue.add(child);
+                }
+            }
+        }
+
+        /**
+         * @return a bit set of the ordinals of the sections whose anchors occur in the text
+         */
+        int match(String text) {
+            int matches = 0;
+            int state = 0;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                Integer next = transitions.get(state).get(c);
+                while (next == null && state != 0) {
+                    state = failures[state];
+                    next = transitions.get(state).get(c);
+                }
+                state = (next != null ? next : 0);
+                matches |= outputs[state];
+            }
+            return matches;
+        }
+    }
+}
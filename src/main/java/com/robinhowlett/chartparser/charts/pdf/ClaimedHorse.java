@@ -38,9 +38,8 @@ public class ClaimedHorse {
     }
 
     public static List<ClaimedHorse> parse(List<List<ChartCharacter>> lines) {
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
-            Matcher matcher = CLAIMED_HORSES.matcher(text);
+        for (String text : ChartPage.of(lines).getTexts()) {
+            Matcher matcher = CLAIMED_HORSES.matcher(PageDeadline.guard(text));
             if (matcher.find()) {
                 return parseClaimedHorses(text);
             }
@@ -82,7 +81,7 @@ public class ClaimedHorse {
     }
 
     private static ClaimedHorse parseClaimedHorse(String claim, ClaimedHorse previous) {
-        Matcher matcher = CLAIMED_HORSE.matcher(claim);
+        Matcher matcher = CLAIMED_HORSE.matcher(PageDeadline.guard(claim));
         if (matcher.find()) {
             String horseName = matcher.group(1);
             String newTrainerName = matcher.group(3);
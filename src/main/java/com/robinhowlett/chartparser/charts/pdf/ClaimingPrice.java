@@ -1,12 +1,12 @@
 package com.robinhowlett.chartparser.charts.pdf;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.robinhowlett.chartparser.charts.text.ChartTokens;
 import com.robinhowlett.chartparser.exceptions.ChartParserException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -14,8 +14,6 @@ import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import static java.util.Locale.US;
-
 /**
  * Parses and stores the program number, horse name, and claiming price for each {@link Starter} who
  * was available to be claimed
@@ -42,9 +40,8 @@ public class ClaimingPrice {
 
     public static List<ClaimingPrice> parse(List<List<ChartCharacter>> lines)
             throws ChartParserException {
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
-            Matcher matcher = CLAIMING_PRICES.matcher(text);
+        for (String text : ChartPage.of(lines).getTexts()) {
+            Matcher matcher = CLAIMING_PRICES.matcher(PageDeadline.guard(text));
             if (matcher.find()) {
                 return parseClaimingPrices(text);
             }
@@ -73,14 +70,14 @@ public class ClaimingPrice {
     }
 
     private static ClaimingPrice parseClaimingPrice(String text) throws ChartParserException {
-        Matcher matcher = CLAIMING_PRICE.matcher(text);
+        Matcher matcher = CLAIMING_PRICE.matcher(PageDeadline.guard(text));
         if (matcher.find()) {
             String programNumber = matcher.group(1);
             String horseName = matcher.group(2);
             String claimingPriceAmount = matcher.group(3);
             try {
                 int claimingPriceInDollars =
-                        NumberFormat.getNumberInstance(US).parse(claimingPriceAmount).intValue();
+                        ChartTokens.parseIntAmount(claimingPriceAmount);
 
                 return new ClaimingPrice(programNumber, new Horse(horseName),
                         claimingPriceInDollars);
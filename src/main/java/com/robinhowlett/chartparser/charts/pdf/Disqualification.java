@@ -36,9 +36,8 @@ public class Disqualification {
 
     public static List<Disqualification> parse(List<List<ChartCharacter>> lines)
             throws ChartParserException {
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
-            Matcher matcher = DISQUALIFICATIONS.matcher(text);
+        for (String text : ChartPage.of(lines).getTexts()) {
+            Matcher matcher = DISQUALIFICATIONS.matcher(PageDeadline.guard(text));
             if (matcher.find()) {
                 return parseDisqualifications(text);
             }
@@ -60,7 +59,7 @@ public class Disqualification {
     }
 
     static Disqualification parseDisqualification(String text) throws ChartParserException {
-        Matcher matcher = DISQUALIFICATION.matcher(text);
+        Matcher matcher = DISQUALIFICATION.matcher(PageDeadline.guard(text));
         if (matcher.find()) {
             String program = matcher.group(1);
             String horseName = matcher.group(2);
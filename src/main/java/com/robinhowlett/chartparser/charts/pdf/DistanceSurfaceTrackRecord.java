@@ -16,6 +16,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -71,6 +72,44 @@ public class DistanceSurfaceTrackRecord {
             Pattern.compile("^(about)? ?((\\w+) thousand)? ?(([\\w]+) hundred ?( ?and )?([\\w " +
                     "]+)?)?$");
 
+    // the descriptions of the most commonly run distances, resolved up front
+    private static final List<String> COMMON_DISTANCES = Arrays.asList(
+            "Four Furlongs", "Four And One Half Furlongs", "Five Furlongs",
+            "Five And One Half Furlongs", "Six Furlongs", "Six And One Half Furlongs",
+            "Seven Furlongs", "Seven And One Half Furlongs", "About Five Furlongs",
+            "About Five And One Half Furlongs", "About Six And One Half Furlongs",
+            "About Seven And One Half Furlongs", "One Mile", "About One Mile",
+            "One Mile And Forty Yards", "One Mile And Seventy Yards",
+            "One And One Sixteenth Miles", "About One And One Sixteenth Miles",
+            "One And One Eighth Miles", "About One And One Eighth Miles",
+            "One And Three Sixteenths Miles", "One And One Fourth Miles",
+            "One And Three Eighths Miles", "One And One Half Miles", "Two Miles",
+            "Two Hundred Twenty Yards", "Two Hundred And Twenty Yards", "Two Hundred Fifty Yards",
+            "Two Hundred And Fifty Yards", "Three Hundred Yards", "Three Hundred Thirty Yards",
+            "Three Hundred And Thirty Yards", "Three Hundred Fifty Yards",
+            "Three Hundred And Fifty Yards", "Three Hundred Seventy Yards",
+            "Three Hundred And Seventy Yards", "Four Hundred Yards", "Four Hundred Forty Yards",
+            "Four Hundred And Forty Yards", "Five Hundred Fifty Yards",
+            "Five Hundred And Fifty Yards", "Eight Hundred Seventy Yards",
+            "Eight Hundred And Seventy Yards");
+
+    // the most descriptions resolved, beyond which others are resolved each time they are seen
+    private static final int MAX_RESOLVED_DISTANCES = 1024;
+
+    // the RaceDistance of each description resolved so far, as a template copied for each race
+    private static final Map<String, RaceDistance> RESOLVED_DISTANCES = new ConcurrentHashMap<>();
+
+    static {
+        for (String distanceDescription : COMMON_DISTANCES) {
+            try {
+                RESOLVED_DISTANCES.put(distanceDescription,
+                        resolveRaceDistance(distanceDescription));
+            } catch (ChartParserException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
     @JsonProperty("distance")
     private final RaceDistance raceDistance;
     private final String surface;
@@ -125,18 +164,18 @@ public class DistanceSurfaceTrackRecord {
         boolean found = false;
         StringBuilder distanceSurfaceTrackRecordBuilder = new StringBuilder();
         String prefix = "";
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
+        for (String text : ChartPage.of(lines).getTexts()) {
             if (found) {
-                Matcher purseMatcher = PURSE_PATTERN.matcher(text);
-                Matcher currencyMatcher = FOREIGN_CURRENCY_DISCLAIMER.matcher(text);
+                Matcher purseMatcher = PURSE_PATTERN.matcher(PageDeadline.guard(text));
+                Matcher currencyMatcher =
+                        FOREIGN_CURRENCY_DISCLAIMER.matcher(PageDeadline.guard(text));
                 if (purseMatcher.find() || currencyMatcher.find()) {
                     break;
                 } else {
                     distanceSurfaceTrackRecordBuilder.append(prefix).append(text);
                 }
             }
-            Matcher matcher = DIST_SURF_RECORD_PATTERN.matcher(text);
+            Matcher matcher = DIST_SURF_RECORD_PATTERN.matcher(PageDeadline.guard(text));
             if (matcher.find() && isValidDistanceText(text)) {
                 found = true;
                 // prefix a space at the start of each line (except for the first)
@@ -165,7 +204,7 @@ public class DistanceSurfaceTrackRecord {
 
     static DistanceSurfaceTrackRecord parseDistanceSurface(String text)
             throws ChartParserException {
-        Matcher matcher = DIST_SURF_RECORD_PATTERN.matcher(text);
+        Matcher matcher = DIST_SURF_RECORD_PATTERN.matcher(PageDeadline.guard(text));
         if (matcher.find()) {
             String distanceDescription = matcher.group(1);
             String course = matcher.group(4).trim();
@@ -198,8 +237,25 @@ public class DistanceSurfaceTrackRecord {
         return null;
     }
 
+    /**
+     * A new {@link RaceDistance} for the description, copied from the one resolved when the
+     * description was first seen (descriptions that cannot be resolved are not remembered)
+     */
     static RaceDistance parseRaceDistance(String distanceDescription) throws ChartParserException {
-        String lcDistanceDescription = distanceDescription.toLowerCase();
+        RaceDistance raceDistance = RESOLVED_DISTANCES.get(distanceDescription);
+        if (raceDistance == null) {
+            raceDistance = resolveRaceDistance(distanceDescription);
+            if (RESOLVED_DISTANCES.size() < MAX_RESOLVED_DISTANCES) {
+                RESOLVED_DISTANCES.putIfAbsent(distanceDescription, raceDistance);
+            }
+        }
+        return new RaceDistance(raceDistance);
+    }
+
+    static RaceDistance resolveRaceDistance(String distanceDescription)
+            throws ChartParserException {
+        CharSequence lcDistanceDescription =
+                PageDeadline.guard(distanceDescription.toLowerCase());
         Matcher milesOnlyMatcher = MILES_ONLY_PATTERN.matcher(lcDistanceDescription);
         if (milesOnlyMatcher.find()) {
             return forMiles(distanceDescription, milesOnlyMatcher);
@@ -623,6 +679,16 @@ public class DistanceSurfaceTrackRecord {
             this(text, compact, exact, feet, null, null);
         }
 
+        private RaceDistance(RaceDistance raceDistance) {
+            this.text = raceDistance.text;
+            this.compact = raceDistance.compact;
+            this.exact = raceDistance.exact;
+            this.feet = raceDistance.feet;
+            this.furlongs = raceDistance.furlongs;
+            this.runUp = raceDistance.runUp;
+            this.tempRail = raceDistance.tempRail;
+        }
+
         @JsonCreator
         public RaceDistance(String text, String compact, boolean exact, int feet, Integer runUp,
                 Integer tempRail) {
@@ -636,13 +702,7 @@ public class DistanceSurfaceTrackRecord {
         }
 
         public static String lookupCompact(int feet) {
-
-
-            if (COMPACTS.containsKey(feet)) {
-                return COMPACTS.get(feet);
-            }
-
-            return null;
+            return COMPACTS.get(feet);
         }
 
         public String getText() {
@@ -20,15 +20,17 @@ public class Footnotes {
     public static String parse(List<List<ChartCharacter>> lines) {
         boolean footnotesFound = false;
         List<ChartCharacter> footnotes = new ArrayList<>();
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
+        ChartPage page = ChartPage.of(lines);
+        for (int i = 0; i < page.size(); i++) {
+            List<ChartCharacter> line = page.get(i);
+            String text = page.getText(i);
 
-            Matcher matcher = COPYRIGHT_PATTERN.matcher(text);
+            Matcher matcher = COPYRIGHT_PATTERN.matcher(PageDeadline.guard(text));
             if (matcher.find()) {
                 footnotesFound = false;
             }
 
-            matcher = HANDLE.matcher(text);
+            matcher = HANDLE.matcher(PageDeadline.guard(text));
             if (matcher.find()) {
                 footnotesFound = false;
             }
@@ -37,7 +39,7 @@ public class Footnotes {
                 footnotes.addAll(line);
             }
 
-            matcher = FOOTNOTES.matcher(text);
+            matcher = FOOTNOTES.matcher(PageDeadline.guard(text));
             if (matcher.find()) {
                 footnotesFound = true;
             }
@@ -29,7 +29,8 @@ public class FractionalTimes {
                 if (text.startsWith("Fractional Times:") || text.startsWith("Final Time:")) {
                     runningLines.remove(i);
                     fractionalTimesCandidate = text.replaceAll(System.lineSeparator(), "");
-                    Matcher fractionalTimes = FRAC_TIMES_PATTERN.matcher(fractionalTimesCandidate);
+                    Matcher fractionalTimes = FRAC_TIMES_PATTERN.matcher(
+                            PageDeadline.guard(fractionalTimesCandidate));
                     if (fractionalTimes.find()) {
                         if (fractionalTimes.group(1) != null) {
                             String timesAtFractions = fractionalTimes.group(2);
@@ -31,9 +31,8 @@ public class Owner {
     }
 
     public static List<Owner> parse(List<List<ChartCharacter>> lines) {
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
-            Matcher matcher = OWNERS_PATTERN.matcher(text);
+        for (String text : ChartPage.of(lines).getTexts()) {
+            Matcher matcher = OWNERS_PATTERN.matcher(PageDeadline.guard(text));
             if (matcher.find()) {
                 return parseOwners(text);
             }
@@ -59,7 +58,7 @@ public class Owner {
     }
 
     private static Owner parseOwner(String text) {
-        Matcher matcher = OWNER_PATTERN.matcher(text);
+        Matcher matcher = OWNER_PATTERN.matcher(PageDeadline.guard(text));
         if (matcher.find()) {
             String programNumber = matcher.group(1);
             String ownerName = matcher.group(2);
@@ -0,0 +1,144 @@
+package com.robinhowlett.chartparser.charts.pdf;
+
+import com.robinhowlett.chartparser.exceptions.PageTimeoutException;
+
+import java.time.Duration;
+
+/**
+ * The time left to parse a single chart, so that a malformed chart cannot hold up the charts
+ * after it; unlimited without a budget.
+ * <p>
+ * The budget is checked as each {@link #step(String)} of parsing starts and, while the deadline is
+ * started on the parsing thread, within the section parsers' regular expressions: each matches
+ * against its text {@link #guard(CharSequence) guarded} by the deadline, which aborts the match
+ * with a {@link PageDeadline.Exceeded} once the budget is spent. A runaway match is therefore cut
+ * off, rather than only its result discarded after it completes.
+ */
+public final class PageDeadline implements AutoCloseable {
+
+    private static final ThreadLocal<PageDeadline> CURRENT = new ThreadLocal<>();
+    // the number of characters a guarded match reads between checks of the clock
+    private static final int CHARS_PER_CHECK = 1024;
+
+    private final Duration budget;
+    private final long budgetNanos;
+    private final long start;
+    private final PageDeadline previous;
+    private String step;
+
+    private PageDeadline(Duration budget, PageDeadline previous) {
+        this.budget = budget;
+        this.budgetNanos = (budget != null ? budget.toNanos() : Long.MAX_VALUE);
+        this.start = System.nanoTime();
+        this.previous = previous;
+    }
+
+    /**
+     * Starts the deadline on the current thread (until closed); a null budget is unlimited
+     */
+    public static PageDeadline start(Duration budget) {
+        PageDeadline deadline = new PageDeadline(budget, CURRENT.get());
+        if (budget != null) {
+            CURRENT.set(deadline);
+        }
+        return deadline;
+    }
+
+    /**
+     * The text, guarded by the deadline started on the current thread (if any) so that matching a
+     * regular expression against it is aborted once the budget is spent
+     *
+     * @throws Exceeded from the returned text's {@link CharSequence#charAt(int)} once the budget
+     *                  is spent
+     */
+    public static CharSequence guard(CharSequence text) {
+        PageDeadline deadline = CURRENT.get();
+        return (deadline != null ? new GuardedText(text, deadline) : text);
+    }
+
+    /**
+     * Checks that the budget was not exceeded by the step before (if any), then starts the next
+     * step
+     */
+    public void step(String step) throws PageTimeoutException {
+        if (this.step != null) {
+            check();
+        }
+        this.step = step;
+    }
+
+    public void check() throws PageTimeoutException {
+        long elapsed = System.nanoTime() - start;
+        if (elapsed > budgetNanos) {
+            throw new PageTimeoutException(budget, Duration.ofNanos(elapsed), step);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Thrown from within a guarded regular expression match once the budget is spent; unchecked
+     * so that it passes through the section parsers unchanged
+     */
+    public static class Exceeded extends RuntimeException {
+        private Exceeded(PageTimeoutException cause) {
+            super(cause.getMessage(), cause, false, false);
+        }
+
+        @Override
+        public synchronized PageTimeoutException getCause() {
+            return (PageTimeoutException) super.getCause();
+        }
+    }
+
+    /**
+     * Text whose characters can only be read within the deadline
+     */
+    private static class GuardedText implements CharSequence {
+        private final CharSequence text;
+        private final PageDeadline deadline;
+        private int charsUntilCheck = CHARS_PER_CHECK;
+
+        private GuardedText(CharSequence text, PageDeadline deadline) {
+            this.text = text;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (--charsUntilCheck <= 0) {
+                charsUntilCheck = CHARS_PER_CHECK;
+                try {
+                    deadline.check();
+                } catch (PageTimeoutException e) {
+                    throw new Exceeded(e);
+                }
+            }
+            return text.charAt(index);
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return text.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
@@ -36,9 +36,8 @@ public class PostTimeStartCommentsTimer {
     }
 
     public static Optional<PostTimeStartCommentsTimer> parse(List<List<ChartCharacter>> lines) {
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
-            Matcher matcher = POST_START_TIMER_PATTERN.matcher(text);
+        for (String text : ChartPage.of(lines).getTexts()) {
+            Matcher matcher = POST_START_TIMER_PATTERN.matcher(PageDeadline.guard(text));
             if (matcher.find()) {
                 String weather = matcher.group(1);
                 String trackCondition = matcher.group(2);
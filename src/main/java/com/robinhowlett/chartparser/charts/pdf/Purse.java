@@ -4,12 +4,12 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.robinhowlett.chartparser.charts.text.ChartTokens;
 import com.robinhowlett.chartparser.exceptions.ChartParserException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.List;
@@ -20,8 +20,6 @@ import java.util.stream.Collectors;
 import static com.robinhowlett.chartparser.charts.pdf.Purse.EnhancementType.INCLUDES;
 import static com.robinhowlett.chartparser.charts.pdf.Purse.EnhancementType.PLUS;
 
-import static java.util.Locale.US;
-
 /**
  * Parses and stores the value amount, textual description, and any other additional information
  * specific to or enhancing the value
@@ -40,6 +38,8 @@ public class Purse {
             Pattern.compile("Includes: (\\$.+)");
     private static final Pattern PLUS_PATTERN =
             Pattern.compile("Plus: (\\$.+)");
+    private static final Pattern ENHANCEMENTS_SEPARATOR =
+            Pattern.compile(", (?=(Includes|Plus): \\$)");
     private static final Pattern VALUE_OF_RACE_PATTERN =
             Pattern.compile("Value of Race: (\\$[\\s\\S]+)");
 
@@ -55,7 +55,6 @@ public class Purse {
 
     public Purse() { }
 
-    @JsonCreator
     public Purse(Integer value, String text, String availableMoney, String valueOfRace,
             List<PurseEnhancement> enhancementsList) {
         this.value = value;
@@ -65,10 +64,25 @@ public class Purse {
         this.enhancementsList = enhancementsList;
     }
 
+    // the enhancements are serialized as a single String (see getEnhancements())
+    @JsonCreator
+    static Purse create(Integer value, String text, String availableMoney, String enhancements,
+            String valueOfRace) {
+        List<PurseEnhancement> enhancementsList = new ArrayList<>();
+        if (enhancements != null) {
+            for (String enhancement : ENHANCEMENTS_SEPARATOR.split(enhancements)) {
+                int separator = enhancement.indexOf(": ");
+                enhancementsList.add(new PurseEnhancement(
+                        EnhancementType.forChartValue(enhancement.substring(0, separator)),
+                        enhancement.substring(separator + 2)));
+            }
+        }
+        return new Purse(value, text, availableMoney, valueOfRace, enhancementsList);
+    }
+
     public static Purse parse(final List<List<ChartCharacter>> lines) throws PurseParseException {
         Purse purse = new Purse();
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
+        for (String text : ChartPage.of(lines).getTexts()) {
             purse = parsePurseText(text, purse);
         }
 
@@ -76,14 +90,14 @@ public class Purse {
     }
 
     static Purse parsePurseText(String text, Purse purse) throws PurseParseException {
-        Matcher matcher = PURSE_PATTERN.matcher(text);
+        Matcher matcher = PURSE_PATTERN.matcher(PageDeadline.guard(text));
         if (matcher.find()) {
             String purseText = matcher.group(1);
 
             String purseNumber = matcher.group(2);
             Integer purseAmount = null;
             try {
-                purseAmount = NumberFormat.getNumberInstance(US).parse(purseNumber).intValue();
+                purseAmount = ChartTokens.parseIntAmount(purseNumber);
                 purse.setValue(purseAmount);
                 purse.setText(purseText);
             } catch (ParseException e) {
@@ -92,25 +106,25 @@ public class Purse {
             }
         }
 
-        matcher = AVAILABLE_MONEY_PATTERN.matcher(text);
+        matcher = AVAILABLE_MONEY_PATTERN.matcher(PageDeadline.guard(text));
         if (matcher.find()) {
             String availableMoneyText = matcher.group(1);
             purse.setAvailableMoney(availableMoneyText);
         }
 
-        matcher = INCLUDES_PATTERN.matcher(text);
+        matcher = INCLUDES_PATTERN.matcher(PageDeadline.guard(text));
         if (matcher.find()) {
             String includesText = matcher.group(1);
             purse.enhancementsList.add(new PurseEnhancement(INCLUDES, includesText));
         }
 
-        matcher = PLUS_PATTERN.matcher(text);
+        matcher = PLUS_PATTERN.matcher(PageDeadline.guard(text));
         if (matcher.find()) {
             String plusText = matcher.group(1);
             purse.enhancementsList.add(new PurseEnhancement(PLUS, plusText));
         }
 
-        matcher = VALUE_OF_RACE_PATTERN.matcher(text);
+        matcher = VALUE_OF_RACE_PATTERN.matcher(PageDeadline.guard(text));
         if (matcher.find()) {
             String valueOfRaceText = matcher.group(1);
             valueOfRaceText = valueOfRaceText.replaceAll(System.lineSeparator(), " ");
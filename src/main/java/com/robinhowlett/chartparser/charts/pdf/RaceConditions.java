@@ -5,9 +5,9 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.robinhowlett.chartparser.charts.text.ChartTokens;
 import com.robinhowlett.chartparser.exceptions.ChartParserException;
 
-import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.List;
 import java.util.regex.Matcher;
@@ -17,10 +17,6 @@ import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
 import static com.robinhowlett.chartparser.charts.pdf.DistanceSurfaceTrackRecord
         .DIST_SURF_RECORD_PATTERN;
 import static com.robinhowlett.chartparser.charts.pdf.RaceRestrictions.ALL_SEXES;
-import static com.robinhowlett.chartparser.charts.pdf.RaceTypeNameBlackTypeBreed
-        .RACE_TYPE_NAME_GRADE_BREED;
-
-import static java.util.Locale.US;
 
 /**
  * Parses and stores the textual description of the race conditions and, if applicable, the minimum
@@ -61,10 +57,9 @@ public class RaceConditions {
         boolean found = false;
         StringBuilder raceConditionsBuilder = new StringBuilder();
         String prefix = "";
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
+        for (String text : ChartPage.of(lines).getTexts()) {
             if (found) {
-                Matcher matcher = DIST_SURF_RECORD_PATTERN.matcher(text);
+                Matcher matcher = DIST_SURF_RECORD_PATTERN.matcher(PageDeadline.guard(text));
                 if (matcher.find() && DistanceSurfaceTrackRecord.isValidDistanceText(text)) {
                     break;
                 } else {
@@ -73,8 +68,7 @@ public class RaceConditions {
                     prefix = " ";
                 }
             }
-            Matcher matcher = RACE_TYPE_NAME_GRADE_BREED.matcher(text);
-            if (matcher.find()) {
+            if (RaceTypeNameBlackTypeBreed.findRaceTypeNameBlackTypeBreed(text) != null) {
                 found = true;
             }
         }
@@ -272,13 +266,13 @@ public class RaceConditions {
 
         static ClaimingPriceRange parse(String raceConditions) throws ChartParserException {
             Integer maxClaim = null, minClaim = null;
-            Matcher matcher = CLAIMING_PRICE_PATTERN.matcher(raceConditions);
+            Matcher matcher = CLAIMING_PRICE_PATTERN.matcher(PageDeadline.guard(raceConditions));
             if (matcher.find()) {
                 String maxClaimAmount = matcher.group(1);
                 if (maxClaimAmount != null) {
                     try {
                         maxClaim =
-                                NumberFormat.getNumberInstance(US).parse(maxClaimAmount).intValue();
+                                ChartTokens.parseIntAmount(maxClaimAmount);
                     } catch (ParseException e) {
                         throw new ChartParserException(String.format("Unable to parse a max claim" +
                                 " price value from text: %s", maxClaimAmount), e);
@@ -289,7 +283,7 @@ public class RaceConditions {
                 if (minClaimAmount != null) {
                     try {
                         minClaim =
-                                NumberFormat.getNumberInstance(US).parse(minClaimAmount).intValue();
+                                ChartTokens.parseIntAmount(minClaimAmount);
                     } catch (ParseException e) {
                         throw new ChartParserException(String.format("Unable to parse a min claim" +
                                 " price value from text: %s", minClaimAmount), e);
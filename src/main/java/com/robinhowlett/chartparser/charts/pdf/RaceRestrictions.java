@@ -186,7 +186,7 @@ public class RaceRestrictions {
         String text = cleanUpText(raceConditionsText);
 
         // 9. extract parenthesis and pattern match for (C) or (S) or (SNW...) or (NW1...)
-        Matcher parenMatcher = PARENTHESES_TEXT.matcher(text);
+        Matcher parenMatcher = PARENTHESES_TEXT.matcher(PageDeadline.guard(text));
         List<String> textInParentheses = new ArrayList<>();
         while (parenMatcher.find()) {
             textInParentheses.add(parenMatcher.group());
@@ -261,7 +261,7 @@ public class RaceRestrictions {
 
     private static RaceRestrictionCodes parseRestrictionsCode(List<String> matches) {
         for (String match : matches) {
-            Matcher codeMatcher = RESTRICTIONS_CODE.matcher(match);
+            Matcher codeMatcher = RESTRICTIONS_CODE.matcher(PageDeadline.guard(match));
             if (codeMatcher.find()) {
                 if (codeMatcher.group(1) != null) {
                     // complex, compound, combination (?)
@@ -299,7 +299,7 @@ public class RaceRestrictions {
                 continue;
             }
 
-            Matcher weightMatcher = WEIGHT_DETECTION.matcher(condition);
+            Matcher weightMatcher = WEIGHT_DETECTION.matcher(PageDeadline.guard(condition));
             if (weightMatcher.find()) {
                 weightDetected = true;
             }
@@ -332,12 +332,12 @@ public class RaceRestrictions {
         int agePosition = Integer.MAX_VALUE;
         int sexPosition = Integer.MAX_VALUE;
 
-        Matcher matcher = AGES_PATTERN.matcher(condition);
+        Matcher matcher = AGES_PATTERN.matcher(PageDeadline.guard(condition));
         if (matcher.find()) {
             agePosition = matcher.start();
         }
 
-        matcher = SEXES_PATTERN.matcher(condition);
+        matcher = SEXES_PATTERN.matcher(PageDeadline.guard(condition));
         if (matcher.find()) {
             sexPosition = matcher.start();
         }
@@ -354,7 +354,7 @@ public class RaceRestrictions {
     private static RaceRestrictions createRaceRestrictionsFromConditions(
             RaceRestrictions raceRestrictions, String conditions,
             RaceRestrictionCodes raceRestrictionCodes, AgeSexPattern ageSexPattern) {
-        Matcher matcher = ageSexPattern.getPattern().matcher(conditions);
+        Matcher matcher = ageSexPattern.getPattern().matcher(PageDeadline.guard(conditions));
         if (matcher.matches()) {
             // sexes
             int sexes = getBitwiseSexesValue(matcher, ageSexPattern.getSexOffset());
@@ -8,12 +8,11 @@ import com.robinhowlett.chartparser.exceptions.ChartParserException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
 
@@ -80,10 +79,11 @@ public class RaceTypeNameBlackTypeBreed {
         RACE_TYPE_CODES = Collections.unmodifiableMap(raceCodes);
     }
 
-    static final Pattern RACE_TYPE_NAME_GRADE_BREED =
-            Pattern.compile("^(" + String.join("|", RACE_TYPE_CODES.keySet()) + ")\\s+(.+?)?\\s?" +
-                    "(Grade ([123])|Listed|Black Type)?\\s*-\\s*(Thoroughbred|Quarter " +
-                    "Horse|Arabian|Mixed)$");
+    private static final List<String> BLACK_TYPES =
+            Arrays.asList("Grade 1", "Grade 2", "Grade 3", "Listed", "Black Type");
+    private static final List<String> BREEDS =
+            Arrays.asList("Thoroughbred", "Quarter Horse", "Arabian", "Mixed");
+    private static final String LINE_TERMINATORS = "\n\r\u0085\u2028\u2029";
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RaceTypeNameBlackTypeBreed.class);
 
@@ -128,8 +128,7 @@ public class RaceTypeNameBlackTypeBreed {
 
     public static RaceTypeNameBlackTypeBreed parse(List<List<ChartCharacter>> lines)
             throws Breed.NoMatchingBreedException, RaceTypeNameOrBreedNotIdentifiable {
-        for (List<ChartCharacter> line : lines) {
-            String rawText = Chart.convertToText(line);
+        for (String rawText : ChartPage.of(lines).getTexts()) {
             RaceTypeNameBlackTypeBreed raceTypeNameGradeBreed =
                     parseRaceTypeNameBlackTypeBreed(rawText);
             if (raceTypeNameGradeBreed != null) {
@@ -147,33 +146,139 @@ public class RaceTypeNameBlackTypeBreed {
             text = text.replace("Claiming stake ", "CLAIMING STAKES ");
         }
 
-        Matcher matcher = RACE_TYPE_NAME_GRADE_BREED.matcher(text);
-        if (matcher.find()) {
-            String breedText = matcher.group(5);
-            Breed breed = Breed.forChartValue(breedText);
-            String type = matcher.group(1);
-            if (type == null) {
-                LOGGER.warn("A race type was not found from text: " + text);
-            } else {
-                type = type.trim();
-            }
+        int[] groups = findRaceTypeNameBlackTypeBreed(text);
+        if (groups != null) {
+            Breed breed = Breed.forChartValue(text.substring(groups[7], groups[8]));
+            String type = text.substring(groups[0], groups[1]);
 
             Integer grade = null;
-            String blackType = matcher.group(3);
-            if (blackType != null) {
-                String gradeText = matcher.group(4);
-                if (gradeText != null) {
-                    grade = Integer.parseInt(gradeText);
+            String blackType = null;
+            if (groups[4] >= 0) {
+                blackType = text.substring(groups[4], groups[5]);
+                if (groups[6] >= 0) {
+                    grade = Integer.parseInt(text.substring(groups[6], groups[6] + 1));
                 }
             }
 
-            String name = (matcher.group(2) != null ? matcher.group(2).trim() : null);
+            String name = (groups[2] >= 0 ? text.substring(groups[2], groups[3]).trim() : null);
 
             return new RaceTypeNameBlackTypeBreed(type, name, grade, blackType, breed);
         }
         return null;
     }
 
+    /**
+     * Finds "[TYPE] [name] [black type] - [breed]" in the text, with the same result as finding
+     * {@code ^(TYPE|...)\s+(.+?)?\s?(Grade ([123])|Listed|Black Type)?\s*-\s*(Thoroughbred|Quarter
+     * Horse|Arabian|Mixed)$} (for each race type, longest first), but in linear time; the
+     * optional groups of that regular expression overlap on runs of whitespace, so it backtracks
+     * polynomially on a long line that ends with a breed but is not a race type line
+     *
+     * @return the start and end indexes of the type, name, black type, grade (start only) and
+     * breed, -1 for the name, black type or grade when not present, or null if there is no match
+     */
+    static int[] findRaceTypeNameBlackTypeBreed(String text) {
+        int[] breed = findBreed(text);
+        if (breed == null) {
+            return null;
+        }
+        // the dash before the breed
+        int dash = breed[0];
+        while (dash > 0 && isWhitespace(text.charAt(dash - 1))) {
+            dash--;
+        }
+        dash--;
+        if (dash < 0 || text.charAt(dash) != '-') {
+            return null;
+        }
+
+        for (String type : RACE_TYPE_CODES.keySet()) {
+            int typeEnd = type.length();
+            if (typeEnd >= dash || !text.startsWith(type) ||
+                    !isWhitespace(text.charAt(typeEnd))) {
+                continue;
+            }
+            int nameStart = typeEnd;
+            while (isWhitespace(text.charAt(nameStart))) {
+                nameStart++;
+            }
+            if (nameStart == dash) {
+                return new int[]{0, typeEnd, -1, -1, -1, -1, -1, breed[0], breed[1]};
+            }
+
+            // the (lazy) name is as short as possible, leaving for after it at most one space,
+            // the black type (if it ends the text before the dash) and the remaining spaces
+            int spaceStart = dash;
+            while (isWhitespace(text.charAt(spaceStart - 1))) {
+                spaceStart--;
+            }
+            int nameEnd = spaceStart;
+            int blackTypeStart = -1;
+            for (String blackType : BLACK_TYPES) {
+                int start = spaceStart - blackType.length();
+                if (start > nameStart && text.startsWith(blackType, start)) {
+                    blackTypeStart = start;
+                    nameEnd = (start - 1 > nameStart && isWhitespace(text.charAt(start - 1)) ?
+                            start - 1 : start);
+                    break;
+                }
+            }
+
+            // the name cannot span lines
+            for (int i = nameStart; i < nameEnd; i++) {
+                if (LINE_TERMINATORS.indexOf(text.charAt(i)) >= 0) {
+                    return null;
+                }
+            }
+
+            if (blackTypeStart < 0) {
+                return new int[]{0, typeEnd, nameStart, nameEnd, -1, -1, -1, breed[0], breed[1]};
+            }
+            int gradeStart = (text.startsWith("Grade", blackTypeStart) ? spaceStart - 1 : -1);
+            return new int[]{0, typeEnd, nameStart, nameEnd, blackTypeStart, spaceStart,
+                    gradeStart, breed[0], breed[1]};
+        }
+        return null;
+    }
+
+    /**
+     * The breed that ends the text (before an optional final line terminator), as in every race
+     * type line
+     *
+     * @return the start and end indexes of the breed, or null if the text does not end with one
+     */
+    private static int[] findBreed(String text) {
+        int end = text.length();
+        if (text.endsWith("\r\n")) {
+            int start = breedStart(text, end - 2);
+            if (start >= 0) {
+                return new int[]{start, end - 2};
+            }
+        }
+        if (end > 0 && LINE_TERMINATORS.indexOf(text.charAt(end - 1)) >= 0) {
+            int start = breedStart(text, end - 1);
+            if (start >= 0) {
+                return new int[]{start, end - 1};
+            }
+        }
+        int start = breedStart(text, end);
+        return (start >= 0 ? new int[]{start, end} : null);
+    }
+
+    private static int breedStart(String text, int end) {
+        for (String breed : BREEDS) {
+            if (text.startsWith(breed, end - breed.length())) {
+                return end - breed.length();
+            }
+        }
+        return -1;
+    }
+
+    // as the regular expression \s
+    private static boolean isWhitespace(char c) {
+        return (c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r');
+    }
+
     public String getType() {
         return type;
     }
@@ -31,7 +31,7 @@ public class RunUpTemporaryRail {
                 if (runUpCandidate.startsWith("Run-Up:")) {
                     runningLines.remove(i);
 
-                    Matcher matcher = RUN_UP_PATTERN.matcher(runUpCandidate);
+                    Matcher matcher = RUN_UP_PATTERN.matcher(PageDeadline.guard(runUpCandidate));
                     if (matcher.find()) {
                         runUpInFeet = Integer.parseInt(matcher.group(1));
 
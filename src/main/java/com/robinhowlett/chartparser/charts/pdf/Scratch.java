@@ -40,9 +40,8 @@ public class Scratch {
     }
 
     public static List<Scratch> parse(List<List<ChartCharacter>> lines) {
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
-            Matcher matcher = SCRATCHED_HORSES.matcher(text);
+        for (String text : ChartPage.of(lines).getTexts()) {
+            Matcher matcher = SCRATCHED_HORSES.matcher(PageDeadline.guard(text));
             if (matcher.find()) {
                 return parseScratchedHorses(text);
             }
@@ -66,7 +65,7 @@ public class Scratch {
     }
 
     static Scratch parseScratchedHorse(String scratchedHorse) {
-        Matcher matcher = SCRATCHED_HORSE.matcher(scratchedHorse);
+        Matcher matcher = SCRATCHED_HORSE.matcher(PageDeadline.guard(scratchedHorse));
         if (matcher.find()) {
             String horseName = matcher.group(1).trim();
             String reason = matcher.group(3);
@@ -1,21 +1,22 @@
 package com.robinhowlett.chartparser.charts.pdf;
 
+import com.robinhowlett.chartparser.charts.text.ChartTokens;
 import com.robinhowlett.chartparser.exceptions.ChartParserException;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Parses and stores the track name, the race date (as a {@link LocalDate} instance) and the race
  * number
  */
 public class TrackRaceDateRaceNumber {
-    static final Pattern TRACK_DATE_NUMBER_PATTERN =
-            Pattern.compile("([A-Z0-9\\s&@\\'\\-\\(\\)\\.]+)\\s-\\s(.+)+\\s-\\sRace\\s(\\d+)");
+    // the characters a track name may contain (as the character class [A-Z0-9\s&@'\-().])
+    private static final String TRACK_NAME_PUNCTUATION = " \t\n\u000B\f\r&@'-().";
+    private static final String LINE_TERMINATORS = "\n\r\u0085\u2028\u2029";
+    private static final String RACE = "Race";
 
     private static final DateTimeFormatter MONTH_DAY_YEAR_FORMATTER =
             DateTimeFormatter.ofPattern("MMMM d, yyyy");
@@ -37,8 +38,7 @@ public class TrackRaceDateRaceNumber {
             throw new NoLinesToParse();
         }
 
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
+        for (String text : ChartPage.of(lines).getTexts()) {
             Optional<TrackRaceDateRaceNumber> trackRaceDateRaceNumber =
                     buildTrackRaceDateRaceNumber(text);
             if (trackRaceDateRaceNumber.isPresent()) {
@@ -50,16 +50,94 @@ public class TrackRaceDateRaceNumber {
     }
 
     static Optional<TrackRaceDateRaceNumber> buildTrackRaceDateRaceNumber(String text) {
-        Matcher matcher = TRACK_DATE_NUMBER_PATTERN.matcher(text);
-        if (matcher.find()) {
-            String trackName = matcher.group(1);
-            LocalDate raceDate = parseRaceDate(matcher.group(2));
-            int raceNumber = Integer.parseInt(matcher.group(3));
+        int[] groups = findTrackDateNumber(text);
+        if (groups != null) {
+            String trackName = text.substring(groups[0], groups[1]);
+            LocalDate raceDate = parseRaceDate(text.substring(groups[2], groups[3]));
+            int raceNumber = Integer.parseInt(text.substring(groups[4], groups[5]));
             return Optional.of(new TrackRaceDateRaceNumber(trackName, raceDate, raceNumber));
         }
         return Optional.empty();
     }
 
+    /**
+     * Finds the first "[TRACK NAME] - [date] - Race [number]" in the text, with the same result as
+     * finding {@code ([A-Z0-9\s&@'\-().]+)\s-\s(.+)+\s-\sRace\s(\d+)}, but in linear time; the
+     * nested quantifier of that regular expression backtracks exponentially on a long line that
+     * looks like a track header but does not end with a race number
+     *
+     * @return the start and end indexes of the track name, date and race number, or null if there
+     * is no match
+     */
+    static int[] findTrackDateNumber(String text) {
+        int length = text.length();
+        // the last index, at or before each index, where "\s-\sRace\s\d" starts
+        int[] lastRaceAt = new int[length];
+        // the first line terminator at or after each index (the date cannot span lines)
+        int[] lineEnd = new int[length + 1];
+        lineEnd[length] = length;
+        for (int i = length - 1; i >= 0; i--) {
+            lineEnd[i] = (LINE_TERMINATORS.indexOf(text.charAt(i)) >= 0 ? i : lineEnd[i + 1]);
+        }
+        for (int i = 0; i < length; i++) {
+            lastRaceAt[i] = (isRaceAt(text, i) ? i : (i > 0 ? lastRaceAt[i - 1] : -1));
+        }
+
+        int runStart = 0;
+        while (runStart < length) {
+            if (!isTrackNameCharacter(text.charAt(runStart))) {
+                runStart++;
+                continue;
+            }
+            int runEnd = runStart;
+            while (runEnd < length && isTrackNameCharacter(text.charAt(runEnd))) {
+                runEnd++;
+            }
+
+            // the longest track name that is followed by a date and race number; what follows
+            // the name does not depend on where it starts, so if no name starting at the start of
+            // the run matches, neither does one starting later in the run
+            for (int nameEnd = runEnd - 1; nameEnd > runStart; nameEnd--) {
+                if (!isSeparatorAt(text, nameEnd)) {
+                    continue;
+                }
+                int dateStart = nameEnd + 3;
+                // "\s" may match a line terminator, so the race may start at the end of the line
+                int raceAt = lastRaceAt[Math.min(lineEnd[dateStart], length - 1)];
+                if (raceAt > dateStart) {
+                    int numberStart = raceAt + 8;
+                    int numberEnd = ChartTokens.digitsEnd(text, numberStart);
+                    return new int[]{runStart, nameEnd, dateStart, raceAt, numberStart, numberEnd};
+                }
+            }
+            runStart = runEnd;
+        }
+        return null;
+    }
+
+    private static boolean isTrackNameCharacter(char c) {
+        return (c >= 'A' && c <= 'Z') || ChartTokens.isDigit(c) ||
+                TRACK_NAME_PUNCTUATION.indexOf(c) >= 0;
+    }
+
+    // as the regular expression \s
+    private static boolean isWhitespace(char c) {
+        return (c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r');
+    }
+
+    // "\s-\s" at the index
+    private static boolean isSeparatorAt(String text, int index) {
+        return index + 2 < text.length() && isWhitespace(text.charAt(index)) &&
+                text.charAt(index + 1) == '-' && isWhitespace(text.charAt(index + 2));
+    }
+
+    // "\s-\sRace\s\d" at the index
+    private static boolean isRaceAt(String text, int index) {
+        return index + 8 < text.length() && isSeparatorAt(text, index) &&
+                text.startsWith(RACE, index + 3) && isWhitespace(text.charAt(index + 7)) &&
+                ChartTokens.isDigit(text.charAt(index + 8));
+    }
+
     static LocalDate parseRaceDate(String raceDateText) {
         return LocalDate.parse(raceDateText, MONTH_DAY_YEAR_FORMATTER);
     }
@@ -38,9 +38,8 @@ public class Trainer {
     }
 
     public static List<Trainer> parse(List<List<ChartCharacter>> lines) {
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
-            Matcher matcher = TRAINERS_PATTERN.matcher(text);
+        for (String text : ChartPage.of(lines).getTexts()) {
+            Matcher matcher = TRAINERS_PATTERN.matcher(PageDeadline.guard(text));
             if (matcher.find()) {
                 return parseTrainers(text);
             }
@@ -65,7 +64,7 @@ public class Trainer {
     }
 
     private static Trainer parseTrainer(String text) {
-        Matcher matcher = TRAINER_PATTERN.matcher(text);
+        Matcher matcher = TRAINER_PATTERN.matcher(PageDeadline.guard(text));
         if (matcher.find()) {
             String programNumber = matcher.group(1);
             String trainerLastName = matcher.group(2);
@@ -21,9 +21,8 @@ public class WeatherTrackCondition {
     }
 
     public static Optional<WeatherTrackCondition> parse(List<List<ChartCharacter>> sections) {
-        for (List<ChartCharacter> section : sections) {
-            String text = Chart.convertToText(section);
-            Matcher matcher = WEATHER_TRACK_PATTERN.matcher(text);
+        for (String text : ChartPage.of(sections).getTexts()) {
+            Matcher matcher = WEATHER_TRACK_PATTERN.matcher(PageDeadline.guard(text));
             if (matcher.find()) {
                 String weather = matcher.group(1);
                 String trackCondition = matcher.group(2);
@@ -24,9 +24,8 @@ public class WindSpeedDirection {
     }
 
     public static Optional<WindSpeedDirection> parse(List<List<ChartCharacter>> sections) {
-        for (List<ChartCharacter> section : sections) {
-            String text = Chart.convertToText(section);
-            Matcher matcher = WIND_SPEED_DIRECTION_PATTERN.matcher(text);
+        for (String text : ChartPage.of(sections).getTexts()) {
+            Matcher matcher = WIND_SPEED_DIRECTION_PATTERN.matcher(PageDeadline.guard(text));
             if (matcher.find()) {
                 Integer speed = Integer.parseInt(matcher.group(1));
                 String direction = matcher.group(2);
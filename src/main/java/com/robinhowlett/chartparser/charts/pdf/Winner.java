@@ -55,8 +55,7 @@ public class Winner {
             throws NoWinnersDeclaredException {
         List<Winner> winners = new ArrayList<>();
         // find the winner(s)
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
+        for (String text : ChartPage.of(lines).getTexts()) {
             text = text.replaceAll(System.lineSeparator(), " ");
 
             Optional<Winner> winner = parseWinner(text);
@@ -79,8 +78,7 @@ public class Winner {
     // heats)
     static List<Winner> findAndAssociateWinningBreeder(List<List<ChartCharacter>> lines,
             List<Winner> winners) {
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
+        for (String text : ChartPage.of(lines).getTexts()) {
             text = text.replaceAll(System.lineSeparator(), " ");
 
             Optional<String> breeder = parseBreeder(text);
@@ -102,7 +100,7 @@ public class Winner {
     }
 
     static Optional<Winner> parseWinner(String text) {
-        Matcher matcher = WINNER_PATTERN.matcher(text);
+        Matcher matcher = WINNER_PATTERN.matcher(PageDeadline.guard(text));
         if (matcher.find()) {
             String horseName = matcher.group(1);
             String horseColor = matcher.group(3);
@@ -121,7 +119,7 @@ public class Winner {
     }
 
     static Optional<String> parseBreeder(String text) {
-        Matcher matcher = BREEDER_PATTERN.matcher(text);
+        Matcher matcher = BREEDER_PATTERN.matcher(PageDeadline.guard(text));
         if (matcher.find()) {
             String breederName = matcher.group(1);
 
@@ -2,12 +2,12 @@ package com.robinhowlett.chartparser.charts.pdf.running_line;
 
 import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
 import com.robinhowlett.chartparser.charts.pdf.Starter;
+import com.robinhowlett.chartparser.charts.text.ChartTokens;
 import com.robinhowlett.chartparser.points_of_call.PointsOfCall.PointOfCall.RelativePosition
         .LengthsAhead;
 
+import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static com.robinhowlett.chartparser.charts.pdf.Chart.convertToText;
 
@@ -17,10 +17,8 @@ import static com.robinhowlett.chartparser.charts.pdf.Chart.convertToText;
  */
 public class ChartLengthsAhead {
 
-    private static final Pattern TEXT_LENGTHS_AHEAD_PATTERN = Pattern.compile("Head|Neck|Nose");
-    private static final Pattern LENGTHS_AND_FRACTION_AHEAD_PATTERN =
-            Pattern.compile("((\\d+) )?((\\d+)\\/(\\d+))");
-    private static final Pattern EVEN_LENGTHS_AHEAD_PATTERN = Pattern.compile("^(\\d+)$");
+    private static final List<String> TEXT_LENGTHS_AHEAD = Arrays.asList("Head", "Neck", "Nose");
+    private static final String LINE_TERMINATORS = "\n\r\u0085\u2028\u2029";
 
     /**
      * Convert the fraction-based lengths ahead text into a {@link LengthsAhead} instance
@@ -51,61 +49,86 @@ public class ChartLengthsAhead {
 
     // e.g. "2" or "12" lengths ahead
     static Double calculateEvenLengthsAhead(String chart, Double lengthsAhead) {
-        Matcher evenLengthsMatcher = EVEN_LENGTHS_AHEAD_PATTERN.matcher(chart);
-        if (evenLengthsMatcher.find()) {
-            String wholeLengths = evenLengthsMatcher.group();
-            if (wholeLengths != null) {
-                int lengths = Integer.parseInt(wholeLengths);
-                lengthsAhead += lengths;
-            }
+        // only digits, though (as with "$") a final line terminator is allowed
+        int end = chart.length();
+        if (chart.endsWith("\r\n")) {
+            end -= 2;
+        } else if (end > 0 && LINE_TERMINATORS.indexOf(chart.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        if (end > 0 && ChartTokens.digitsEnd(chart, 0) == end) {
+            lengthsAhead += ChartTokens.parseDigits(chart, 0, end);
         }
         return lengthsAhead;
     }
 
     // e.g. "1 1/2" or "3/4" lengths ahead
     static Double calculateLengthsAndFractionsAhead(String chart, Double lengthsAhead) {
-        Matcher lengthsAndFractionsMatcher = LENGTHS_AND_FRACTION_AHEAD_PATTERN.matcher(chart);
-        if (lengthsAndFractionsMatcher.find()) {
-            String lengthsAndFractions = lengthsAndFractionsMatcher.group();
-            if (lengthsAndFractions != null) {
-                String wholeLength = lengthsAndFractionsMatcher.group(2);
-                if (wholeLength != null) {
-                    int wholeLen = Integer.parseInt(wholeLength);
-                    lengthsAhead += wholeLen;
-                }
-
-                String fraction = lengthsAndFractionsMatcher.group(3);
-                if (fraction != null) {
-                    String num = lengthsAndFractionsMatcher.group(4);
-                    String denom = lengthsAndFractionsMatcher.group(5);
-                    if (num != null && denom != null) {
-                        int numerator = Integer.parseInt(num);
-                        int denominator = Integer.parseInt(denom);
-                        lengthsAhead += ((double) numerator / denominator);
-                    }
+        int index = 0;
+        while (index < chart.length()) {
+            if (!ChartTokens.isDigit(chart.charAt(index))) {
+                index++;
+                continue;
+            }
+            // the first run of digits that starts "[whole ]numerator/denominator"
+            int digitsEnd = ChartTokens.digitsEnd(chart, index);
+            int numeratorStart = index;
+            if (digitsEnd < chart.length() && chart.charAt(digitsEnd) == ' ') {
+                int fractionEnd = fractionEnd(chart, digitsEnd + 1);
+                if (fractionEnd > 0) {
+                    lengthsAhead += ChartTokens.parseDigits(chart, index, digitsEnd);
+                    numeratorStart = digitsEnd + 1;
                 }
             }
+            int fractionEnd = fractionEnd(chart, numeratorStart);
+            if (fractionEnd > 0) {
+                int numeratorEnd = ChartTokens.digitsEnd(chart, numeratorStart);
+                int numerator = ChartTokens.parseDigits(chart, numeratorStart, numeratorEnd);
+                int denominator = ChartTokens.parseDigits(chart, numeratorEnd + 1, fractionEnd);
+                lengthsAhead += ((double) numerator / denominator);
+                break;
+            }
+            index = digitsEnd;
         }
         return lengthsAhead;
     }
 
+    // the index after the "numerator/denominator" starting at this index, or -1 if there is none
+    private static int fractionEnd(String chart, int from) {
+        int numeratorEnd = ChartTokens.digitsEnd(chart, from);
+        if (numeratorEnd > from && numeratorEnd < chart.length() &&
+                chart.charAt(numeratorEnd) == '/') {
+            int denominatorEnd = ChartTokens.digitsEnd(chart, numeratorEnd + 1);
+            if (denominatorEnd > numeratorEnd + 1) {
+                return denominatorEnd;
+            }
+        }
+        return -1;
+    }
+
     // e.g. Ahead by a "Neck" or a "Nose"
     protected static Double calculateTextLengthsAhead(String chart, Double lengthsAhead) {
-        Matcher lengthsAheadMatcher = TEXT_LENGTHS_AHEAD_PATTERN.matcher(chart);
-        if (lengthsAheadMatcher.find()) {
-            String textAhead = lengthsAheadMatcher.group();
-            if (textAhead != null) {
-                switch (textAhead) {
-                    case "Nose":
-                        lengthsAhead += 0.05;
-                        break;
-                    case "Head":
-                        lengthsAhead += 0.10;
-                        break;
-                    case "Neck":
-                        lengthsAhead += 0.25;
-                        break;
-                }
+        // whichever occurs first
+        int index = -1;
+        String textAhead = null;
+        for (String text : TEXT_LENGTHS_AHEAD) {
+            int textIndex = chart.indexOf(text);
+            if (textIndex >= 0 && (index < 0 || textIndex < index)) {
+                index = textIndex;
+                textAhead = text;
+            }
+        }
+        if (textAhead != null) {
+            switch (textAhead) {
+                case "Nose":
+                    lengthsAhead += 0.05;
+                    break;
+                case "Head":
+                    lengthsAhead += 0.10;
+                    break;
+                case "Neck":
+                    lengthsAhead += 0.25;
+                    break;
             }
         }
         return lengthsAhead;
@@ -4,6 +4,7 @@ import com.robinhowlett.chartparser.charts.pdf.Chart;
 import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
 import com.robinhowlett.chartparser.charts.pdf.Horse;
 import com.robinhowlett.chartparser.charts.pdf.Jockey;
+import com.robinhowlett.chartparser.charts.pdf.PageDeadline;
 import com.robinhowlett.chartparser.charts.pdf.Starter;
 import com.robinhowlett.chartparser.exceptions.ChartParserException;
 
@@ -35,7 +36,7 @@ public class HorseJockey {
      */
     public static HorseJockey parse(List<ChartCharacter> chartCharacters) throws MissingHorseJockeyException {
         String text = Chart.convertToText(chartCharacters);
-        Matcher matcher = HORSE_JOCKEY_PATTERN.matcher(text);
+        Matcher matcher = HORSE_JOCKEY_PATTERN.matcher(PageDeadline.guard(text));
         if (matcher.find()) {
             String horseName = matcher.group(1);
             // handle disqualifications
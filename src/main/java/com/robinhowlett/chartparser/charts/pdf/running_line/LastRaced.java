@@ -4,23 +4,29 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.robinhowlett.chartparser.charts.pdf.Chart;
 import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
 import com.robinhowlett.chartparser.charts.pdf.RaceResult;
 import com.robinhowlett.chartparser.charts.pdf.Starter;
+import com.robinhowlett.chartparser.charts.text.ChartTokens;
 import com.robinhowlett.chartparser.exceptions.ChartParserException;
+import com.robinhowlett.chartparser.formats.LastRacedDeserializer;
 import com.robinhowlett.chartparser.tracks.Track;
 import com.robinhowlett.chartparser.tracks.TrackService;
 
 import org.springframework.hateoas.Link;
 
 import java.time.LocalDate;
+import java.time.Month;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.TextStyle;
 import java.time.temporal.ChronoField;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_EMPTY;
@@ -34,8 +40,11 @@ import static java.lang.Integer.parseInt;
  * date and then, and the {@link Track}, race number, and finishing position of the {@link
  * Starter}'s last performance (if applicable and they exist)
  */
+@JsonDeserialize(using = LastRacedDeserializer.class)
 public class LastRaced {
 
+    private static volatile LastRaceDateFormat lastRaceDateFormat;
+
     @JsonInclude(NON_EMPTY)
     private final List<Link> links;
     private final LocalDate raceDate;
@@ -101,27 +110,63 @@ public class LastRaced {
             lastChartCharacter = columnCharacter;
         }
         String lastRaceDateText = Chart.convertToText(lastRaceDateCharacters);
-        // so that 97 becomes 1997 and 03 becomes 2003
-        DateTimeFormatter dateTimeFormatter = new DateTimeFormatterBuilder()
-                .appendPattern("dMMM")
-                .appendValueReduced(ChronoField.YEAR_OF_ERA, 2, 2, LocalDate.now().minusYears(80))
-                .toFormatter();
-        LocalDate lastRaceDate = LocalDate.parse(lastRaceDateText, dateTimeFormatter);
+        LocalDate lastRaceDate = parseLastRaceDate(lastRaceDateText);
 
         chartCharacters.removeAll(lastRaceDateCharacters);
 
         return lastRaceDate;
     }
 
+    /**
+     * Parses a last race date e.g. "12Jan17", with the two-digit year within the 100 years from
+     * 80 years ago (so that 97 becomes 1997 and 03 becomes 2003)
+     */
+    static LocalDate parseLastRaceDate(String lastRaceDateText) {
+        int baseYear = LocalDate.now().minusYears(80).getYear();
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        LastRaceDateFormat format = lastRaceDateFormat;
+        if (format == null || format.baseYear != baseYear || !format.locale.equals(locale)) {
+            format = new LastRaceDateFormat(baseYear, locale);
+            lastRaceDateFormat = format;
+        }
+
+        LocalDate lastRaceDate =
+                ChartTokens.parseDayMonthYear(lastRaceDateText, format.monthNames, baseYear);
+        return (lastRaceDate != null ? lastRaceDate :
+                LocalDate.parse(lastRaceDateText, format.formatter));
+    }
+
+    /**
+     * The formatter of last race dates, built once for the century of the two-digit years, and
+     * the short month names it parses (for scanning the common form of the dates without it)
+     */
+    private static class LastRaceDateFormat {
+        private final int baseYear;
+        private final Locale locale;
+        private final DateTimeFormatter formatter;
+        private final String[] monthNames = new String[12];
+
+        LastRaceDateFormat(int baseYear, Locale locale) {
+            this.baseYear = baseYear;
+            this.locale = locale;
+            this.formatter = new DateTimeFormatterBuilder()
+                    .appendPattern("dMMM")
+                    .appendValueReduced(ChronoField.YEAR_OF_ERA, 2, 2, LocalDate.of(baseYear, 1, 1))
+                    .toFormatter(locale);
+            for (Month month : Month.values()) {
+                monthNames[month.ordinal()] = month.getDisplayName(TextStyle.SHORT, locale);
+            }
+        }
+    }
+
     /**
      * Returns true when the race number of the last performance is not present
      */
     private static boolean spaceDetected(ChartCharacter lastChartCharacter, ChartCharacter
             columnCharacter) {
         if (lastChartCharacter != null) {
-            return (!Chart.addWhitespaceIfRequired(columnCharacter.getxDirAdj(),
-                    lastChartCharacter.getxDirAdj(), lastChartCharacter.getWidthDirAdj())
-                    .equals(""));
+            return (Chart.getWhitespace(columnCharacter, lastChartCharacter) !=
+                    Chart.NO_WHITESPACE);
         }
         return false;
     }
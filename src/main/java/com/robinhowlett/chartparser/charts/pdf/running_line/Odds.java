@@ -3,6 +3,7 @@ package com.robinhowlett.chartparser.charts.pdf.running_line;
 import com.robinhowlett.chartparser.charts.pdf.Chart;
 import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
 import com.robinhowlett.chartparser.charts.pdf.Starter;
+import com.robinhowlett.chartparser.charts.text.ChartTokens;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,7 +38,8 @@ public class Odds {
                 text = text.substring(0, text.length() - 1);
             }
             try {
-                odds = Double.parseDouble(text);
+                double value = ChartTokens.parseDecimal(text);
+                odds = (!Double.isNaN(value) ? value : Double.parseDouble(text));
             } catch (NumberFormatException e) {
                 LOGGER.warn(String.format("Unable to parse value: %s, due to %s", text, e
                         .getMessage()));
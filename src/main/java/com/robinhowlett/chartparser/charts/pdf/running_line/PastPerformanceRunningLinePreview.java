@@ -2,6 +2,8 @@ package com.robinhowlett.chartparser.charts.pdf.running_line;
 
 import com.robinhowlett.chartparser.charts.pdf.Chart;
 import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
+import com.robinhowlett.chartparser.charts.pdf.ChartPage;
+import com.robinhowlett.chartparser.charts.pdf.PageDeadline;
 import com.robinhowlett.chartparser.charts.pdf.Starter;
 import com.robinhowlett.chartparser.exceptions.ChartParserException;
 import com.robinhowlett.chartparser.points_of_call.PointsOfCall.PointOfCall.RelativePosition;
@@ -77,10 +79,12 @@ public class PastPerformanceRunningLinePreview {
     static List<ChartCharacter> getRunningLinePreview(List<List<ChartCharacter>> lines) {
         List<ChartCharacter> ppRunningLinePreview = new ArrayList<>();
 
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
+        ChartPage page = ChartPage.of(lines);
+        for (int i = 0; i < page.size(); i++) {
+            List<ChartCharacter> line = page.get(i);
+            String text = page.getText(i);
 
-            Matcher matcher = PP_RUNNING_LINE_PREVIEW.matcher(text);
+            Matcher matcher = PP_RUNNING_LINE_PREVIEW.matcher(PageDeadline.guard(text));
             if (matcher.find()) {
                 ppRunningLinePreview = line;
                 break;
@@ -97,7 +101,7 @@ public class PastPerformanceRunningLinePreview {
             if (previous == null) {
                 line.add(d);
             } else {
-                if (d.getxDirAdj() < previous.getxDirAdj()) {
+                if (d.getxDirAdjThousandths() < previous.getxDirAdjThousandths()) {
                     lines.add(line);
                     line = new ArrayList<>();
                 }
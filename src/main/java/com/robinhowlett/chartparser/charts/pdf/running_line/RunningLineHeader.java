@@ -4,7 +4,6 @@ import com.robinhowlett.chartparser.charts.pdf.Chart;
 import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
 import com.robinhowlett.chartparser.exceptions.ChartParserException;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -14,8 +13,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.TreeSet;
 
-import static com.robinhowlett.chartparser.charts.pdf.Chart.THREE;
-import static com.robinhowlett.chartparser.charts.pdf.Chart.round;
+import static com.robinhowlett.chartparser.charts.pdf.Chart.THREE_THOUSANDTHS;
 
 public class RunningLineHeader {
 
@@ -215,14 +213,12 @@ public class RunningLineHeader {
             }
 
             // calculate the positional difference between the previous character and this one
-            BigDecimal spacing =
-                    round(curr.getxDirAdj())
-                            .subtract(
-                                    round(prev.getxDirAdj()).add(round(prev.getWidthDirAdj())));
+            long spacing = (long) curr.getxDirAdjThousandths() -
+                    ((long) prev.getxDirAdjThousandths() + prev.getWidthDirAdjThousandths());
 
             // if a big space was detected, it's belongs to a new column header, so store what
             // was found so far and reset
-            if (spacing.compareTo(THREE) > 0) {
+            if (spacing > THREE_THOUSANDTHS) {
                 headerColumns.put(sb.toString(), index);
                 sb = new StringBuffer();
                 index = curr;
@@ -7,31 +7,34 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.robinhowlett.chartparser.charts.pdf.Chart;
 import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
+import com.robinhowlett.chartparser.charts.pdf.ChartCharacterIndex;
+import com.robinhowlett.chartparser.charts.pdf.ChartPage;
+import com.robinhowlett.chartparser.charts.pdf.ChartRows;
 import com.robinhowlett.chartparser.charts.pdf.Horse;
+import com.robinhowlett.chartparser.charts.pdf.PageDeadline;
 import com.robinhowlett.chartparser.charts.pdf.Starter;
 import com.robinhowlett.chartparser.charts.pdf.wagering.WagerPayoffPools.WinPlaceShowPayoffPool
         .WinPlaceShowPayoff;
 import com.robinhowlett.chartparser.charts.pdf.wagering.WagerPayoffPools.WinPlaceShowPayoffPool
         .WinPlaceShowPayoff.Win;
+import com.robinhowlett.chartparser.charts.text.ChartTokens;
 import com.robinhowlett.chartparser.exceptions.ChartParserException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.TreeMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import static java.util.Locale.US;
-
 /**
  * Parses the wagering grid and stores {@link WinPlaceShowPayoffPool} and {@link ExoticPayoffPool}
  * instances
@@ -59,8 +62,10 @@ public class WagerPayoffPools {
 
     public static WagerPayoffPools parse(List<List<ChartCharacter>> lines)
             throws ChartParserException {
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
+        ChartPage page = ChartPage.of(lines);
+        for (int i = 0; i < page.size(); i++) {
+            List<ChartCharacter> line = page.get(i);
+            String text = page.getText(i);
             Integer totalWinPlaceShowPool = parseTotalWinPlaceShowPool(text);
             if (totalWinPlaceShowPool != null) {
                 List<ChartCharacter> wageringLine = getWageringLine(line);
@@ -71,11 +76,11 @@ public class WagerPayoffPools {
     }
 
     static Integer parseTotalWinPlaceShowPool(String text) throws TotalWPSParseException {
-        Matcher matcher = TOTAL_WPS_POOL.matcher(text);
+        Matcher matcher = TOTAL_WPS_POOL.matcher(PageDeadline.guard(text));
         if (matcher.find()) {
             String totalWinPlaceShowPool = matcher.group(1);
             try {
-                return NumberFormat.getNumberInstance(US).parse(totalWinPlaceShowPool).intValue();
+                return ChartTokens.parseIntAmount(totalWinPlaceShowPool);
             } catch (ParseException e) {
                 throw new TotalWPSParseException(String.format("Unable to parse Total WPS Pool: " +
                         "%s", text), e);
@@ -89,22 +94,12 @@ public class WagerPayoffPools {
      */
     static List<ChartCharacter> getWageringLine(List<ChartCharacter> line)
             throws ChartParserException {
-        ChartCharacter previous = null;
-        int index = -1;
-        for (int i = 0; i < line.size(); i++) {
-            ChartCharacter chartCharacter = line.get(i);
-            if (previous != null) {
-                if (chartCharacter.getyDirAdj() != previous.getyDirAdj()) {
-                    index = i;
-                    break;
-                }
-            }
-            previous = chartCharacter;
-        }
-        if (index < 0) {
+        // the grid starts on the row after the "Total WPS Pool" text
+        ChartRows rows = ChartRows.of(line);
+        if (rows.size() < 2) {
             throw new ChartParserException("No wagering grid found");
         }
-        return line.subList(index, line.size());
+        return line.subList(rows.getRowStart(1), line.size());
     }
 
     /**
@@ -172,25 +167,33 @@ public class WagerPayoffPools {
      */
     static Map<Double, List<ChartCharacter>> organizeWageringLinesByLine(
             List<ChartCharacter> wageringLine) {
+        ChartRows rows = ChartRows.of(wageringLine);
+        List<List<ChartCharacter>> rowCharacters = new ArrayList<>(rows.size());
+        for (int row = 0; row < rows.size(); row++) {
+            rowCharacters.add(null);
+        }
+
         Map<Double, List<ChartCharacter>> wageringGridByLine = new LinkedHashMap<>();
-        for (ChartCharacter chartCharacter : wageringLine) {
-            double yDirAdj = chartCharacter.getyDirAdj();
-
-            // exclude lines that are not part of the wagering grid by identifying the rows that
-            // have too much white space above them to suggest they are not part of the grid
-            // e.g. 2015 KY Derby, Preakness, Belmont charts' Taylor Made sponsorships
-            Optional<Double> max = wageringGridByLine.keySet().stream().max(Double::compareTo);
-            if (max.isPresent() && (yDirAdj > (max.get() + 10d))) {
-                continue;
-            }
+        Double max = null;
+        for (int i = 0; i < wageringLine.size(); i++) {
+            ChartCharacter chartCharacter = wageringLine.get(i);
+            List<ChartCharacter> chartCharacters = rowCharacters.get(rows.getRowOf(i));
+            if (chartCharacters == null) {
+                double yDirAdj = chartCharacter.getyDirAdj();
+
+                // exclude lines that are not part of the wagering grid by identifying the rows
+                // that have too much white space above them to suggest they are not part of the
+                // grid e.g. 2015 KY Derby, Preakness, Belmont charts' Taylor Made sponsorships
+                if (max != null && (yDirAdj > (max + 10d))) {
+                    continue;
+                }
 
-            if (!wageringGridByLine.containsKey(yDirAdj)) {
-                List<ChartCharacter> chartCharacters = new ArrayList<>();
-                chartCharacters.add(chartCharacter);
+                chartCharacters = new ArrayList<>();
+                rowCharacters.set(rows.getRowOf(i), chartCharacters);
                 wageringGridByLine.put(yDirAdj, chartCharacters);
-            } else {
-                wageringGridByLine.get(yDirAdj).add(chartCharacter);
+                max = (max != null ? Math.max(max, yDirAdj) : yDirAdj);
             }
+            chartCharacters.add(chartCharacter);
         }
         return wageringGridByLine;
     }
@@ -272,23 +275,38 @@ public class WagerPayoffPools {
      */
     static Map<Double, Map<String, List<ChartCharacter>>> createWageringGrid(
             Map<Double, List<ChartCharacter>> wageringGridByLine, WageringTreeSet wageringFloors) {
+        List<ChartCharacter> gridCharacters = new ArrayList<>();
+        for (List<ChartCharacter> charactersForLine : wageringGridByLine.values()) {
+            gridCharacters.addAll(charactersForLine);
+        }
+        ChartCharacterIndex index = ChartCharacterIndex.of(gridCharacters);
+
         Map<Double, Map<String, List<ChartCharacter>>> wageringGrid = new LinkedHashMap<>();
         for (Double lineYDirAdj : wageringGridByLine.keySet()) {
-            Map<String, List<ChartCharacter>> charsByColumn = new LinkedHashMap<>();
-            List<ChartCharacter> charactersForLine = wageringGridByLine.get(lineYDirAdj);
-            for (ChartCharacter chartCharacter : charactersForLine) {
-                WageringColumn forFloor = new WageringColumn(chartCharacter.getxDirAdj());
-                WageringColumn wageringColumn = wageringFloors.floor(forFloor);
-
-                if (charsByColumn.containsKey(wageringColumn.getColumnName())) {
-                    charsByColumn.get(wageringColumn.getColumnName()).add(chartCharacter);
-                } else {
-                    List<ChartCharacter> charactersForColumn = new ArrayList<>();
-                    charactersForColumn.add(chartCharacter);
-                    charsByColumn.put(wageringColumn.getColumnName(), charactersForColumn);
+            // each column runs from its floor up to (but excluding) the next column's floor; the
+            // columns of the row are kept in the order their first characters appear
+            TreeMap<Integer, String> columnsByFirstCharacter = new TreeMap<>();
+            Map<String, List<ChartCharacter>> charactersByColumn = new HashMap<>();
+            for (WageringColumn wageringColumn : wageringFloors) {
+                WageringColumn nextColumn = wageringFloors.higher(wageringColumn);
+                double right = (nextColumn != null ? Math.nextDown(nextColumn.getFloor()) :
+                        Double.MAX_VALUE);
+                int[] indexes = index.indexesIn(wageringColumn.getFloor(), lineYDirAdj, right,
+                        lineYDirAdj);
+                if (indexes.length > 0) {
+                    List<ChartCharacter> charactersForColumn = new ArrayList<>(indexes.length);
+                    for (int i : indexes) {
+                        charactersForColumn.add(gridCharacters.get(i));
+                    }
+                    columnsByFirstCharacter.put(indexes[0], wageringColumn.getColumnName());
+                    charactersByColumn.put(wageringColumn.getColumnName(), charactersForColumn);
                 }
             }
 
+            Map<String, List<ChartCharacter>> charsByColumn = new LinkedHashMap<>();
+            for (String columnName : columnsByFirstCharacter.values()) {
+                charsByColumn.put(columnName, charactersByColumn.get(columnName));
+            }
             wageringGrid.put(lineYDirAdj, charsByColumn);
         }
         return wageringGrid;
@@ -555,7 +573,7 @@ public class WagerPayoffPools {
                 String placeText = Chart.convertToText(wageringGridRow.get("Place"));
                 if (!placeText.isEmpty()) {
                     try {
-                        place = NumberFormat.getNumberInstance(US).parse(placeText).doubleValue();
+                        place = ChartTokens.parseDoubleAmount(placeText);
                     } catch (ParseException e) {
                         LOGGER.warn(String.format("Unable to parse place payoff %s", placeText), e);
                     }
@@ -565,7 +583,7 @@ public class WagerPayoffPools {
                 Double show = null;
                 if (!showText.isEmpty()) {
                     try {
-                        show = NumberFormat.getNumberInstance(US).parse(showText).doubleValue();
+                        show = ChartTokens.parseDoubleAmount(showText);
                     } catch (ParseException e) {
                         LOGGER.warn(String.format("Unable to parse show payoff %s", showText), e);
                     }
@@ -583,8 +601,7 @@ public class WagerPayoffPools {
                     horseName = horseWin[0];
                     if (horseWin.length == 2) {
                         try {
-                            win = NumberFormat.getNumberInstance(US).parse(horseWin[1])
-                                    .doubleValue();
+                            win = ChartTokens.parseDoubleAmount(horseWin[1]);
                         } catch (ParseException e) {
                             LOGGER.warn(String.format("Unable to parse win payoff %s",
                                     horseWin[1]), e);
@@ -820,7 +837,7 @@ public class WagerPayoffPools {
                         .concat(wagerTypeOnNewLine);
             }
 
-            Matcher matcher = WAGER_UNIT.matcher(wagerType);
+            Matcher matcher = WAGER_UNIT.matcher(PageDeadline.guard(wagerType));
             if (matcher.find()) {
                 String wagerAmountText = matcher.group(1);
                 wagerAmount = Double.parseDouble(wagerAmountText);
@@ -852,7 +869,7 @@ public class WagerPayoffPools {
                     winningNumbers = winningNumbers.concat(" ").concat(wnpOnNewLine);
                 }
 
-                Matcher matcher = WINNING_NUMBERS.matcher(winningNumbers);
+                Matcher matcher = WINNING_NUMBERS.matcher(PageDeadline.guard(winningNumbers));
                 if (matcher.find()) {
                     winningNumbers = matcher.group(1).trim();
                     if (matcher.group(3) != null) {
@@ -862,7 +879,7 @@ public class WagerPayoffPools {
 
                 if (wnp.length == 2) {
                     try {
-                        payoff = NumberFormat.getNumberInstance(US).parse(wnp[1]).doubleValue();
+                        payoff = ChartTokens.parseDoubleAmount(wnp[1]);
                     } catch (ParseException e) {
                         throw new ChartParserException(String.format("Failed to parse payoff " +
                                 "text: %s", wnp[1]), e);
@@ -876,7 +893,7 @@ public class WagerPayoffPools {
         private static Double parsePool(String poolText) throws ChartParserException {
             if (poolText != null && !poolText.isEmpty()) {
                 try {
-                    return NumberFormat.getNumberInstance(US).parse(poolText).doubleValue();
+                    return ChartTokens.parseDoubleAmount(poolText);
                 } catch (ParseException e) {
                     throw new ChartParserException(String.format("Failed to parse pool " +
                             "text: %s", poolText), e);
@@ -888,7 +905,7 @@ public class WagerPayoffPools {
         private static Double parseCarryover(String carryoverText) throws ChartParserException {
             if (carryoverText != null && !carryoverText.isEmpty()) {
                 try {
-                    return NumberFormat.getNumberInstance(US).parse(carryoverText).doubleValue();
+                    return ChartTokens.parseDoubleAmount(carryoverText);
                 } catch (ParseException e) {
                     throw new ChartParserException(String.format("Failed to parse carryover " +
                             "text: %s", carryoverText), e);
@@ -0,0 +1,198 @@
+package com.robinhowlett.chartparser.charts.text;
+
+import com.robinhowlett.chartparser.charts.pdf.Chart;
+import com.robinhowlett.chartparser.charts.pdf.ChartCharacterBuffer;
+import com.robinhowlett.chartparser.exceptions.ChartParserException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+
+/**
+ * Reads the pipe-delimited dump of a chart's characters (as written by {@link ChartStripper})
+ * straight into a {@link ChartCharacterBuffer}, streaming it a line at a time and parsing each
+ * value from its characters, rather than binding each row to a bean.
+ * <p>
+ * A dump is the {@link #HEADER} line followed by one row per character, each with the eight
+ * columns of the header. A value with at most three decimal places (as the stripper writes them)
+ * is parsed exactly; any other value is parsed as a {@code double} and rounded to thousandths,
+ * an empty value is zero, and an empty unicode value is the null character, all as binding the
+ * row to a {@link com.robinhowlett.chartparser.charts.pdf.ChartCharacter} would. Lines may end
+ * with "\n", "\r\n" or "\r", and blank lines are skipped.
+ */
+public class ChartDumpReader {
+    public static final String HEADER =
+            "xDirAdj|yDirAdj|fontSize|xScale|height|widthOfSpace|widthDirAdj|unicode";
+
+    private static final String[] COLUMNS = HEADER.split("\\|");
+    private static final int UNICODE = COLUMNS.length - 1;
+    // the most whole digits parsed without going through a double
+    private static final int MAX_WHOLE_DIGITS = 6;
+
+    private final Reader reader;
+    private final char[] chunk = new char[8192];
+    private int position;
+    private int limit;
+    private boolean skipLineFeed;
+
+    private char[] line = new char[64];
+    private int lineLength;
+    private int lineNumber;
+    private final int[] values = new int[UNICODE];
+
+    private ChartDumpReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    public static ChartCharacterBuffer read(String dump) throws ChartParserException {
+        try {
+            return read(new StringReader(dump));
+        } catch (IOException e) {
+            // not thrown when reading a string
+            throw new ChartParserException("Error reading the chart dump", e);
+        }
+    }
+
+    /**
+     * Reads the dump to its end; the reader is not closed
+     */
+    public static ChartCharacterBuffer read(Reader reader) throws IOException,
+            ChartParserException {
+        return new ChartDumpReader(reader).readAll();
+    }
+
+    private ChartCharacterBuffer readAll() throws IOException, ChartParserException {
+        if (!nextLine() || !HEADER.equals(new String(line, 0, lineLength))) {
+            throw new ChartParserException(String.format("The chart dump does not start with " +
+                    "the header: %s", HEADER));
+        }
+
+        ChartCharacterBuffer chartCharacters = new ChartCharacterBuffer();
+        while (nextLine()) {
+            if (lineLength > 0) {
+                char unicode = parseRow();
+                chartCharacters.add(values[0], values[1], values[2], values[3], values[4],
+                        values[5], values[6], unicode);
+            }
+        }
+        return chartCharacters;
+    }
+
+    // reads the next line into the line buffer, returning false at the end of the dump
+    private boolean nextLine() throws IOException {
+        lineLength = 0;
+        boolean read = false;
+        while (position < limit || fill()) {
+            char c = chunk[position++];
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (c == '\n') {
+                    continue;
+                }
+            }
+            read = true;
+            if (c == '\n' || c == '\r') {
+                skipLineFeed = (c == '\r');
+                break;
+            }
+            if (lineLength == line.length) {
+                line = Arrays.copyOf(line, lineLength * 2);
+            }
+            line[lineLength++] = c;
+        }
+        if (read) {
+            lineNumber++;
+        }
+        return read;
+    }
+
+    private boolean fill() throws IOException {
+        int read = reader.read(chunk, 0, chunk.length);
+        position = 0;
+        limit = Math.max(read, 0);
+        return (read > 0);
+    }
+
+    // parses the values of the row into the values array, returning the unicode character
+    private char parseRow() throws ChartParserException {
+        int from = 0;
+        for (int column = 0; column < UNICODE; column++) {
+            int to = indexOfSeparator(from);
+            if (to < 0) {
+                throw new ChartParserException(String.format("Line %d has %d columns, " +
+                        "expected %d", lineNumber, column + 1, COLUMNS.length));
+            }
+            values[column] = parseThousandths(column, from, to);
+            from = to + 1;
+        }
+        if (indexOfSeparator(from) >= 0) {
+            throw new ChartParserException(String.format("Line %d has more than %d columns",
+                    lineNumber, COLUMNS.length));
+        }
+
+        switch (lineLength - from) {
+            case 0:
+                return '\u0000';
+            case 1:
+                return line[from];
+            default:
+                throw new ChartParserException(String.format("Invalid %s on line %d: %s",
+                        COLUMNS[UNICODE], lineNumber, new String(line, from, lineLength - from)));
+        }
+    }
+
+    private int indexOfSeparator(int from) {
+        for (int i = from; i < lineLength; i++) {
+            if (line[i] == '|') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int parseThousandths(int column, int from, int to) throws ChartParserException {
+        // the common form e.g. "9.920" or "-0.5"
+        int index = from;
+        boolean negative = (index < to && line[index] == '-');
+        if (negative) {
+            index++;
+        }
+        int value = 0;
+        int wholeStart = index;
+        while (index < to && ChartTokens.isDigit(line[index])) {
+            value = (value * 10) + (line[index++] - '0');
+        }
+        int wholeDigits = index - wholeStart;
+        if (wholeDigits > 0 && wholeDigits <= MAX_WHOLE_DIGITS) {
+            value *= 1000;
+            if (index < to && line[index] == '.') {
+                index++;
+                int scale = 100;
+                while (index < to && scale > 0 && ChartTokens.isDigit(line[index])) {
+                    value += (line[index++] - '0') * scale;
+                    scale /= 10;
+                }
+                if (scale == 100) {
+                    // no digits after the decimal point
+                    index = -1;
+                }
+            }
+            if (index == to) {
+                return (negative ? -value : value);
+            }
+        }
+
+        // anything else e.g. more decimal places, or an exponent
+        String text = new String(line, from, to - from);
+        if (text.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Math.toIntExact(Chart.toThousandths(Double.parseDouble(text)));
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new ChartParserException(String.format("Invalid %s on line %d: %s",
+                    COLUMNS[column], lineNumber, text));
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.robinhowlett.chartparser.charts.text;
 
+import com.robinhowlett.chartparser.charts.pdf.Chart;
+import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
+import com.robinhowlett.chartparser.charts.pdf.ChartCharacterBuffer;
+
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.apache.pdfbox.text.TextPosition;
 
@@ -10,35 +14,111 @@ import java.util.List;
 import static com.robinhowlett.chartparser.charts.pdf.Chart.round;
 
 /**
- * This class will take a PDF chart and for each character write a CSV row with its location, scale,
- * and value.
+ * This class will take a PDF chart and for each character either write a CSV row with its
+ * location, scale, and value, or add the equivalent {@link ChartCharacter} directly to a list
+ * (skipping the CSV round-trip entirely)
  */
 public class ChartStripper extends PDFTextStripper {
+    /**
+     * Identifies how characters are extracted; increment whenever a change here (or to PDFBox)
+     * could change the extracted characters, so that cached extractions are not reused
+     */
+    public static final int EXTRACTOR_VERSION = 1;
+
     private final StringWriter writer;
+    private final List<ChartCharacter> chartCharacters;
 
     public ChartStripper(StringWriter writer) throws IOException {
+        this(writer, null);
+    }
+
+    public ChartStripper(List<ChartCharacter> chartCharacters) throws IOException {
+        this(null, chartCharacters);
+    }
+
+    /**
+     * Either the writer or the list of characters may be null; when both are provided, the CSV
+     * rows are written as a debug dump alongside the extracted characters
+     */
+    public ChartStripper(StringWriter writer, List<ChartCharacter> chartCharacters)
+            throws IOException {
         super();
         this.writer = writer;
+        this.chartCharacters = chartCharacters;
     }
 
     @Override
     protected void writeString(String string, List<TextPosition> textPositions) throws IOException {
         for (TextPosition text : textPositions) {
-            String row =
-                    round(text.getXDirAdj()) + "|" +
-                            round(text.getYDirAdj()) + "|" +
-                            round(text.getFontSize()) + "|" +
-                            round(text.getXScale()) + "|" +
-                            round(text.getHeightDir()) + "|" +
-                            round(text.getWidthOfSpace()) + "|" +
-                            round(text.getWidthDirAdj()) + "|" +
-                            text.getUnicode();
-
-            writer.write(System.lineSeparator() + row.trim());
+            if (writer != null) {
+                String row =
+                        round(text.getXDirAdj()) + "|" +
+                                round(text.getYDirAdj()) + "|" +
+                                round(text.getFontSize()) + "|" +
+                                round(text.getXScale()) + "|" +
+                                round(text.getHeightDir()) + "|" +
+                                round(text.getWidthOfSpace()) + "|" +
+                                round(text.getWidthDirAdj()) + "|" +
+                                text.getUnicode();
+
+                writer.write(System.lineSeparator() + row.trim());
+            }
+
+            if (chartCharacters instanceof ChartCharacterBuffer) {
+                // held column-wise, without creating a ChartCharacter
+                ((ChartCharacterBuffer) chartCharacters).add(thousandths(text.getXDirAdj()),
+                        thousandths(text.getYDirAdj()), thousandths(text.getFontSize()),
+                        thousandths(text.getXScale()), thousandths(text.getHeightDir()),
+                        thousandths(text.getWidthOfSpace()), thousandths(text.getWidthDirAdj()),
+                        toUnicodeCharacter(text.getUnicode()));
+            } else if (chartCharacters != null) {
+                chartCharacters.add(createChartCharacter(text));
+            }
+        }
+    }
+
+    /**
+     * Creates the {@link ChartCharacter} that the CSV row for this {@link TextPosition} would be
+     * deserialized to i.e. with each value rounded to three decimal places
+     */
+    static ChartCharacter createChartCharacter(TextPosition text) {
+        ChartCharacter chartCharacter = new ChartCharacter();
+        chartCharacter.setxDirAdjThousandths(thousandths(text.getXDirAdj()));
+        chartCharacter.setyDirAdjThousandths(thousandths(text.getYDirAdj()));
+        chartCharacter.setFontSizeThousandths(thousandths(text.getFontSize()));
+        chartCharacter.setxScaleThousandths(thousandths(text.getXScale()));
+        chartCharacter.setHeightThousandths(thousandths(text.getHeightDir()));
+        chartCharacter.setWidthOfSpaceThousandths(thousandths(text.getWidthOfSpace()));
+        chartCharacter.setWidthDirAdjThousandths(thousandths(text.getWidthDirAdj()));
+        chartCharacter.setUnicode(toUnicodeCharacter(text.getUnicode()));
+        return chartCharacter;
+    }
+
+    private static int thousandths(float value) {
+        return Math.toIntExact(Chart.toThousandths(value));
+    }
+
+    /**
+     * Whitespace glyphs become the null character, as the trimmed CSV row would be deserialized.
+     * Unlike the CSV binding, which rejects a multi-char glyph (e.g. a ligature) and so fails the
+     * page, a multi-char glyph is deliberately reduced to its first character.
+     */
+    static char toUnicodeCharacter(String unicode) {
+        if (unicode == null) {
+            return '\u0000';
+        }
+        int end = unicode.length();
+        while (end > 0 && unicode.charAt(end - 1) <= ' ') {
+            end--;
         }
+        return (end > 0 ? unicode.charAt(0) : '\u0000');
     }
 
     public StringWriter getWriter() {
         return writer;
     }
+
+    public List<ChartCharacter> getChartCharacters() {
+        return chartCharacters;
+    }
 }
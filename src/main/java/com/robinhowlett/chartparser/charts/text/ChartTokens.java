@@ -0,0 +1,279 @@
+package com.robinhowlett.chartparser.charts.text;
+
+import java.text.NumberFormat;
+import java.text.ParseException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+import static java.util.Locale.US;
+
+/**
+ * Hand-written scanners for the numeric tokens of a chart (times, money amounts, odds, lengths
+ * and dates) that work directly on the characters of the text, rather than through a regular
+ * expression or a {@link java.text.NumberFormat} for each token.
+ * <p>
+ * Each scanner gives the same result as the regular expression or formatter it replaces. Where
+ * the replaced parser accepts more than the common form of a token (e.g. {@code NumberFormat}
+ * parsing a number prefix and ignoring what follows), the scanner only handles the common form
+ * and reports that it could not, so that the caller can fall back to the original parser (as
+ * {@link #parseIntAmount(String)} and {@link #parseDoubleAmount(String)} do).
+ */
+public class ChartTokens {
+    /**
+     * Returned by {@link #scanElapsedMillis(CharSequence)} when the text does not contain a time
+     */
+    public static final long NO_TIME = Long.MIN_VALUE;
+    /**
+     * Returned by the amount scanners when the text is not in the common form
+     */
+    public static final long NOT_AN_AMOUNT = -1;
+
+    // the most digits a double can be built from exactly, with a single division
+    private static final int MAX_EXACT_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8,
+            1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15};
+    // the most digits an int can be parsed from without checking for overflow
+    private static final int MAX_INT_DIGITS = 9;
+
+    private ChartTokens() {
+    }
+
+    public static boolean isDigit(char c) {
+        return (c >= '0' && c <= '9');
+    }
+
+    /**
+     * The index after the run of digits starting at this index (the index itself if there are
+     * none)
+     */
+    public static int digitsEnd(CharSequence text, int from) {
+        int index = from;
+        while (index < text.length() && isDigit(text.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Parses the digits between the indexes as {@link Integer#parseInt(String)} would, including
+     * throwing a {@link NumberFormatException} if they overflow an int
+     */
+    public static int parseDigits(CharSequence text, int from, int to) {
+        if (to - from > MAX_INT_DIGITS || to <= from) {
+            return Integer.parseInt(text.subSequence(from, to).toString());
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            value = (value * 10) + (text.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Finds the first elapsed time in the text e.g. "22.88", "1:12.98" or "1:36.123" (the same as
+     * finding {@code ((\d+):)?(\d+)+\.(\d)(\d)?(\d)?}) and returns it in milliseconds
+     *
+     * @return the milliseconds of the time, or {@link #NO_TIME} if the text does not contain one
+     */
+    public static long scanElapsedMillis(CharSequence text) {
+        int length = text.length();
+        int index = 0;
+        while (index < length) {
+            if (!isDigit(text.charAt(index))) {
+                index++;
+                continue;
+            }
+            // a time that starts within a run of digits would also start at the run's start
+            int digitsEnd = digitsEnd(text, index);
+
+            int minutesStart = -1, secondsStart = index, secondsEnd = digitsEnd;
+            if (digitsEnd < length && text.charAt(digitsEnd) == ':') {
+                minutesStart = index;
+                secondsStart = digitsEnd + 1;
+                secondsEnd = digitsEnd(text, secondsStart);
+            }
+
+            if (secondsEnd > secondsStart && secondsEnd + 1 < length &&
+                    text.charAt(secondsEnd) == '.' && isDigit(text.charAt(secondsEnd + 1))) {
+                long millis = 0;
+                if (minutesStart >= 0) {
+                    millis += (parseDigits(text, minutesStart, digitsEnd) * (60 * 1000));
+                }
+                millis += (parseDigits(text, secondsStart, secondsEnd) * 1000);
+
+                int fraction = secondsEnd + 1;
+                millis += ((text.charAt(fraction) - '0') * 100);
+                if (fraction + 1 < length && isDigit(text.charAt(fraction + 1))) {
+                    millis += ((text.charAt(fraction + 1) - '0') * 10);
+                    if (fraction + 2 < length && isDigit(text.charAt(fraction + 2))) {
+                        millis += (text.charAt(fraction + 2) - '0');
+                    }
+                }
+                return millis;
+            }
+            index = digitsEnd;
+        }
+        return NO_TIME;
+    }
+
+    /**
+     * Parses a whole money amount e.g. "9,700" or "9700", as
+     * {@code NumberFormat.getNumberInstance(US).parse(text).longValue()} would
+     *
+     * @return the amount, or {@link #NOT_AN_AMOUNT} if the text is not only a whole amount with
+     * correctly grouped digits
+     */
+    public static long parseWholeAmount(CharSequence text) {
+        int digitsEnd = groupedDigitsEnd(text, 0);
+        if (digitsEnd <= 0 || digitsEnd != text.length()) {
+            return NOT_AN_AMOUNT;
+        }
+        long amount = 0;
+        int numberOfDigits = 0;
+        for (int i = 0; i < digitsEnd; i++) {
+            char c = text.charAt(i);
+            if (c != ',') {
+                amount = (amount * 10) + (c - '0');
+                if (++numberOfDigits > MAX_EXACT_DIGITS) {
+                    return NOT_AN_AMOUNT;
+                }
+            }
+        }
+        return amount;
+    }
+
+    /**
+     * Parses a money amount e.g. "1,234.50", "3.40" or "9,700", as
+     * {@code NumberFormat.getNumberInstance(US).parse(text).doubleValue()} would
+     *
+     * @return the amount, or {@link Double#NaN} if the text is not only an amount with correctly
+     * grouped digits
+     */
+    public static double parseAmount(CharSequence text) {
+        return parseDecimal(text, groupedDigitsEnd(text, 0));
+    }
+
+    /**
+     * A whole money amount, parsed by {@link #parseWholeAmount(CharSequence)} if it can, otherwise
+     * by {@code NumberFormat.getNumberInstance(US).parse(text).intValue()}
+     */
+    public static int parseIntAmount(String text) throws ParseException {
+        long amount = parseWholeAmount(text);
+        return (amount != NOT_AN_AMOUNT ? (int) amount :
+                NumberFormat.getNumberInstance(US).parse(text).intValue());
+    }
+
+    /**
+     * A money amount, parsed by {@link #parseAmount(CharSequence)} if it can, otherwise by
+     * {@code NumberFormat.getNumberInstance(US).parse(text).doubleValue()}
+     */
+    public static double parseDoubleAmount(String text) throws ParseException {
+        double amount = parseAmount(text);
+        return (!Double.isNaN(amount) ? amount :
+                NumberFormat.getNumberInstance(US).parse(text).doubleValue());
+    }
+
+    /**
+     * Parses a decimal without grouping e.g. "2.40" or "12", as {@link Double#parseDouble(String)}
+     * would
+     *
+     * @return the value, or {@link Double#NaN} if the text is not only digits, optionally followed
+     * by a decimal point and more digits
+     */
+    public static double parseDecimal(CharSequence text) {
+        return parseDecimal(text, digitsEnd(text, 0));
+    }
+
+    private static double parseDecimal(CharSequence text, int wholeEnd) {
+        if (wholeEnd <= 0) {
+            return Double.NaN;
+        }
+        int end = wholeEnd;
+        int fractionDigits = 0;
+        if (wholeEnd < text.length() && text.charAt(wholeEnd) == '.') {
+            end = digitsEnd(text, wholeEnd + 1);
+            fractionDigits = end - (wholeEnd + 1);
+            if (fractionDigits == 0) {
+                return Double.NaN;
+            }
+        }
+        if (end != text.length()) {
+            return Double.NaN;
+        }
+
+        long digits = 0;
+        int numberOfDigits = 0;
+        for (int i = 0; i < end; i++) {
+            char c = text.charAt(i);
+            if (isDigit(c)) {
+                digits = (digits * 10) + (c - '0');
+                if (++numberOfDigits > MAX_EXACT_DIGITS) {
+                    return Double.NaN;
+                }
+            }
+        }
+        // both are exact, so the single (correctly rounded) division gives the closest double to
+        // the decimal, as parsing it would
+        return digits / POWERS_OF_TEN[fractionDigits];
+    }
+
+    // the index after digits that are either ungrouped, or in correctly placed groups of three
+    private static int groupedDigitsEnd(CharSequence text, int from) {
+        int end = digitsEnd(text, from);
+        if (end == from || end - from > 3 || end >= text.length() || text.charAt(end) != ',') {
+            return end;
+        }
+        while (end < text.length() && text.charAt(end) == ',') {
+            int groupEnd = digitsEnd(text, end + 1);
+            if (groupEnd - (end + 1) != 3) {
+                // not a group, so not an amount this scanner handles
+                return -1;
+            }
+            end = groupEnd;
+        }
+        return end;
+    }
+
+    /**
+     * Parses a day, short month name and two-digit year e.g. "12Jan17", as a formatter of
+     * {@code dMMM} and a two-digit reduced year would
+     *
+     * @param monthNames the short names of the months, in the formatter's locale
+     * @param baseYear   the first year of the century the two-digit year is within
+     * @return the date, or null if the text is not of that form or the day is not valid for the
+     * month (which the formatter may resolve to a valid date)
+     */
+    public static LocalDate parseDayMonthYear(CharSequence text, String[] monthNames,
+            int baseYear) {
+        int dayEnd = digitsEnd(text, 0);
+        if (dayEnd == 0 || dayEnd > 2) {
+            return null;
+        }
+        for (int month = 0; month < monthNames.length; month++) {
+            String monthName = monthNames[month];
+            int monthEnd = dayEnd + monthName.length();
+            if (monthEnd + 2 == text.length() && regionMatches(text, dayEnd, monthName) &&
+                    digitsEnd(text, monthEnd) == text.length()) {
+                int day = parseDigits(text, 0, dayEnd);
+                int year = parseDigits(text, monthEnd, text.length());
+                int baseCentury = baseYear - (baseYear % 100);
+                year += (year < (baseYear % 100) ? baseCentury + 100 : baseCentury);
+                try {
+                    return LocalDate.of(year, month + 1, day);
+                } catch (DateTimeException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean regionMatches(CharSequence text, int from, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (text.charAt(from + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,39 @@
+package com.robinhowlett.chartparser.exceptions;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * Thrown when parsing a single chart takes longer than the configured time budget, noting the
+ * budget, the time taken so far and the step of parsing that was underway
+ */
+public class PageTimeoutException extends ChartParserException {
+    private final Duration budget;
+    private final Duration elapsed;
+    private final String step;
+
+    public PageTimeoutException(Duration budget, Duration elapsed, String step) {
+        super(String.format("Parsing exceeded the time budget of %s ms (%s ms elapsed, while " +
+                "parsing the %s)", toMillis(budget), toMillis(elapsed), step));
+        this.budget = budget;
+        this.elapsed = elapsed;
+        this.step = step;
+    }
+
+    // to the nanosecond, so that a sub-millisecond budget is not shown as 0 ms
+    private static String toMillis(Duration duration) {
+        return BigDecimal.valueOf(duration.toNanos(), 6).stripTrailingZeros().toPlainString();
+    }
+
+    public Duration getBudget() {
+        return budget;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    public String getStep() {
+        return step;
+    }
+}
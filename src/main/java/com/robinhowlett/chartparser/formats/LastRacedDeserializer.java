@@ -0,0 +1,45 @@
+package com.robinhowlett.chartparser.formats;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.robinhowlett.chartparser.charts.pdf.running_line.LastRaced;
+import com.robinhowlett.chartparser.charts.pdf.running_line.LastRaced.LastRacePerformance;
+import com.robinhowlett.chartparser.tracks.Track;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Jackson deserializer to convert a JSON {@link LastRaced} back to an instance; needed as the
+ * {@link LastRacePerformance} is unwrapped, which Jackson does not support for creators (the
+ * links are rebuilt from the last race performance)
+ */
+public class LastRacedDeserializer extends JsonDeserializer<LastRaced> {
+
+    @Override
+    public LastRaced deserialize(JsonParser jsonParser, DeserializationContext
+            deserializationContext) throws IOException {
+        ObjectCodec codec = jsonParser.getCodec();
+        JsonNode node = codec.readTree(jsonParser);
+
+        LocalDate raceDate = treeToValue(codec, node.get("raceDate"), LocalDate.class);
+        Integer daysSince = treeToValue(codec, node.get("daysSince"), Integer.class);
+        Track track = treeToValue(codec, node.get("track"), Track.class);
+
+        LastRacePerformance lastRacePerformance = null;
+        if (track != null) {
+            lastRacePerformance = new LastRacePerformance(
+                    treeToValue(codec, node.get("raceNumber"), Integer.class), track,
+                    treeToValue(codec, node.get("officialPosition"), Integer.class));
+        }
+        return new LastRaced(raceDate, daysSince, lastRacePerformance);
+    }
+
+    private static <T> T treeToValue(ObjectCodec codec, JsonNode node, Class<T> type)
+            throws IOException {
+        return (node == null || node.isNull() ? null : codec.treeToValue(node, type));
+    }
+}
@@ -2,27 +2,38 @@ package com.robinhowlett.chartparser.fractionals;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.robinhowlett.chartparser.ReferenceDataSource;
 import com.robinhowlett.chartparser.exceptions.ChartParserException;
 
 import java.io.IOException;
 import java.io.InputStream;
 
 /**
- * Loads the fractional times from a file
+ * Loads the fractional times from a file, from the classpath or (when present) a reference data
+ * directory
  */
 public class FractionalPointRepository {
 
     private static final String FILENAME = "fractional-times.json";
     private ObjectMapper mapper;
+    private ReferenceDataSource source;
 
     public FractionalPointRepository(ObjectMapper mapper) {
+        this(mapper, ReferenceDataSource.CLASSPATH);
+    }
+
+    /**
+     * @param source where to read the file from e.g. a {@link
+     *               com.robinhowlett.chartparser.ReferenceDataDirectory}
+     */
+    public FractionalPointRepository(ObjectMapper mapper, ReferenceDataSource source) {
         this.mapper = mapper;
+        this.source = source;
     }
 
     public FractionalTreeSet findAll() throws ChartParserException {
         try {
-            try (InputStream fractionalPoints =
-                         getClass().getClassLoader().getResourceAsStream(FILENAME)) {
+            try (InputStream fractionalPoints = source.open(FILENAME)) {
                 return mapper.readValue(fractionalPoints,
                         new TypeReference<FractionalTreeSet>() {
                         });
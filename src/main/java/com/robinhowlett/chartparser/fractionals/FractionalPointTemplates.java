@@ -0,0 +1,72 @@
+package com.robinhowlett.chartparser.fractionals;
+
+import com.robinhowlett.chartparser.fractionals.FractionalPoint.Fractional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable table of the {@link Fractional}s of each race distance, held as the sorted floors
+ * of the distances and the fractionals of each, so that it can be loaded once and shared
+ * <p>
+ * The fractionals held are templates that are never handed out; each lookup returns new
+ * instances that may be updated for a particular race.
+ */
+public class FractionalPointTemplates {
+    private final int[] floors;
+    private final Fractional[][] templates;
+
+    private FractionalPointTemplates(int[] floors, Fractional[][] templates) {
+        this.floors = floors;
+        this.templates = templates;
+    }
+
+    /**
+     * Copies the fractionals of each {@link FractionalPoint}, in floor order
+     */
+    public static FractionalPointTemplates of(FractionalTreeSet fractionalPoints) {
+        int[] floors = new int[fractionalPoints.size()];
+        Fractional[][] templates = new Fractional[fractionalPoints.size()][];
+        int index = 0;
+        for (FractionalPoint fractionalPoint : fractionalPoints) {
+            floors[index] = fractionalPoint.getFloor();
+            List<Fractional> fractionals = fractionalPoint.getFractionals();
+            templates[index] = new Fractional[fractionals.size()];
+            for (int i = 0; i < fractionals.size(); i++) {
+                templates[index][i] = copy(fractionals.get(i));
+            }
+            index++;
+        }
+        return new FractionalPointTemplates(floors, templates);
+    }
+
+    /**
+     * New instances of the fractionals of the greatest floor at or below the distance (as
+     * {@link FractionalTreeSet#floor(Object)} would find), or null if the distance is below
+     * every floor
+     */
+    public List<Fractional> getFractionalsForDistance(int distanceInFeet) {
+        int index = Arrays.binarySearch(floors, distanceInFeet);
+        if (index < 0) {
+            // the insertion point is after the greatest floor below the distance
+            index = -(index + 1) - 1;
+            if (index < 0) {
+                return null;
+            }
+        }
+
+        Fractional[] fractionals = templates[index];
+        List<Fractional> copies = new ArrayList<>(fractionals.length);
+        for (Fractional fractional : fractionals) {
+            copies.add(copy(fractional));
+        }
+        return copies;
+    }
+
+    private static Fractional copy(Fractional fractional) {
+        return new Fractional(fractional.getPoint(), fractional.getText(),
+                fractional.getCompact(), fractional.getFeet(), fractional.getTime(),
+                fractional.getMillis());
+    }
+}
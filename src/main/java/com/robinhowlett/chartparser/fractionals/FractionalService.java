@@ -1,6 +1,7 @@
 package com.robinhowlett.chartparser.fractionals;
 
 import com.robinhowlett.chartparser.charts.pdf.Breed;
+import com.robinhowlett.chartparser.charts.text.ChartTokens;
 import com.robinhowlett.chartparser.exceptions.ChartParserException;
 import com.robinhowlett.chartparser.fractionals.FractionalPoint.Fractional;
 
@@ -10,20 +11,23 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Gets the {@link Fractional}s for a particular race distance from the {@link
  * FractionalPointRepository}. In cases where fractions appear to be missing, it makes a guess about
  * which fraction it should correspond to. Calculates the number of milliseconds each fraction
  * corresponds to as well
+ * <p>
+ * The fractional points are loaded from the repository once, when first needed, as immutable
+ * {@link FractionalPointTemplates}; each race is given its own {@link Fractional} instances, so
+ * the service can be shared across threads. {@link #refresh()} reloads them.
  */
 public class FractionalService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(FractionalService.class);
 
     private FractionalPointRepository repository;
+    private volatile FractionalPointTemplates templates;
 
     public FractionalService(FractionalPointRepository repository) {
         this.repository = repository;
@@ -34,13 +38,15 @@ public class FractionalService {
         List<Fractional> fractionals = new ArrayList<>();
 
         if (fractions != null && !fractions.isEmpty()) {
-            FractionalTreeSet fractionalSet = repository.findAll();
-
-            // find the fractionals for this race distance
-            FractionalPoint fractionalPoint = fractionalSet.floor(createForFloor(distanceInFeet));
+            // find the fractionals for this race distance (new instances, for this race only)
+            List<Fractional> fractionalPoints =
+                    getTemplates().getFractionalsForDistance(distanceInFeet);
+            if (fractionalPoints == null) {
+                throw new ChartParserException(String.format("No fractional points found for " +
+                        "distance (%s)", compact));
+            }
 
             int index = 0;
-            List<Fractional> fractionalPoints = fractionalPoint.getFractionals();
 
             // if the number of fractions detected is fewer than expected, or contains an invalid
             // value
@@ -125,43 +131,29 @@ public class FractionalService {
         return (i == (fractions.size() - 1));
     }
 
-    private static FractionalPoint createForFloor(int fractionalPointInFeet) {
-        return new FractionalPoint(fractionalPointInFeet);
+    /**
+     * Reloads the fractional points from the repository, publishing them once loaded
+     */
+    public void refresh() throws ChartParserException {
+        templates = FractionalPointTemplates.of(repository.findAll());
     }
 
-    public static Optional<Long> calculateMillisecondsForFraction(String time) {
-        Pattern ELAPSED_TIME_PATTERN = Pattern.compile("((\\d+):)?(\\d+)+\\.(\\d)(\\d)?(\\d)?");
-        Matcher matcher = ELAPSED_TIME_PATTERN.matcher(time);
-        if (matcher.find()) {
-            long millis = 0;
-
-            String minsMatch = matcher.group(2);
-            if (minsMatch != null) {
-                millis += (Integer.parseInt(minsMatch) * (60 * 1000));
-            }
-
-            String secondsMatch = matcher.group(3);
-            if (secondsMatch != null) {
-                millis += (Integer.parseInt(secondsMatch) * 1000);
-            }
-
-            String tenthsMatch = matcher.group(4);
-            if (tenthsMatch != null) {
-                millis += (Integer.parseInt(tenthsMatch) * 100);
-            }
-
-            String hundrethsMatch = matcher.group(5);
-            if (hundrethsMatch != null) {
-                millis += (Integer.parseInt(hundrethsMatch) * 10);
-            }
-
-            String millisMatch = matcher.group(6);
-            if (millisMatch != null) {
-                millis += Integer.parseInt(millisMatch);
+    private FractionalPointTemplates getTemplates() throws ChartParserException {
+        FractionalPointTemplates templates = this.templates;
+        if (templates == null) {
+            synchronized (this) {
+                templates = this.templates;
+                if (templates == null) {
+                    templates = FractionalPointTemplates.of(repository.findAll());
+                    this.templates = templates;
+                }
             }
-
-            return Optional.of(millis);
         }
-        return Optional.empty();
+        return templates;
+    }
+
+    public static Optional<Long> calculateMillisecondsForFraction(String time) {
+        long millis = ChartTokens.scanElapsedMillis(time);
+        return (millis != ChartTokens.NO_TIME ? Optional.of(millis) : Optional.empty());
     }
 }
@@ -2,6 +2,7 @@ package com.robinhowlett.chartparser.points_of_call;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.robinhowlett.chartparser.ReferenceDataSource;
 import com.robinhowlett.chartparser.charts.pdf.Breed;
 
 import org.slf4j.Logger;
@@ -9,28 +10,50 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * Loads the points of call for a particular {@link Breed} as a {@link PointsOfCallTreeSet}. For
  * mixed breed races, the charts represent these in a QH-style format, but the points of call are
- * different based on whether the race distance is more in line with a TB or a QH race.
+ * different based on whether the race distance is more in line with a TB or a QH race. The files
+ * are read from the classpath or (when present) a reference data directory.
  */
 public class PointsOfCallRepository {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PointsOfCallRepository.class);
+    private static final Pattern TB_TYPE_DISTANCE = Pattern.compile("^.* furlongs?|miles? .*$");
+
+    static final List<String> FILE_NAMES = Collections.unmodifiableList(Arrays.asList(
+            "points_of_call/points-of-call.json",
+            "points_of_call/points-of-call_long-mixed.json",
+            "points_of_call/points-of-call_short-mixed.json"));
 
     private ObjectMapper mapper;
+    private ReferenceDataSource source;
 
     public PointsOfCallRepository(ObjectMapper mapper) {
+        this(mapper, ReferenceDataSource.CLASSPATH);
+    }
+
+    /**
+     * @param source where to read the files from e.g. a {@link
+     *               com.robinhowlett.chartparser.ReferenceDataDirectory}
+     */
+    public PointsOfCallRepository(ObjectMapper mapper, ReferenceDataSource source) {
         this.mapper = mapper;
+        this.source = source;
     }
 
     public PointsOfCallTreeSet findByBreed(Breed breed, String distance) {
-        String fileNameForBreed = getFileNameForBreed(breed, distance);
+        return findByFileName(getFileNameForBreed(breed, distance));
+    }
 
+    PointsOfCallTreeSet findByFileName(String fileNameForBreed) {
         try {
-            try (InputStream pointsOfCall =
-                         getClass().getClassLoader().getResourceAsStream(fileNameForBreed)) {
+            try (InputStream pointsOfCall = source.open(fileNameForBreed)) {
                 return mapper.readValue(pointsOfCall, new TypeReference<PointsOfCallTreeSet>() {
                 });
             }
@@ -40,10 +63,10 @@ public class PointsOfCallRepository {
         }
     }
 
-    private String getFileNameForBreed(Breed breed, String distance) {
+    static String getFileNameForBreed(Breed breed, String distance) {
         StringBuilder filename = new StringBuilder("points_of_call/points-of-call");
         if (breed.equals(Breed.QUARTER_HORSE) || breed.equals(Breed.MIXED)) {
-            if (distance.toLowerCase().matches("^.* furlongs?|miles? .*$")) {
+            if (TB_TYPE_DISTANCE.matcher(distance.toLowerCase()).matches()) {
                 filename.append("_long-mixed"); // TB-type race distances
             } else {
                 filename.append("_short-mixed"); // QH-type race distances
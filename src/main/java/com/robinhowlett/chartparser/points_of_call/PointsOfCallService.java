@@ -3,26 +3,53 @@ package com.robinhowlett.chartparser.points_of_call;
 import com.robinhowlett.chartparser.charts.pdf.Breed;
 import com.robinhowlett.chartparser.charts.pdf.DistanceSurfaceTrackRecord.RaceDistance;
 
-import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Gets the {@link PointsOfCall}s for a particular race distance from the
  * {@link PointsOfCallRepository}
+ * <p>
+ * Each of the repository's points of call files is loaded once, when first needed, as an
+ * immutable {@link PointsOfCallTable}; each starter is given its own {@link PointsOfCall}
+ * instance, so the service can be shared across threads. {@link #refresh()} reloads them.
  */
 public class PointsOfCallService {
 
     private PointsOfCallRepository repository;
+    private volatile Map<String, PointsOfCallTable> tablesByFileName = new ConcurrentHashMap<>();
 
     public PointsOfCallService(PointsOfCallRepository repository) {
         this.repository = repository;
     }
 
     public PointsOfCall getPointsOfCallForDistance(Breed breed, RaceDistance raceDistance) {
-        PointsOfCallTreeSet pointsOfCall = repository.findByBreed(breed, raceDistance.getText());
-        return pointsOfCall.floor(createForFloor(raceDistance.getFeet()));
+        String fileName =
+                PointsOfCallRepository.getFileNameForBreed(breed, raceDistance.getText());
+        PointsOfCallTable pointsOfCall = tablesByFileName.computeIfAbsent(fileName,
+                name -> PointsOfCallTable.of(repository.findByFileName(name)));
+        return pointsOfCall.getPointsOfCall(raceDistance.getFeet());
     }
 
-    private static PointsOfCall createForFloor(int pointOfCallInFeet) {
-        return new PointsOfCall("", pointOfCallInFeet, new ArrayList<>());
+    /**
+     * Loads each of the repository's points of call files now, rather than when first needed
+     */
+    public void loadAll() {
+        for (String fileName : PointsOfCallRepository.FILE_NAMES) {
+            tablesByFileName.computeIfAbsent(fileName,
+                    name -> PointsOfCallTable.of(repository.findByFileName(name)));
+        }
+    }
+
+    /**
+     * Reloads the points of call files loaded so far from the repository, publishing them once
+     * all are loaded
+     */
+    public void refresh() {
+        Map<String, PointsOfCallTable> tables = new ConcurrentHashMap<>();
+        for (String fileName : tablesByFileName.keySet()) {
+            tables.put(fileName, PointsOfCallTable.of(repository.findByFileName(fileName)));
+        }
+        tablesByFileName = tables;
     }
 }
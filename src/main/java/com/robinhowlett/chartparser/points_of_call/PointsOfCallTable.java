@@ -0,0 +1,68 @@
+package com.robinhowlett.chartparser.points_of_call;
+
+import com.robinhowlett.chartparser.points_of_call.PointsOfCall.PointOfCall;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable table of the {@link PointsOfCall} of each race distance, held as the sorted floors
+ * of the distances and the points of call of each, so that it can be loaded once and shared
+ * <p>
+ * The points of call held are templates that are never handed out; each lookup returns new
+ * instances that may be updated for a particular starter.
+ */
+public class PointsOfCallTable {
+    private final int[] floors;
+    private final PointsOfCall[] templates;
+
+    private PointsOfCallTable(int[] floors, PointsOfCall[] templates) {
+        this.floors = floors;
+        this.templates = templates;
+    }
+
+    /**
+     * Copies the points of call of each distance, in floor order
+     */
+    public static PointsOfCallTable of(PointsOfCallTreeSet pointsOfCall) {
+        int[] floors = new int[pointsOfCall.size()];
+        PointsOfCall[] templates = new PointsOfCall[pointsOfCall.size()];
+        int index = 0;
+        for (PointsOfCall pointsOfCallForDistance : pointsOfCall) {
+            floors[index] = pointsOfCallForDistance.getFloor();
+            templates[index] = copy(pointsOfCallForDistance);
+            index++;
+        }
+        return new PointsOfCallTable(floors, templates);
+    }
+
+    /**
+     * New instances of the points of call of the greatest floor at or below the distance (as
+     * {@link PointsOfCallTreeSet#floor(Object)} would find), or null if the distance is below
+     * every floor
+     */
+    public PointsOfCall getPointsOfCall(int distanceInFeet) {
+        int index = Arrays.binarySearch(floors, distanceInFeet);
+        if (index < 0) {
+            // the insertion point is after the greatest floor below the distance
+            index = -(index + 1) - 1;
+            if (index < 0) {
+                return null;
+            }
+        }
+        return copy(templates[index]);
+    }
+
+    private static PointsOfCall copy(PointsOfCall pointsOfCall) {
+        List<PointOfCall> calls = null;
+        if (pointsOfCall.getCalls() != null) {
+            calls = new ArrayList<>(pointsOfCall.getCalls().size());
+            for (PointOfCall call : pointsOfCall.getCalls()) {
+                calls.add(new PointOfCall(call.getPoint(), call.getText(), call.getCompact(),
+                        call.getFeet(), call.getRelativePosition()));
+            }
+        }
+        return new PointsOfCall(pointsOfCall.getDistance(), pointsOfCall.getFloor(), calls);
+    }
+}
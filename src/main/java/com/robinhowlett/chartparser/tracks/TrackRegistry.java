@@ -0,0 +1,69 @@
+package com.robinhowlett.chartparser.tracks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An immutable snapshot of the {@link Track}s, indexed by code, name, canonical code and state,
+ * so that each lookup is a single hash lookup rather than a scan of every track
+ * <p>
+ * Where more than one track has the same name, the first (in the order they were loaded) is the
+ * one found by name, as a scan would find.
+ */
+class TrackRegistry {
+    private final List<Track> tracks;
+    private final Map<String, Track> tracksByCode;
+    private final Map<String, Track> tracksByName;
+    private final Map<String, List<Track>> tracksByCanonical;
+    private final Map<String, List<Track>> tracksByState;
+
+    TrackRegistry(List<Track> tracks) {
+        this.tracks = Collections.unmodifiableList(new ArrayList<>(tracks));
+
+        Map<String, Track> tracksByCode = new HashMap<>();
+        Map<String, Track> tracksByName = new HashMap<>();
+        Map<String, List<Track>> tracksByCanonical = new HashMap<>();
+        Map<String, List<Track>> tracksByState = new HashMap<>();
+        for (Track track : this.tracks) {
+            tracksByCode.putIfAbsent(track.getCode(), track);
+            if (track.getName() != null) {
+                tracksByName.putIfAbsent(track.getName().trim(), track);
+            }
+            tracksByCanonical.computeIfAbsent(track.getCanonical(),
+                    canonical -> new ArrayList<>()).add(track);
+            // tracks outside of the US and Canada have no state
+            if (track.getState() != null) {
+                tracksByState.computeIfAbsent(track.getState(), state -> new ArrayList<>())
+                        .add(track);
+            }
+        }
+        this.tracksByCode = tracksByCode;
+        this.tracksByName = tracksByName;
+        this.tracksByCanonical = tracksByCanonical;
+        this.tracksByState = tracksByState;
+    }
+
+    Optional<Track> findByCode(String trackCode) {
+        return Optional.ofNullable(tracksByCode.get(trackCode.trim()));
+    }
+
+    Optional<Track> findByName(String trackName) {
+        return Optional.ofNullable(tracksByName.get(trackName.trim()));
+    }
+
+    List<Track> findByCanonical(String canonical) {
+        return tracksByCanonical.getOrDefault(canonical.trim(), Collections.emptyList());
+    }
+
+    List<Track> findByState(String state) {
+        return tracksByState.getOrDefault(state.trim(), Collections.emptyList());
+    }
+
+    List<Track> findAll() {
+        return tracks;
+    }
+}
@@ -3,6 +3,7 @@ package com.robinhowlett.chartparser.tracks;
 import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.dataformat.csv.CsvMapper;
 import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.robinhowlett.chartparser.ReferenceDataSource;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,7 +18,8 @@ import static java.util.Optional.empty;
 import static java.util.Optional.of;
 
 /**
- * Loads the {@link Track} codes, countries, and names from a file
+ * Loads the {@link Track} codes, countries, and names from a file, from the classpath or (when
+ * present) a reference data directory
  */
 public class TrackRepository {
 
@@ -25,9 +27,19 @@ public class TrackRepository {
     private static final String FILENAME = "track-codes.csv";
 
     private CsvMapper csvMapper;
+    private ReferenceDataSource source;
 
     public TrackRepository(CsvMapper csvMapper) {
+        this(csvMapper, ReferenceDataSource.CLASSPATH);
+    }
+
+    /**
+     * @param source where to read the file from e.g. a {@link
+     *               com.robinhowlett.chartparser.ReferenceDataDirectory}
+     */
+    public TrackRepository(CsvMapper csvMapper, ReferenceDataSource source) {
         this.csvMapper = csvMapper;
+        this.source = source;
     }
 
     public Optional<Track> findByCode(String trackCode) {
@@ -51,7 +63,8 @@ public class TrackRepository {
     public List<Track> findByState(String state) {
         List<Track> tracks = new ArrayList<>();
         for (Track track : findAll()) {
-            if (track.getState().trim().equals(state.trim())) {
+            // tracks outside of the US and Canada have no state
+            if (state.trim().equals(track.getState())) {
                 tracks.add(track);
             }
         }
@@ -62,7 +75,7 @@ public class TrackRepository {
         CsvSchema schema = CsvSchema.emptySchema().withColumnSeparator(';').withHeader();
 
         try {
-            try (InputStream tracks = getClass().getClassLoader().getResourceAsStream(FILENAME)) {
+            try (InputStream tracks = source.open(FILENAME)) {
                 MappingIterator<Track> mappingIterator = csvMapper.readerFor(Track.class)
                         .with(schema).readValues(tracks);
                 return mappingIterator.readAll();
@@ -1,32 +1,67 @@
 package com.robinhowlett.chartparser.tracks;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Gets the {@link Track}s from the {@link TrackRepository}
+ * <p>
+ * The tracks are loaded from the repository once, when first needed, and held as an indexed
+ * snapshot that is shared by all lookups (so the same {@link Track} instances are returned each
+ * time, and should not be modified). {@link #refresh()} reloads the tracks and replaces the
+ * snapshot; lookups already underway complete against the previous one.
  */
 public class TrackService {
 
     private TrackRepository repository;
+    private volatile TrackRegistry registry;
 
     public TrackService(TrackRepository repository) {
         this.repository = repository;
     }
 
     public Optional<Track> getTrack(String trackCode) {
-        return repository.findByCode(trackCode);
+        return getRegistry().findByCode(trackCode);
     }
 
     public Optional<Track> getTrackWithName(String trackName) {
-        return repository.findByName(trackName);
+        return getRegistry().findByName(trackName);
+    }
+
+    /**
+     * The tracks with this canonical code e.g. PHA and PRX
+     */
+    public List<Track> getTracksWithCanonical(String canonical) {
+        return new ArrayList<>(getRegistry().findByCanonical(canonical));
     }
 
     public List<Track> getTracksWithState(String state) {
-        return repository.findByState(state);
+        return new ArrayList<>(getRegistry().findByState(state));
     }
 
     public List<Track> getTracks() {
-        return repository.findAll();
+        return new ArrayList<>(getRegistry().findAll());
+    }
+
+    /**
+     * Reloads the tracks from the repository, publishing them as a new snapshot once loaded
+     */
+    public void refresh() {
+        registry = new TrackRegistry(repository.findAll());
+    }
+
+    private TrackRegistry getRegistry() {
+        TrackRegistry registry = this.registry;
+        if (registry == null) {
+            synchronized (this) {
+                registry = this.registry;
+                if (registry == null) {
+                    registry = new TrackRegistry(repository.findAll());
+                    this.registry = registry;
+                }
+            }
+        }
+        return registry;
     }
 }
@@ -0,0 +1,57 @@
+package com.robinhowlett.chartparser;
+
+import com.robinhowlett.chartparser.ChartDocumentLoader.LoadedDocument;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ChartDocumentLoaderTest {
+
+    private TestChartResources sampleCharts = new TestChartResources();
+
+    @Test
+    public void memoryUsageSetting_WithMemoryBudget_UsesMixedMode() throws Exception {
+        ChartDocumentLoader documentLoader = new ChartDocumentLoader(1024, null, 0);
+
+        assertThat(documentLoader.memoryUsageSetting().useMainMemory(), is(true));
+        assertThat(documentLoader.memoryUsageSetting().useTempFile(), is(true));
+        assertThat(documentLoader.memoryUsageSetting().getMaxMainMemoryBytes(), equalTo(1024L));
+    }
+
+    @Test
+    public void load_WithOneLoadedDocumentAllowed_BlocksUntilFirstIsClosed() throws Exception {
+        ChartDocumentLoader documentLoader = new ChartDocumentLoader(
+                ChartDocumentLoader.UNRESTRICTED, null, 1);
+        ChartSource chartSource = ChartSource.of(sampleCharts.getPdfChartsFile());
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch secondLoaded = new CountDownLatch(1);
+            Future<?> second;
+            try (LoadedDocument first = documentLoader.load(chartSource)) {
+                second = executor.submit(() -> {
+                    try (LoadedDocument loadedDocument = documentLoader.load(chartSource)) {
+                        secondLoaded.countDown();
+                    }
+                    return null;
+                });
+
+                assertThat(secondLoaded.await(200, TimeUnit.MILLISECONDS), is(false));
+            }
+
+            second.get(10, TimeUnit.SECONDS);
+            assertThat(secondLoaded.getCount(), equalTo(0L));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
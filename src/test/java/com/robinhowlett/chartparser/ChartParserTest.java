@@ -1,20 +1,45 @@
 package com.robinhowlett.chartparser;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.robinhowlett.chartparser.ChartDocumentLoader.LoadedDocument;
+import com.robinhowlett.chartparser.cache.ChartCharacterCache;
+import com.robinhowlett.chartparser.cache.RaceResultCache;
 import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
+import com.robinhowlett.chartparser.charts.pdf.RaceResult;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.robinhowlett.chartparser.charts.pdf.Chart.convertToText;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.junit.Assert.assertThat;
 
 public class ChartParserTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private TestChartResources sampleCharts = new TestChartResources();
 
     @Test
@@ -55,6 +80,27 @@ public class ChartParserTest {
         assertThat(linesOfChartCharacters, is(expected));
     }
 
+    @Test
+    public void combineMultiPageCharts_WithChartSpreadOverTwoPages_MatchesSeparatingWholeChart()
+            throws Exception {
+        List<ChartCharacter> chartCharacters =
+                ChartParser.readChartCsv(sampleCharts.getFirstCsvChart());
+        List<List<ChartCharacter>> expected = ChartParser.separateIntoLines(chartCharacters);
+
+        // split mid-line, and at the start of a line
+        int lineStart = expected.get(0).size() + expected.get(1).size();
+        for (int split : new int[]{lineStart + 3, lineStart}) {
+            List<List<ChartCharacter>> pages = new ArrayList<>();
+            pages.add(new ArrayList<>(chartCharacters.subList(0, split)));
+            pages.add(new ArrayList<>(chartCharacters.subList(split, chartCharacters.size())));
+
+            List<List<List<ChartCharacter>>> charts = ChartParser.combineMultiPageCharts(pages);
+
+            assertThat(charts.size(), equalTo(1));
+            assertThat(charts.get(0), is(expected));
+        }
+    }
+
     @Test
     public void getRunningLines_WithSampleChartSections_ExtractsRunningLinesCorrectly()
             throws Exception {
@@ -72,4 +118,198 @@ public class ChartParserTest {
         List<String> csvCharts = ChartParser.convertToCsv(sampleCharts.getPdfChartsFile());
         assertThat(csvCharts, is(expected));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void extractChartLines_WithSamplePdfChart_MatchesDeserializedCsvChartLines()
+            throws Exception {
+        List<List<List<ChartCharacter>>> expected = new ArrayList<>();
+        for (String csvChart : sampleCharts.getCsvCharts()) {
+            expected.add(ChartParser.separateIntoLines(ChartParser.readChartCsv(csvChart)));
+        }
+
+        List<List<List<ChartCharacter>>> charts =
+                ChartParser.extractChartLines(sampleCharts.getPdfChartsFile());
+
+        assertThat(charts, is(expected));
+    }
+
+    @Test
+    public void extractChartLines_WithExecutor_MatchesSequentialExtraction()
+            throws Exception {
+        List<List<List<ChartCharacter>>> expected =
+                ChartParser.extractChartLines(sampleCharts.getPdfChartsFile());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<List<List<ChartCharacter>>> charts = ChartParser.extractChartLines(
+                    sampleCharts.getPdfChartsFile(), executor);
+
+            assertThat(charts, is(expected));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void extractPages_WithExecutor_LoadsTheDocumentOncePerWorkerNotPerPage()
+            throws Exception {
+        ChartSource chartSource = ChartSource.of(sampleCharts.getPdfChartsFile());
+        List<List<ChartCharacter>> expected = new ArrayList<>();
+        ChartParser.extractPages(chartSource, null, new ChartDocumentLoader(), expected);
+
+        AtomicInteger loads = new AtomicInteger();
+        ChartDocumentLoader countingLoader = new ChartDocumentLoader() {
+            @Override
+            LoadedDocument load(ChartSource source) throws IOException {
+                loads.incrementAndGet();
+                return super.load(source);
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<List<ChartCharacter>> pages = new ArrayList<>();
+            ChartParser.extractPages(chartSource, executor, countingLoader, pages);
+
+            assertThat(pages, is(expected));
+            // the calling thread and the executor's two threads
+            assertThat(loads.get(), lessThanOrEqualTo(3));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void stream_WithSamplePdfChart_YieldsSameRaceResultsAsParse() throws Exception {
+        ChartParser chartParser = ChartParser.create();
+        List<RaceResult> expected = chartParser.parse(sampleCharts.getPdfChartsFile());
+
+        List<RaceResult> raceResults;
+        try (Stream<RaceResult> stream = chartParser.stream(sampleCharts.getPdfChartsFile())) {
+            raceResults = stream.collect(Collectors.toList());
+        }
+
+        assertThat(raceResults.size(), equalTo(9));
+        assertThat(raceResults, is(expected));
+    }
+
+    @Test(timeout = 60000)
+    public void stream_WithLastRaceResultRead_ReleasesThePdfBeforeTheStreamIsClosed()
+            throws Exception {
+        ChartParser chartParser = new ChartParser.Builder()
+                .maxLoadedDocuments(1)
+                .build();
+        File pdfChartsFile = sampleCharts.getPdfChartsFile();
+
+        try (Stream<RaceResult> stream = chartParser.stream(pdfChartsFile)) {
+            Iterator<RaceResult> raceResults = stream.iterator();
+            List<RaceResult> streamed = new ArrayList<>();
+            while (streamed.size() < 9) {
+                streamed.add(raceResults.next());
+            }
+
+            // would block waiting for the only slot if the stream still held it
+            assertThat(chartParser.parse(pdfChartsFile), is(streamed));
+            assertThat(raceResults.hasNext(), is(false));
+        }
+    }
+
+    @Test
+    public void parse_WithInMemorySources_YieldsSameRaceResultsAsFile() throws Exception {
+        ChartParser chartParser = ChartParser.create();
+        File pdfChartsFile = sampleCharts.getPdfChartsFile();
+        List<RaceResult> expected = chartParser.parse(pdfChartsFile);
+
+        byte[] pdfChart = Files.readAllBytes(pdfChartsFile.toPath());
+        assertThat(chartParser.parse(pdfChart, pdfChartsFile.getName()), is(expected));
+
+        try (FileChannel channel = FileChannel.open(pdfChartsFile.toPath())) {
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            assertThat(chartParser.parse(mapped, pdfChartsFile.getName()), is(expected));
+        }
+
+        try (InputStream inputStream = new ByteArrayInputStream(pdfChart)) {
+            assertThat(chartParser.parse(inputStream, pdfChartsFile.getName()), is(expected));
+        }
+    }
+
+    @Test
+    public void parse_WithCharacterCache_YieldsSameRaceResultsFromCachedCharacters()
+            throws Exception {
+        File pdfChartsFile = sampleCharts.getPdfChartsFile();
+        List<RaceResult> expected = ChartParser.create().parse(pdfChartsFile);
+
+        ChartCharacterCache characterCache =
+                new ChartCharacterCache(temporaryFolder.getRoot().toPath());
+        ChartParser chartParser = new ChartParser.Builder()
+                .characterCache(characterCache)
+                .build();
+
+        assertThat(chartParser.parse(pdfChartsFile), is(expected));
+        String contentHash = ChartSource.of(pdfChartsFile).getContentHash();
+        assertThat(characterCache.read(contentHash).isPresent(), is(true));
+
+        // served from the cache
+        assertThat(chartParser.parse(pdfChartsFile), is(expected));
+        try (Stream<RaceResult> raceResults = chartParser.stream(pdfChartsFile)) {
+            assertThat(raceResults.collect(Collectors.toList()), is(expected));
+        }
+    }
+
+    @Test
+    public void parse_WithResultCache_ReturnsCachedRaceResultsForSamePdf() throws Exception {
+        File pdfChartsFile = sampleCharts.getPdfChartsFile();
+        RaceResultCache resultCache = new RaceResultCache(temporaryFolder.getRoot().toPath(), 0);
+        ChartParser chartParser = new ChartParser.Builder()
+                .resultCache(resultCache)
+                .build();
+
+        List<RaceResult> expected = chartParser.parse(pdfChartsFile);
+        String key = RaceResultCache.key(ChartSource.of(pdfChartsFile).getContentHash(),
+                ChartParser.RESULT_VERSION + "." + ChartParser.DEFAULT_REFERENCE_DATA_VERSION);
+        assertThat(resultCache.get(key).isPresent(), is(true));
+
+        // served from the cache, under a different name
+        byte[] pdfChart = Files.readAllBytes(pdfChartsFile.toPath());
+        List<RaceResult> raceResults = chartParser.parse(pdfChart, "re-sent.pdf");
+
+        ObjectMapper mapper = ChartParser.getObjectMapper();
+        assertThat(mapper.writeValueAsString(raceResults),
+                equalTo(mapper.writeValueAsString(expected)));
+    }
+
+    @Test
+    public void parse_WithPageTimeBudget_SkipsChartsThatExceedItWithoutCachingResults()
+            throws Exception {
+        File pdfChartsFile = sampleCharts.getPdfChartsFile();
+        List<RaceResult> expected = ChartParser.create().parse(pdfChartsFile);
+
+        ChartParser generousParser = new ChartParser.Builder()
+                .pageTimeBudget(Duration.ofMinutes(1))
+                .build();
+        assertThat(generousParser.parse(pdfChartsFile), is(expected));
+
+        RaceResultCache resultCache = new RaceResultCache(temporaryFolder.getRoot().toPath(), 0);
+        ChartParser exhaustedParser = new ChartParser.Builder()
+                .pageTimeBudget(Duration.ofNanos(1))
+                .resultCache(resultCache)
+                .build();
+        assertThat(exhaustedParser.parse(pdfChartsFile).isEmpty(), is(true));
+
+        String key = RaceResultCache.key(ChartSource.of(pdfChartsFile).getContentHash(),
+                ChartParser.RESULT_VERSION + "." + ChartParser.DEFAULT_REFERENCE_DATA_VERSION);
+        assertThat(resultCache.get(key).isPresent(), is(false));
+    }
+
+    @Test
+    public void parseDump_WithSampleCsvCharts_YieldsSameRaceResultsAsPdf() throws Exception {
+        ChartParser chartParser = ChartParser.create();
+        List<RaceResult> expected = chartParser.parse(sampleCharts.getPdfChartsFile());
+
+        List<RaceResult> raceResults = new ArrayList<>();
+        for (File csvChartFile : sampleCharts.getCsvChartsFiles()) {
+            chartParser.parseDump(csvChartFile).ifPresent(raceResults::add);
+        }
+
+        assertThat(raceResults, is(expected));
+    }
+}
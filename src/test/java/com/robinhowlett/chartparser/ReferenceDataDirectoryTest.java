@@ -0,0 +1,141 @@
+package com.robinhowlett.chartparser;
+
+import com.robinhowlett.chartparser.tracks.Track;
+import com.robinhowlett.chartparser.tracks.TrackService;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ReferenceDataDirectoryTest {
+
+    private static final String NEW_TRACK = "\nZZZ;ZZZ;USA;KY ;LEXINGTON;NEW TRACK";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void of_WithEmptyDirectory_ReadsTheBundledReferenceData() throws Exception {
+        Path directory = temporaryFolder.getRoot().toPath();
+        ReferenceDataDirectory referenceData = ReferenceDataDirectory.of(directory);
+
+        TrackService bundled = ChartParser.create().getTrackService();
+        assertThat(referenceData.getReferenceData().getTrackService().getTracks(),
+                equalTo(bundled.getTracks()));
+        assertThat(referenceData.getVersion(),
+                equalTo(ReferenceDataDirectory.of(directory).getVersion()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void of_WithMissingDirectory_ThrowsIllegalArgumentException() throws Exception {
+        ReferenceDataDirectory.of(temporaryFolder.getRoot().toPath().resolve("missing"));
+    }
+
+    @Test
+    public void reload_WithUpdatedTracks_SwapsInTheNewTracksAndVersion() throws Exception {
+        Path directory = temporaryFolder.getRoot().toPath();
+        Path trackCodes = copyBundledTrackCodes(directory);
+        ReferenceDataDirectory referenceData = ReferenceDataDirectory.of(directory);
+        ChartParser chartParser =
+                new ChartParser.Builder().referenceDataDirectory(referenceData).build();
+        ReferenceData loaded = chartParser.getReferenceData();
+
+        assertFalse(loaded.getTrackService().getTrack("ZZZ").isPresent());
+
+        Files.write(trackCodes, NEW_TRACK.getBytes(UTF_8), APPEND);
+        assertTrue(referenceData.reload());
+
+        Optional<Track> track = chartParser.getTrackService().getTrack("ZZZ");
+        assertTrue(track.isPresent());
+        assertThat(track.get().getName(), equalTo("NEW TRACK"));
+        assertThat(chartParser.getReferenceDataVersion(), not(equalTo(loaded.getVersion())));
+
+        // the reference data previously read (e.g. by a parse underway) is unchanged
+        assertFalse(loaded.getTrackService().getTrack("ZZZ").isPresent());
+    }
+
+    @Test
+    public void reload_WithUnreadableTracks_KeepsThePreviousTracksAndReloadsTheRest()
+            throws Exception {
+        Path directory = temporaryFolder.getRoot().toPath();
+        Path trackCodes = copyBundledTrackCodes(directory);
+        Path fractionalTimes = copyBundled(directory, "fractional-times.json");
+        ReferenceDataDirectory referenceData = ReferenceDataDirectory.of(directory);
+        ReferenceData loaded = referenceData.getReferenceData();
+
+        Files.write(trackCodes, "\n\"unterminated".getBytes(UTF_8), APPEND);
+        Files.write(fractionalTimes, " ".getBytes(UTF_8), APPEND);
+        assertFalse(referenceData.reload());
+
+        ReferenceData reloaded = referenceData.getReferenceData();
+        assertThat(reloaded.getTrackService(), sameInstance(loaded.getTrackService()));
+        assertThat(reloaded.getFractionalService(),
+                not(sameInstance(loaded.getFractionalService())));
+        assertThat(reloaded.getVersion(), not(equalTo(loaded.getVersion())));
+    }
+
+    @Test
+    public void reload_WithUnreadableTracksOnly_KeepsTheVersion() throws Exception {
+        Path directory = temporaryFolder.getRoot().toPath();
+        Path trackCodes = copyBundledTrackCodes(directory);
+        ReferenceDataDirectory referenceData = ReferenceDataDirectory.of(directory);
+        String version = referenceData.getVersion();
+
+        Files.write(trackCodes, "\n\"unterminated".getBytes(UTF_8), APPEND);
+        assertFalse(referenceData.reload());
+
+        assertThat(referenceData.getVersion(), equalTo(version));
+        assertTrue(referenceData.getReferenceData().getTrackService().getTrack("AQU")
+                .isPresent());
+    }
+
+    @Test
+    public void watch_WithUpdatedTracks_ReloadsThemInTheBackground() throws Exception {
+        Path directory = temporaryFolder.getRoot().toPath();
+        Path trackCodes = copyBundledTrackCodes(directory);
+
+        try (ReferenceDataDirectory referenceData = ReferenceDataDirectory.of(directory).watch()) {
+            assertFalse(hasTrack(referenceData, "ZZZ"));
+
+            Files.write(trackCodes, NEW_TRACK.getBytes(UTF_8), APPEND);
+
+            long deadline = System.currentTimeMillis() + 30_000;
+            while (!hasTrack(referenceData, "ZZZ") && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertTrue(hasTrack(referenceData, "ZZZ"));
+        }
+    }
+
+    private static boolean hasTrack(ReferenceDataDirectory referenceData, String code) {
+        return referenceData.getReferenceData().getTrackService().getTrack(code).isPresent();
+    }
+
+    private static Path copyBundledTrackCodes(Path directory) throws IOException {
+        return copyBundled(directory, "track-codes.csv");
+    }
+
+    private static Path copyBundled(Path directory, String fileName) throws IOException {
+        Path file = directory.resolve(fileName);
+        try (InputStream bundled = ReferenceDataSource.CLASSPATH.open(fileName)) {
+            Files.copy(bundled, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return file;
+    }
+}
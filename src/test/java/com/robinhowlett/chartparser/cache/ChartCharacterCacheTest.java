@@ -0,0 +1,91 @@
+package com.robinhowlett.chartparser.cache;
+
+import com.robinhowlett.chartparser.TestChartResources;
+import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ChartCharacterCacheTest {
+
+    private static final String CONTENT_HASH = "0123456789abcdef";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private TestChartResources sampleCharts = new TestChartResources();
+
+    @Test
+    public void read_WithWrittenPages_ReturnsSamePages() throws Exception {
+        List<List<ChartCharacter>> pages = Arrays.asList(getSamplePage(0),
+                Collections.emptyList(), getSamplePage(1));
+
+        ChartCharacterCache characterCache =
+                new ChartCharacterCache(temporaryFolder.getRoot().toPath());
+        characterCache.write(CONTENT_HASH, pages);
+
+        Optional<ChartCharacterCache.CachedPages> cachedPages = characterCache.read(CONTENT_HASH);
+
+        assertThat(cachedPages.isPresent(), is(true));
+        assertThat(cachedPages.get().getNumberOfPages(), equalTo(3));
+        assertThat(cachedPages.get().getPages(), equalTo(pages));
+    }
+
+    @Test
+    public void read_WithUncommittedEntry_ReturnsEmpty() throws Exception {
+        Path directory = temporaryFolder.getRoot().toPath();
+        ChartCharacterCache characterCache = new ChartCharacterCache(directory);
+        try (ChartCharacterCache.Writer writer = characterCache.writer(CONTENT_HASH)) {
+            writer.addPage(getSamplePage(0));
+        }
+
+        assertThat(characterCache.read(CONTENT_HASH).isPresent(), is(false));
+        assertThat(Files.list(directory).count(), equalTo(0L));
+    }
+
+    @Test
+    public void read_WithDifferentExtractorVersion_ReturnsEmpty() throws Exception {
+        ChartCharacterCache characterCache =
+                new ChartCharacterCache(temporaryFolder.getRoot().toPath());
+        characterCache.write(CONTENT_HASH, Collections.singletonList(getSamplePage(0)));
+
+        Path path = characterCache.pathFor(CONTENT_HASH);
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[11]++;
+        Files.write(path, bytes);
+
+        assertThat(characterCache.read(CONTENT_HASH).isPresent(), is(false));
+    }
+
+    @Test
+    public void read_WithTruncatedEntry_ReturnsEmpty() throws Exception {
+        ChartCharacterCache characterCache =
+                new ChartCharacterCache(temporaryFolder.getRoot().toPath());
+        characterCache.write(CONTENT_HASH, Collections.singletonList(getSamplePage(0)));
+
+        Path path = characterCache.pathFor(CONTENT_HASH);
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 7));
+
+        assertThat(characterCache.read(CONTENT_HASH).isPresent(), is(false));
+    }
+
+    private List<ChartCharacter> getSamplePage(int chartPageIndex) throws Exception {
+        return sampleCharts.getSampleChartLines(chartPageIndex).stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,131 @@
+package com.robinhowlett.chartparser.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.robinhowlett.chartparser.ChartParser;
+import com.robinhowlett.chartparser.TestChartResources;
+import com.robinhowlett.chartparser.charts.pdf.RaceResult;
+import com.robinhowlett.chartparser.charts.pdf.Starter;
+import com.robinhowlett.chartparser.charts.pdf.Trainer;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class RaceResultCacheTest {
+
+    private static final String CONTENT_HASH = "0123456789abcdef";
+
+    private static List<RaceResult> raceResults;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void parseSampleCharts() throws Exception {
+        raceResults = ChartParser.create().parse(new TestChartResources().getPdfChartsFile());
+    }
+
+    @Test
+    public void get_WithStoredRaceResults_ReturnsSameRaceResultsWhenReadFromDisk()
+            throws Exception {
+        Path directory = temporaryFolder.getRoot().toPath();
+        String key = RaceResultCache.key(CONTENT_HASH, "1.bundled");
+        new RaceResultCache(directory, 0).put(key, raceResults);
+
+        Optional<List<RaceResult>> cached = new RaceResultCache(directory, 0).get(key);
+
+        assertThat(cached.isPresent(), is(true));
+        ObjectMapper mapper = ChartParser.getObjectMapper();
+        assertThat(mapper.writeValueAsString(cached.get()),
+                equalTo(mapper.writeValueAsString(raceResults)));
+    }
+
+    @Test
+    public void get_WithStoredRaceResults_ReturnsSameRaceResultsFromMemory() throws Exception {
+        RaceResultCache resultCache = new RaceResultCache(temporaryFolder.getRoot().toPath(), 1);
+        String key = RaceResultCache.key(CONTENT_HASH, "1.bundled");
+        resultCache.put(key, raceResults);
+
+        assertThat(resultCache.get(key), equalTo(Optional.of(raceResults)));
+    }
+
+    @Test
+    public void get_WithStoredRaceResults_ReturnsRaceResultsWithSameGetters() throws Exception {
+        Path directory = temporaryFolder.getRoot().toPath();
+        String key = RaceResultCache.key(CONTENT_HASH, "1.bundled");
+        new RaceResultCache(directory, 0).put(key, raceResults);
+
+        List<RaceResult> cached = new RaceResultCache(directory, 0).get(key).get();
+
+        assertThat(cached, equalTo(raceResults));
+        for (int i = 0; i < raceResults.size(); i++) {
+            List<Starter> starters = raceResults.get(i).getStarters();
+            List<Starter> cachedStarters = cached.get(i).getStarters();
+            for (int j = 0; j < starters.size(); j++) {
+                Starter starter = starters.get(j);
+                Starter cachedStarter = cachedStarters.get(j);
+                assertThat(cachedStarter.getOwner().getProgram(),
+                        equalTo(starter.getOwner().getProgram()));
+                assertThat(cachedStarter.getTrainer().getProgram(),
+                        equalTo(starter.getTrainer().getProgram()));
+                assertThat(cachedStarter.getWinPlaceShowPayoff(),
+                        equalTo(starter.getWinPlaceShowPayoff()));
+                assertThat(cachedStarter.getRatings(), equalTo(starter.getRatings()));
+                assertThat(cachedStarter.getLastRaced(), equalTo(starter.getLastRaced()));
+            }
+        }
+    }
+
+    @Test
+    public void get_AfterReturnedAndStoredRaceResultsAreModified_ReturnsUnmodifiedRaceResults()
+            throws Exception {
+        List<RaceResult> stored = ChartParser.create()
+                .parse(new TestChartResources().getPdfChartsFile());
+        RaceResultCache resultCache = new RaceResultCache(temporaryFolder.getRoot().toPath(), 1);
+        String key = RaceResultCache.key(CONTENT_HASH, "1.bundled");
+        resultCache.put(key, stored);
+
+        stored.get(0).getStarters().get(0).setTrainer(new Trainer("1", "Stored", "Trainer"));
+        List<RaceResult> returned = resultCache.get(key).get();
+        returned.get(0).getStarters().get(0).setTrainer(new Trainer("1", "Returned", "Trainer"));
+
+        List<RaceResult> cached = resultCache.get(key).get();
+        assertThat(cached, not(sameInstance(returned)));
+        assertThat(cached, equalTo(raceResults));
+    }
+
+    @Test
+    public void get_WithDifferentVersion_ReturnsEmpty() throws Exception {
+        RaceResultCache resultCache = new RaceResultCache(temporaryFolder.getRoot().toPath(), 1);
+        resultCache.put(RaceResultCache.key(CONTENT_HASH, "1.bundled"), raceResults);
+
+        assertThat(resultCache.get(RaceResultCache.key(CONTENT_HASH, "2.bundled")).isPresent(),
+                is(false));
+    }
+
+    @Test
+    public void get_WithCorruptEntry_ReturnsEmpty() throws Exception {
+        RaceResultCache resultCache = new RaceResultCache(temporaryFolder.getRoot().toPath(), 0);
+        String key = RaceResultCache.key(CONTENT_HASH, "1.bundled");
+        Files.write(resultCache.pathFor(key), "[{\"track\":".getBytes("UTF-8"));
+
+        assertThat(resultCache.get(key).isPresent(), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void key_WithInvalidVersion_ThrowsIllegalArgumentException() throws Exception {
+        RaceResultCache.key(CONTENT_HASH, "../1");
+    }
+}
@@ -0,0 +1,74 @@
+package com.robinhowlett.chartparser.charts.pdf;
+
+import com.robinhowlett.chartparser.TestChartResources;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ChartCharacterBufferTest {
+
+    private TestChartResources sampleCharts = new TestChartResources();
+
+    @Test
+    public void getLines_WithSampleChart_MatchesSeparatedLines() throws Exception {
+        List<List<ChartCharacter>> lines = sampleCharts.getSampleChartLines(0);
+
+        ChartCharacterBuffer buffer = ChartCharacterBuffer.of(flatten(lines));
+
+        assertThat(buffer.getNumberOfLines(), equalTo(lines.size()));
+        assertThat(buffer.getLines(), equalTo(lines));
+    }
+
+    @Test
+    public void getText_WithSampleChart_MatchesConvertToText() throws Exception {
+        List<List<ChartCharacter>> lines = sampleCharts.getSampleChartLines(0);
+
+        ChartCharacterBuffer.Lines bufferLines =
+                ChartCharacterBuffer.of(flatten(lines)).getLines();
+
+        for (int i = 0; i < lines.size(); i++) {
+            assertThat(bufferLines.getText(i), equalTo(Chart.convertToText(lines.get(i))));
+        }
+    }
+
+    @Test
+    public void get_WithModifiedLine_ReturnsSameLineAndItsText() throws Exception {
+        List<List<ChartCharacter>> lines = sampleCharts.getSampleChartLines(0);
+        ChartCharacterBuffer.Lines bufferLines =
+                ChartCharacterBuffer.of(flatten(lines)).getLines();
+
+        List<ChartCharacter> line = bufferLines.get(0);
+        line.remove(0);
+
+        assertThat(bufferLines.get(0), sameInstance(line));
+        assertThat(bufferLines.getText(0), equalTo(Chart.convertToText(line)));
+    }
+
+    @Test
+    public void concat_WithTwoPages_MatchesSeparatingBothPagesTogether() throws Exception {
+        List<ChartCharacter> firstPage = flatten(sampleCharts.getSampleChartLines(0));
+        List<ChartCharacter> secondPage = flatten(sampleCharts.getSampleChartLines(1));
+        List<ChartCharacter> bothPages = new ArrayList<>(firstPage);
+        bothPages.addAll(secondPage);
+
+        ChartCharacterBuffer buffer = ChartCharacterBuffer.concat(
+                ChartCharacterBuffer.of(firstPage), ChartCharacterBuffer.of(secondPage));
+
+        assertThat(buffer, equalTo(bothPages));
+        assertThat(buffer.getLines(), equalTo(ChartCharacterBuffer.of(bothPages).getLines()));
+    }
+
+    private static List<ChartCharacter> flatten(List<List<ChartCharacter>> lines) {
+        List<ChartCharacter> chartCharacters = new ArrayList<>();
+        for (List<ChartCharacter> line : lines) {
+            chartCharacters.addAll(line);
+        }
+        return chartCharacters;
+    }
+}
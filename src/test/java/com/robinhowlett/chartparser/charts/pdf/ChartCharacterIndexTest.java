@@ -0,0 +1,62 @@
+package com.robinhowlett.chartparser.charts.pdf;
+
+import com.robinhowlett.chartparser.TestChartResources;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class ChartCharacterIndexTest {
+
+    private TestChartResources sampleCharts = new TestChartResources();
+
+    @Test
+    public void charactersIn_WithSampleChart_MatchesScanOfEveryCharacter() throws Exception {
+        List<ChartCharacter> chartCharacters = new ArrayList<>();
+        for (List<ChartCharacter> line : sampleCharts.getSampleChartLines(0)) {
+            chartCharacters.addAll(line);
+        }
+        ChartCharacterIndex index = ChartCharacterIndex.of(chartCharacters);
+
+        double[][] regions = {{0, 0, 1000, 1000}, {100, 200, 250.5, 300.25},
+                {9.92, 31.63, 9.92, 31.63}, {300, 0, Math.nextDown(400.0), 700}, {5, 5, 1, 1}};
+        for (double[] region : regions) {
+            List<ChartCharacter> expected = new ArrayList<>();
+            for (ChartCharacter chartCharacter : chartCharacters) {
+                if (chartCharacter.getxDirAdj() >= region[0] &&
+                        chartCharacter.getyDirAdj() >= region[1] &&
+                        chartCharacter.getxDirAdj() <= region[2] &&
+                        chartCharacter.getyDirAdj() <= region[3]) {
+                    expected.add(chartCharacter);
+                }
+            }
+            assertThat(index.charactersIn(region[0], region[1], region[2], region[3]),
+                    equalTo(expected));
+        }
+    }
+
+    @Test
+    public void charactersIn_WithColumnEndingAtNextColumn_ExcludesNextColumn() throws Exception {
+        ChartCharacter a = sampleCharts.getSampleChartCharacter(9.92, 100.0, 'a');
+        ChartCharacter b = sampleCharts.getSampleChartCharacter(15.696, 100.0, 'b');
+        ChartCharacterIndex index = ChartCharacterIndex.of(Arrays.asList(a, b));
+
+        assertThat(index.charactersIn(0, 100.0, Math.nextDown(15.696), 100.0),
+                equalTo(Arrays.asList(a)));
+        assertThat(index.charactersIn(15.696, 100.0, Double.MAX_VALUE, 100.0),
+                equalTo(Arrays.asList(b)));
+    }
+
+    @Test
+    public void atLeastAndAtMost_WithBoundsBetweenThousandths_RoundInwards() throws Exception {
+        assertThat(ChartCharacterIndex.atLeast(1.0005), equalTo(1001L));
+        assertThat(ChartCharacterIndex.atMost(1.0005), equalTo(1000L));
+        assertThat(ChartCharacterIndex.atLeast(9.92), equalTo(9920L));
+        assertThat(ChartCharacterIndex.atMost(Math.nextDown(9.92)), equalTo(9919L));
+    }
+}
@@ -0,0 +1,81 @@
+package com.robinhowlett.chartparser.charts.pdf;
+
+import com.robinhowlett.chartparser.TestChartResources;
+import com.robinhowlett.chartparser.charts.pdf.ChartClassification.Kind;
+import com.robinhowlett.chartparser.charts.pdf.TrackRaceDateRaceNumber.InvalidRaceException;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class ChartClassificationTest {
+
+    private TestChartResources sampleCharts = new TestChartResources();
+
+    @Test
+    public void classify_WithSampleChart_ClassifiesAsRace() throws Exception {
+        List<List<ChartCharacter>> lines = sampleCharts.getSampleChartLines(0);
+
+        ChartClassification classification = ChartClassification.classify(lines);
+
+        assertThat(classification.getKind(), equalTo(Kind.RACE));
+        assertThat(classification.getTrackRaceDateRaceNumber(),
+                equalTo(new TrackRaceDateRaceNumber("ARAPAHOE PARK", LocalDate.of(2016, 7, 24),
+                        1)));
+        assertThat(classification.getCancellation(lines), equalTo(Cancellation.notCancelled()));
+    }
+
+    @Test
+    public void classify_WithCancellationBanner_ClassifiesAsCancelled() throws Exception {
+        List<List<ChartCharacter>> lines = new ArrayList<>();
+        lines.add(textLine("ARAPAHOE PARK - July 24, 2016 - Race 1", 31.63));
+        lines.add(textLine("Cancelled - Weather", 40.63));
+
+        ChartClassification classification = ChartClassification.classify(lines);
+
+        assertThat(classification.getKind(), equalTo(Kind.CANCELLED));
+        assertThat(classification.getCancellation(lines), equalTo(new Cancellation("Weather")));
+    }
+
+    @Test
+    public void classify_WithCancellationAfterPreview_MatchesCancellationParse()
+            throws Exception {
+        List<List<ChartCharacter>> lines = sampleCharts.getSampleChartLines(0);
+        lines.add(textLine("CANCELLED - Track Conditions", 500));
+
+        ChartClassification classification = ChartClassification.classify(lines);
+
+        assertThat(classification.getKind(), equalTo(Kind.RACE));
+        assertThat(classification.getCancellation(lines), equalTo(Cancellation.parse(lines)));
+    }
+
+    @Test(expected = InvalidRaceException.class)
+    public void classify_WithoutHeader_ThrowsInvalidRaceException() throws Exception {
+        List<List<ChartCharacter>> lines = new ArrayList<>();
+        lines.add(textLine("Not a race chart", 31.63));
+
+        ChartClassification.classify(lines);
+    }
+
+    private List<ChartCharacter> textLine(String text, double yDirAdj) {
+        List<ChartCharacter> line = new ArrayList<>();
+        double xDirAdj = 9.92;
+        for (char unicode : text.toCharArray()) {
+            ChartCharacter chartCharacter =
+                    sampleCharts.getSampleChartCharacter(xDirAdj, yDirAdj, unicode);
+            // a gap narrower than a character is read as a space
+            if (unicode == ' ') {
+                xDirAdj = Chart.round(xDirAdj + chartCharacter.getWidthOfSpace()).doubleValue();
+                continue;
+            }
+            line.add(chartCharacter);
+            xDirAdj = Chart.round(xDirAdj + chartCharacter.getWidthDirAdj()).doubleValue();
+        }
+        return line;
+    }
+}
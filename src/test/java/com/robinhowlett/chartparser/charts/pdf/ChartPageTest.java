@@ -0,0 +1,36 @@
+package com.robinhowlett.chartparser.charts.pdf;
+
+import com.robinhowlett.chartparser.TestChartResources;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ChartPageTest {
+
+    private TestChartResources sampleCharts = new TestChartResources();
+
+    @Test
+    public void getText_WithSampleChart_MatchesConvertToText() throws Exception {
+        List<List<ChartCharacter>> lines = sampleCharts.getSampleChartLines(0);
+
+        ChartPage page = ChartPage.of(lines);
+
+        assertThat(page, equalTo(lines));
+        for (int i = 0; i < lines.size(); i++) {
+            assertThat(page.getText(i), equalTo(Chart.convertToText(lines.get(i))));
+            assertThat(page.getTexts().get(i), sameInstance(page.getText(i)));
+        }
+    }
+
+    @Test
+    public void of_WithChartPage_ReturnsSamePage() throws Exception {
+        ChartPage page = ChartPage.of(sampleCharts.getSampleChartLines(0));
+
+        assertThat(ChartPage.of(page), sameInstance(page));
+    }
+}
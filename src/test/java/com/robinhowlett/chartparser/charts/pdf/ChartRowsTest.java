@@ -0,0 +1,56 @@
+package com.robinhowlett.chartparser.charts.pdf;
+
+import com.robinhowlett.chartparser.TestChartResources;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class ChartRowsTest {
+
+    private TestChartResources sampleCharts = new TestChartResources();
+
+    @Test
+    public void of_WithCharactersOnInterleavedRows_GroupsByVerticalPosition() throws Exception {
+        ChartCharacter a = sampleCharts.getSampleChartCharacter(9.92, 100.0, 'a');
+        ChartCharacter b = sampleCharts.getSampleChartCharacter(9.92, 110.0, 'b');
+        ChartCharacter c = sampleCharts.getSampleChartCharacter(15.696, 100.0, 'c');
+        ChartCharacter d = sampleCharts.getSampleChartCharacter(15.696, 110.0, 'd');
+
+        ChartRows rows = ChartRows.of(Arrays.asList(a, b, c, d));
+
+        assertThat(rows.size(), equalTo(2));
+        assertThat(rows.get(0), equalTo(Arrays.asList(a, c)));
+        assertThat(rows.get(1), equalTo(Arrays.asList(b, d)));
+        assertThat(rows.getyDirAdj(1), equalTo(110.0));
+        assertThat(rows.getRowOf(2), equalTo(0));
+        assertThat(rows.getRowStart(1), equalTo(1));
+    }
+
+    @Test
+    public void of_WithTolerance_GroupsNearbyPositionsIntoNearestRow() throws Exception {
+        List<ChartCharacter> chartCharacters = Arrays.asList(
+                sampleCharts.getSampleChartCharacter(9.92, 100.0, 'a'),
+                sampleCharts.getSampleChartCharacter(15.696, 100.5, 'b'),
+                sampleCharts.getSampleChartCharacter(21.472, 101.001, 'c'),
+                sampleCharts.getSampleChartCharacter(27.248, 101.9, 'd'),
+                sampleCharts.getSampleChartCharacter(33.024, 99.0, 'e'));
+
+        ChartRows rows = ChartRows.of(chartCharacters, 1);
+
+        assertThat(rows.size(), equalTo(2));
+        assertThat(rows.get(0), equalTo(Arrays.asList(chartCharacters.get(0),
+                chartCharacters.get(1), chartCharacters.get(4))));
+        assertThat(rows.get(1), equalTo(Arrays.asList(chartCharacters.get(2),
+                chartCharacters.get(3))));
+    }
+
+    @Test
+    public void of_WithNoCharacters_ReturnsNoRows() throws Exception {
+        assertThat(ChartRows.of(Arrays.asList()).isEmpty(), equalTo(true));
+    }
+}
@@ -0,0 +1,115 @@
+package com.robinhowlett.chartparser.charts.pdf;
+
+import com.robinhowlett.chartparser.TestChartResources;
+import com.robinhowlett.chartparser.charts.pdf.ChartSections.Section;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.robinhowlett.chartparser.charts.pdf.ChartSections.Section.FOOTNOTES;
+import static com.robinhowlett.chartparser.charts.pdf.ChartSections.Section.OWNERS;
+import static com.robinhowlett.chartparser.charts.pdf.ChartSections.Section.PURSE;
+import static com.robinhowlett.chartparser.charts.pdf.ChartSections.Section.SCRATCHES;
+import static com.robinhowlett.chartparser.charts.pdf.ChartSections.Section.TRAINERS;
+import static com.robinhowlett.chartparser.charts.pdf.ChartSections.Section.WINNER;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class ChartSectionsTest {
+
+    private TestChartResources sampleCharts = new TestChartResources();
+
+    @Test
+    public void of_WithSampleChart_RoutesLinesContainingEachAnchor() throws Exception {
+        List<List<ChartCharacter>> lines = sampleCharts.getSampleChartLines(0);
+
+        ChartSections sections = ChartSections.of(lines);
+
+        assertThat(sections.getLines(PURSE).getTexts(), equalTo(Arrays.asList(
+                "Purse: $9,700",
+                "Available Money: $9,700",
+                "Value of Race: $9,700 1st $5,820, 2nd $1,940, 3rd $970, 4th $582, 5th $194, " +
+                        "6th $97, 7th $97")));
+        assertThat(sections.getLines(WINNER).size(), equalTo(2));
+        assertThat(sections.getLines(TRAINERS).getText(0).startsWith("Trainers:|"),
+                equalTo(true));
+        assertThat(sections.getLines(OWNERS).getText(0).startsWith("Owners:|"), equalTo(true));
+        assertThat(sections.getLines(SCRATCHES).isEmpty(), equalTo(true));
+        assertThat(sections.getUnrecognizedLines().isEmpty(), equalTo(true));
+    }
+
+    @Test
+    public void of_WithFootnotes_RoutesEveryLineFromFootnotesToEnd() throws Exception {
+        List<List<ChartCharacter>> lines = sampleCharts.getSampleChartLines(0);
+        ChartPage page = ChartPage.of(lines);
+
+        ChartSections sections = ChartSections.of(page);
+
+        int from = page.getTexts().indexOf("Footnotes");
+        assertThat(sections.getLines(FOOTNOTES), equalTo(lines.subList(from, lines.size())));
+        assertThat(Footnotes.parse(sections.getLines(FOOTNOTES)),
+                equalTo(Footnotes.parse(lines)));
+    }
+
+    @Test
+    public void of_WithEachSampleChart_ParsesSameAsWholeChart() throws Exception {
+        for (int i = 0; i < sampleCharts.getCsvCharts().size(); i++) {
+            List<List<ChartCharacter>> lines = sampleCharts.getSampleChartLines(i);
+
+            ChartSections sections = ChartSections.of(lines);
+
+            assertThat(Purse.parse(sections.getLines(PURSE)).toString(),
+                    equalTo(Purse.parse(lines).toString()));
+            assertThat(Winner.parse(sections.getLines(WINNER)),
+                    equalTo(Winner.parse(lines)));
+            assertThat(Trainer.parse(sections.getLines(TRAINERS)),
+                    equalTo(Trainer.parse(lines)));
+            assertThat(Owner.parse(sections.getLines(OWNERS)), equalTo(Owner.parse(lines)));
+            assertThat(Scratch.parse(sections.getLines(SCRATCHES)),
+                    equalTo(Scratch.parse(lines)));
+        }
+    }
+
+    @Test
+    public void of_WithUnknownSectionLabel_ReportsUnrecognizedLine() throws Exception {
+        List<List<ChartCharacter>> lines = new ArrayList<>();
+        lines.add(textLine("Purse: $9,700", 31.63));
+        lines.add(textLine("Equipment: Blinkers On", 40.63));
+        lines.add(textLine("Weather: Clear|Track: Fast", 49.63));
+
+        ChartSections sections = ChartSections.of(lines);
+
+        assertThat(sections.getUnrecognizedLines(),
+                equalTo(Collections.singletonList("Equipment: Blinkers On")));
+        assertThat(sections.getLines(Section.WEATHER_TRACK_CONDITION).size(), equalTo(1));
+    }
+
+    @Test
+    public void getLabel_WithLabelledAndUnlabelledText_ReturnsLabelOrNull() throws Exception {
+        assertThat(ChartSections.getLabel("Run-Up: 30 feet"), equalTo("Run-Up"));
+        assertThat(ChartSections.getLabel("Total|Handle: $150,430"), nullValue());
+        assertThat(ChartSections.getLabel("on the rail but was outfinished: late"), nullValue());
+    }
+
+    private List<ChartCharacter> textLine(String text, double yDirAdj) {
+        List<ChartCharacter> line = new ArrayList<>();
+        double xDirAdj = 9.92;
+        for (char unicode : text.toCharArray()) {
+            ChartCharacter chartCharacter =
+                    sampleCharts.getSampleChartCharacter(xDirAdj, yDirAdj, unicode);
+            // a gap narrower than a character is read as a space
+            if (unicode == ' ') {
+                xDirAdj = Chart.round(xDirAdj + chartCharacter.getWidthOfSpace()).doubleValue();
+                continue;
+            }
+            line.add(chartCharacter);
+            xDirAdj = Chart.round(xDirAdj + chartCharacter.getWidthDirAdj()).doubleValue();
+        }
+        return line;
+    }
+}
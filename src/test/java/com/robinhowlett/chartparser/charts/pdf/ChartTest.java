@@ -7,6 +7,7 @@ import org.junit.Test;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import static com.robinhowlett.chartparser.charts.pdf.Chart.addWhitespaceIfRequired;
 import static com.robinhowlett.chartparser.charts.pdf.Chart.convertToText;
@@ -59,6 +60,61 @@ public class ChartTest {
         assertThat(addWhitespaceIfRequired(102.168, 95.72, 2.224), equalTo(PIPE));
     }
 
+    @Test
+    public void toThousandths_WithVariousValues_MatchesRound() throws Exception {
+        double[] values = {31.630505, 1.0005, 0.0015, -2.0005, 9.92, 209.385, 0.1 + 0.2, 1e-4};
+        for (double value : values) {
+            assertThat(Chart.toThousandths(value),
+                    equalTo(Chart.round(value).unscaledValue().longValue()));
+        }
+
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            double value = (i % 2 == 0) ? random.nextDouble() * 600 :
+                    Chart.round(random.nextDouble() * 600).doubleValue();
+            assertThat(Chart.toThousandths(value),
+                    equalTo(Chart.round(value).unscaledValue().longValue()));
+        }
+    }
+
+    @Test
+    public void getWhitespace_WithSampleCharts_MatchesBigDecimalSpacing() throws Exception {
+        for (int i = 0; i < sampleCharts.getCsvCharts().size(); i++) {
+            for (List<ChartCharacter> line : sampleCharts.getSampleChartLines(i)) {
+                for (int j = 1; j < line.size(); j++) {
+                    ChartCharacter prev = line.get(j - 1);
+                    ChartCharacter curr = line.get(j);
+                    BigDecimal spacing = Chart.round(curr.getxDirAdj()).subtract(
+                            Chart.round(prev.getxDirAdj()).add(
+                                    Chart.round(prev.getWidthDirAdj())));
+                    String expected = NO_SPACE;
+                    if (spacing.compareTo(BigDecimal.valueOf(0.001)) > 0 &&
+                            spacing.compareTo(Chart.THREE) <= 0) {
+                        expected = SPACE;
+                    } else if (spacing.compareTo(Chart.THREE) > 0) {
+                        expected = PIPE;
+                    }
+
+                    assertThat(addWhitespaceIfRequired(curr.getxDirAdj(), prev.getxDirAdj(),
+                            prev.getWidthDirAdj()), equalTo(expected));
+                    assertThat(Chart.getWhitespace(curr, prev), equalTo(
+                            Chart.getWhitespace(curr.getxDirAdj(), prev.getxDirAdj(),
+                                    prev.getWidthDirAdj())));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void appendText_WithReusedBuilder_AppendsSameTextAsConvertToText() throws Exception {
+        List<List<ChartCharacter>> lines = sampleCharts.getSampleChartLines(0);
+        StringBuilder sb = new StringBuilder();
+        for (List<ChartCharacter> line : lines) {
+            sb.setLength(0);
+            assertThat(Chart.appendText(sb, line).toString(), equalTo(convertToText(line)));
+        }
+    }
+
     @Test
     public void getRootProgram_WithVariousPrograms_ReturnsCorrectRootProgram() throws Exception {
         assertThat("1", equalTo(Chart.getEntryProgram("1")));
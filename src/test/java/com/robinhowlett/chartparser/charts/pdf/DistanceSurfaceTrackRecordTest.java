@@ -1,6 +1,7 @@
 package com.robinhowlett.chartparser.charts.pdf;
 
 import com.robinhowlett.chartparser.TestChartResources;
+import com.robinhowlett.chartparser.charts.pdf.DistanceSurfaceTrackRecord.RaceDistance;
 import com.robinhowlett.chartparser.exceptions.ChartParserException;
 
 import org.junit.Test;
@@ -8,13 +9,23 @@ import org.junit.Test;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
 
 import static com.robinhowlett.chartparser.charts.pdf.DistanceSurfaceTrackRecord.parse;
 import static com.robinhowlett.chartparser.charts.pdf.DistanceSurfaceTrackRecord
         .parseDistanceSurface;
+import static com.robinhowlett.chartparser.charts.pdf.DistanceSurfaceTrackRecord
+        .parseRaceDistance;
+import static com.robinhowlett.chartparser.charts.pdf.DistanceSurfaceTrackRecord
+        .resolveRaceDistance;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
 public class DistanceSurfaceTrackRecordTest {
 
@@ -75,4 +86,39 @@ public class DistanceSurfaceTrackRecordTest {
 
         assertThat(distanceSurface, equalTo(expected));
     }
+
+    @Test
+    public void parseRaceDistance_CalledRepeatedly_ReturnsNewCopiesOfTheResolvedDistance()
+            throws Exception {
+        List<String> distanceDescriptions = Arrays.asList("Six Furlongs",
+                "Three Hundred And Fifty Yards", "About One And Nine Sixteenth Miles",
+                "Four Furlongs And Seventy Yards", "Five Hundred And Seventy");
+
+        for (String distanceDescription : distanceDescriptions) {
+            RaceDistance expected = resolveRaceDistance(distanceDescription);
+
+            RaceDistance first = parseRaceDistance(distanceDescription);
+            assertThat(first, equalTo(expected));
+            first.setRunUp(50);
+            first.setTempRail(10);
+
+            RaceDistance second = parseRaceDistance(distanceDescription);
+            assertThat(second, not(sameInstance(first)));
+            assertThat(second, equalTo(expected));
+            assertThat(second.getRunUp(), nullValue());
+        }
+    }
+
+    @Test
+    public void parseRaceDistance_WithUnresolvableDistance_ThrowsEachTime() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            try {
+                parseRaceDistance("One And One Third Miles");
+                fail("Expected a ChartParserException");
+            } catch (ChartParserException e) {
+                assertThat(e.getMessage(), equalTo("Unable to parse a fractional mile " +
+                        "denominator from text: third"));
+            }
+        }
+    }
 }
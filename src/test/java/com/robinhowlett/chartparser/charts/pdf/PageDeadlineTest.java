@@ -0,0 +1,71 @@
+package com.robinhowlett.chartparser.charts.pdf;
+
+import com.robinhowlett.chartparser.exceptions.PageTimeoutException;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class PageDeadlineTest {
+
+    // backtracks exponentially on a run of a's without a b
+    private static final Pattern RUNAWAY = Pattern.compile("^(a+)+b$");
+
+    @Test(timeout = 5000)
+    public void guard_WithRunawayMatch_CutsItOffOnceTheBudgetIsSpent() throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            text.append('a');
+        }
+
+        try (PageDeadline deadline = PageDeadline.start(Duration.ofMillis(50))) {
+            deadline.step("race header");
+            RUNAWAY.matcher(PageDeadline.guard(text)).find();
+            fail("the match should have been cut off");
+        } catch (PageDeadline.Exceeded e) {
+            assertThat(e.getCause().getStep(), equalTo("race header"));
+            assertThat(e.getCause().getBudget(), equalTo(Duration.ofMillis(50)));
+        }
+    }
+
+    @Test
+    public void guard_WithoutDeadline_ReturnsTheTextUnchanged() throws Exception {
+        String text = "Fractional Times: 22.43 45.74 1:10.25";
+        assertThat(PageDeadline.guard(text), sameInstance(text));
+
+        try (PageDeadline deadline = PageDeadline.start(null)) {
+            assertThat(PageDeadline.guard(text), sameInstance(text));
+        }
+    }
+
+    @Test
+    public void guard_AfterDeadlineClosed_ReturnsTheTextUnchanged() throws Exception {
+        String text = "Fractional Times: 22.43 45.74 1:10.25";
+        try (PageDeadline deadline = PageDeadline.start(Duration.ofMinutes(1))) {
+            assertThat(PageDeadline.guard(text).toString(), equalTo(text));
+        }
+        assertThat(PageDeadline.guard(text), sameInstance(text));
+    }
+
+    @Test
+    public void step_WithSubMillisecondBudgetExceeded_ThrowsWithTheBudgetInTheMessage()
+            throws Exception {
+        try (PageDeadline deadline = PageDeadline.start(Duration.ofNanos(1))) {
+            deadline.step("race header");
+            Thread.sleep(1);
+            deadline.step("chart sections");
+            fail("the budget should have been exceeded");
+        } catch (PageTimeoutException e) {
+            assertThat(e.getStep(), is("race header"));
+            assertThat(e.getMessage(), containsString("time budget of 0.000001 ms"));
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.robinhowlett.chartparser.charts.pdf;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.robinhowlett.chartparser.ChartParser;
 import com.robinhowlett.chartparser.TestChartResources;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import static com.robinhowlett.chartparser.charts.pdf.Purse.EnhancementType.PLUS;
 import static com.robinhowlett.chartparser.charts.pdf.Purse.parsePurseText;
 
 import static org.hamcrest.Matchers.equalTo;
@@ -70,4 +73,17 @@ public class PurseTest {
         assertThat(purse.getValueOfRace(), equalTo("$9,700 1st $5,820, 2nd $1,940, 3rd $970, " +
                 "4th $485, 5th $97, 6th $97, 7th $97, 8th $97, 9th $97"));
     }
+
+    @Test
+    public void deserialize_WithEnhancements_RestoresEnhancements() throws Exception {
+        parsePurseText("Purse: $40,000 Added", purse);
+        parsePurseText("Includes: $2,000 Other Sources, $500 Breeders", purse);
+        parsePurseText("Plus: $500", purse);
+        ObjectMapper mapper = ChartParser.getObjectMapper();
+
+        Purse deserialized = mapper.readValue(mapper.writeValueAsString(purse), Purse.class);
+
+        assertThat(deserialized, equalTo(purse));
+        assertThat(deserialized.getEnhancements(PLUS), equalTo(purse.getEnhancements(PLUS)));
+    }
 }
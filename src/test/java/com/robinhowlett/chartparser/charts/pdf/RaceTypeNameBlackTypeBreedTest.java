@@ -14,6 +14,7 @@ import static com.robinhowlett.chartparser.charts.pdf.RaceTypeNameBlackTypeBreed
         .parseRaceTypeNameBlackTypeBreed;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 
 @RunWith(Parameterized.class)
@@ -83,4 +84,17 @@ public class RaceTypeNameBlackTypeBreedTest {
     public void parseBreed_WithParameterizedInput_ReturnsCorrectRaceDetails() throws Exception {
         assertThat(parseRaceTypeNameBlackTypeBreed(chartText), equalTo(expected));
     }
+
+    @Test(timeout = 5000)
+    public void parseRaceTypeNameBlackTypeBreed_WithLongLineEndingWithBreed_ReturnsQuickly()
+            throws Exception {
+        // the name cannot span lines, so this is not a race type line
+        StringBuilder text = new StringBuilder("STAKES");
+        for (int i = 0; i < 10000; i++) {
+            text.append(" \t");
+        }
+        text.append(" x\u2028 - Thoroughbred");
+
+        assertThat(parseRaceTypeNameBlackTypeBreed(text.toString()), nullValue());
+    }
 }
@@ -30,4 +30,28 @@ public class TrackRaceDateRaceNumberTest {
             throws Exception {
         assertThat(buildTrackRaceDateRaceNumber("nonsense").isPresent(), is(false));
     }
+
+    @Test(timeout = 5000)
+    public void buildTrackRaceDateRaceNumber_WithLongLineWithoutRaceNumber_ReturnsQuickly()
+            throws Exception {
+        StringBuilder text = new StringBuilder("ARAPAHOE PARK - ");
+        for (int i = 0; i < 10000; i++) {
+            text.append('x');
+        }
+        text.append(" - Race x");
+
+        assertThat(buildTrackRaceDateRaceNumber(text.toString()).isPresent(), is(false));
+    }
+
+    @Test
+    public void findTrackDateNumber_WithTextAroundHeader_FindsSameGroupsAsRegex()
+            throws Exception {
+        String text = "x ARAPAHOE PARK - July 24, 2016 - Race 12 - Race 3";
+
+        int[] groups = TrackRaceDateRaceNumber.findTrackDateNumber(text);
+
+        assertThat(text.substring(groups[0], groups[1]), equalTo(" ARAPAHOE PARK"));
+        assertThat(text.substring(groups[2], groups[3]), equalTo("July 24, 2016 - Race 12"));
+        assertThat(text.substring(groups[4], groups[5]), equalTo("3"));
+    }
 }
@@ -0,0 +1,64 @@
+package com.robinhowlett.chartparser.charts.text;
+
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.robinhowlett.chartparser.ChartParser;
+import com.robinhowlett.chartparser.TestChartResources;
+import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
+import com.robinhowlett.chartparser.exceptions.ChartParserException;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.robinhowlett.chartparser.charts.text.ChartDumpReader.HEADER;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class ChartDumpReaderTest {
+
+    private TestChartResources sampleCharts = new TestChartResources();
+
+    @Test
+    public void read_WithSampleCsvCharts_MatchesBindingEachRow() throws Exception {
+        for (String csvChart : sampleCharts.getCsvCharts()) {
+            assertThat(ChartDumpReader.read(csvChart), equalTo(bind(csvChart)));
+        }
+    }
+
+    @Test
+    public void read_WithUncommonValuesAndLineEndings_MatchesBindingEachRow() throws Exception {
+        String dump = HEADER + "\r\n" +
+                "9.920|31.630|8.000|8.000|4.760|2.224|5.776|A\r\n" +
+                "-1.5|2e1|8|8.0|1.0005|0.9999|3.|\r" +
+                "|1|2|3|4|5|6|\"";
+
+        assertThat(ChartDumpReader.read(dump), equalTo(bind(dump)));
+    }
+
+    @Test(expected = ChartParserException.class)
+    public void read_WithMissingHeader_ThrowsChartParserException() throws Exception {
+        ChartDumpReader.read("9.920|31.630|8.000|8.000|4.760|2.224|5.776|A");
+    }
+
+    @Test(expected = ChartParserException.class)
+    public void read_WithTooManyColumns_ThrowsChartParserException() throws Exception {
+        ChartDumpReader.read(HEADER + "\n9.920|31.630|8.000|8.000|4.760|2.224|5.776|A|B");
+    }
+
+    @Test(expected = ChartParserException.class)
+    public void read_WithInvalidValue_ThrowsChartParserException() throws Exception {
+        ChartDumpReader.read(HEADER + "\n9.920|0x1F|8.000|8.000|4.760|2.224|5.776|A");
+    }
+
+    // binds each row to a ChartCharacter, as the dumps were previously read
+    private static List<ChartCharacter> bind(String dump) throws Exception {
+        CsvSchema schema = CsvSchema.emptySchema()
+                .withHeader()
+                .withColumnSeparator('|')
+                .withoutQuoteChar();
+        return ChartParser.getCsvMapper().readerFor(ChartCharacter.class)
+                .with(schema)
+                .<ChartCharacter>readValues(dump)
+                .readAll();
+    }
+}
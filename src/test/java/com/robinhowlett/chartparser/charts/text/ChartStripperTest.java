@@ -1,5 +1,7 @@
 package com.robinhowlett.chartparser.charts.text;
 
+import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
+
 import org.apache.pdfbox.text.TextPosition;
 import org.apache.pdfbox.util.Matrix;
 import org.junit.Test;
@@ -40,6 +42,32 @@ public class ChartStripperTest {
                         "7.000|-6.000|14.000|5.000|11.000|13.000|2.000|A"));
     }
 
+    @Test
+    public void writeString_WithChartCharacterList_AddsRoundedChartCharacter() throws Exception {
+        List<ChartCharacter> chartCharacters = new ArrayList<>();
+        ChartStripper chartStripper = new ChartStripper(chartCharacters);
+
+        List<TextPosition> textPositions = new ArrayList<>();
+        textPositions.add(sampleTextPosition());
+
+        chartStripper.writeString("A", textPositions);
+
+        ChartCharacter expected = new ChartCharacter();
+        expected.setxDirAdj(7.0);
+        expected.setyDirAdj(-6.0);
+        expected.setFontSize(14.0);
+        expected.setxScale(5.0);
+        expected.setHeight(11.0);
+        expected.setWidthOfSpace(13.0);
+        expected.setWidthDirAdj(2.0);
+        expected.setUnicode('A');
+
+        assertThat(chartCharacters.size(), equalTo(1));
+        assertThat(chartCharacters.get(0), equalTo(expected));
+        assertThat(chartCharacters.get(0).getxDirAdjThousandths(), equalTo(7000));
+        assertThat(chartCharacters.get(0).getyDirAdjThousandths(), equalTo(-6000));
+    }
+
     private TextPosition sampleTextPosition() {
         return new TextPosition(0, 1f, 2f, new Matrix(3f, 4f, 5f, 6f, 7f, 8f),
                 9f, 10f, 11f, 12f, 13f, "A", null, null,
@@ -0,0 +1,101 @@
+package com.robinhowlett.chartparser.charts.text;
+
+import org.junit.Test;
+
+import java.text.NumberFormat;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.format.TextStyle;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.util.Locale.US;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class ChartTokensTest {
+
+    private static final Pattern ELAPSED_TIME_PATTERN =
+            Pattern.compile("((\\d+):)?(\\d+)+\\.(\\d)(\\d)?(\\d)?");
+
+    @Test
+    public void scanElapsedMillis_WithVariousTimes_MatchesRegex() throws Exception {
+        List<String> times = Arrays.asList("22.88", "1:12.98", "1:36.123", "46.1", "N/A",
+                "invalid", "", "1:2:3.45", "x:12.34", "12:.5", "1.", "Final Time: 1:09.81",
+                "23.23, 47.35, 1:11.80", "2:01.4 ", "0.00", ":12.3", "12..3");
+        for (String time : times) {
+            Matcher matcher = ELAPSED_TIME_PATTERN.matcher(time);
+            long expected = ChartTokens.NO_TIME;
+            if (matcher.find()) {
+                expected = (matcher.group(2) != null ?
+                        Integer.parseInt(matcher.group(2)) * 60000 : 0) +
+                        Integer.parseInt(matcher.group(3)) * 1000 +
+                        Integer.parseInt(matcher.group(4)) * 100 +
+                        (matcher.group(5) != null ? Integer.parseInt(matcher.group(5)) * 10 : 0) +
+                        (matcher.group(6) != null ? Integer.parseInt(matcher.group(6)) : 0);
+            }
+            assertThat(time, ChartTokens.scanElapsedMillis(time), equalTo(expected));
+        }
+    }
+
+    @Test
+    public void parseAmount_WithCommonAmounts_MatchesNumberFormat() throws Exception {
+        List<String> amounts = Arrays.asList("9,700", "3.40", "1,234.50", "150,430", "0.10",
+                "12", "2.1", "1,000,000", "999.99", "0.3");
+        for (String amount : amounts) {
+            assertThat(amount, ChartTokens.parseAmount(amount),
+                    equalTo(NumberFormat.getNumberInstance(US).parse(amount).doubleValue()));
+            assertThat(amount, ChartTokens.parseDoubleAmount(amount),
+                    equalTo(NumberFormat.getNumberInstance(US).parse(amount).doubleValue()));
+        }
+        assertThat(ChartTokens.parseWholeAmount("9,700"), equalTo(9700L));
+        assertThat(ChartTokens.parseIntAmount("1,250,000"), equalTo(1250000));
+    }
+
+    @Test
+    public void parseAmount_WithUncommonAmounts_LeavesThemToNumberFormat() throws Exception {
+        List<String> amounts = Arrays.asList("", "1,23", "12,3456", "1234,567", "3.", ".5",
+                "3.40 (2)", "$5", "1,234,", "-1", "1234567890123456");
+        for (String amount : amounts) {
+            assertThat(amount, Double.isNaN(ChartTokens.parseAmount(amount)), equalTo(true));
+            assertThat(amount, ChartTokens.parseWholeAmount(amount),
+                    equalTo(ChartTokens.NOT_AN_AMOUNT));
+        }
+        assertThat(ChartTokens.parseDoubleAmount("3.40 (2)"), equalTo(3.4));
+        assertThat(ChartTokens.parseIntAmount("1234,567"), equalTo(1234567));
+    }
+
+    @Test
+    public void parseDecimal_WithOdds_MatchesParseDouble() throws Exception {
+        List<String> odds = Arrays.asList("2.40", "0.10", "12", "99.90", "0.3", "1.05", "7.7",
+                "123456789.012345");
+        for (String value : odds) {
+            assertThat(value, ChartTokens.parseDecimal(value),
+                    equalTo(Double.parseDouble(value)));
+        }
+        assertThat(Double.isNaN(ChartTokens.parseDecimal("1,000")), equalTo(true));
+        assertThat(Double.isNaN(ChartTokens.parseDecimal("2.40*")), equalTo(true));
+    }
+
+    @Test
+    public void parseDayMonthYear_WithLastRaceDates_ResolvesTwoDigitYears() throws Exception {
+        String[] monthNames = new String[12];
+        for (Month month : Month.values()) {
+            monthNames[month.ordinal()] = month.getDisplayName(TextStyle.SHORT, Locale.US);
+        }
+
+        assertThat(ChartTokens.parseDayMonthYear("12Jan17", monthNames, 1937),
+                equalTo(LocalDate.of(2017, 1, 12)));
+        assertThat(ChartTokens.parseDayMonthYear("5Dec97", monthNames, 1937),
+                equalTo(LocalDate.of(1997, 12, 5)));
+        assertThat(ChartTokens.parseDayMonthYear("5Dec36", monthNames, 1937),
+                equalTo(LocalDate.of(2036, 12, 5)));
+        assertThat(ChartTokens.parseDayMonthYear("31Feb17", monthNames, 1937), nullValue());
+        assertThat(ChartTokens.parseDayMonthYear("12JAN17", monthNames, 1937), nullValue());
+        assertThat(ChartTokens.parseDayMonthYear("12Jan2017", monthNames, 1937), nullValue());
+    }
+}
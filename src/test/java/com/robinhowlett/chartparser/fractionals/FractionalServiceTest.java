@@ -12,7 +12,11 @@ import java.util.Optional;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -56,4 +60,41 @@ public class FractionalServiceTest {
 
         assertThat(fractionals, equalTo(expected));
     }
+
+    @Test
+    public void getFractionalPointsForDistance_CalledForTwoRaces_LoadsOnceAndSharesNoInstances()
+            throws Exception {
+        FractionalPointRepository repository = mock(FractionalPointRepository.class);
+        when(repository.findAll()).thenReturn(sampleCharts.getFractionalTimePoints());
+        FractionalService fractionalService = new FractionalService(repository);
+
+        // fewer fractions than expected, so the matching fractionals are guessed
+        List<FractionalPoint.Fractional> first = fractionalService.getFractionalPointsForDistance(
+                Arrays.asList("22.88", "1:12.98"), 3960, "6f", Breed.THOROUGHBRED);
+        List<FractionalPoint.Fractional> second = fractionalService.getFractionalPointsForDistance(
+                Arrays.asList("22.88", "1:12.98"), 3960, "6f", Breed.THOROUGHBRED);
+
+        verify(repository, times(1)).findAll();
+        assertThat(second, equalTo(first));
+        for (int i = 0; i < first.size(); i++) {
+            assertThat(second.get(i), not(sameInstance(first.get(i))));
+        }
+    }
+
+    @Test
+    public void getFractionalsForDistance_WithEveryDistance_MatchesTreeSetFloor()
+            throws Exception {
+        FractionalTreeSet fractionalPoints = sampleCharts.getFractionalTimePoints();
+        FractionalPointTemplates templates = FractionalPointTemplates.of(fractionalPoints);
+
+        for (int feet = 0; feet <= 20000; feet += 10) {
+            FractionalPoint floor = fractionalPoints.floor(new FractionalPoint(feet));
+            if (floor == null) {
+                assertThat(templates.getFractionalsForDistance(feet), nullValue());
+            } else {
+                assertThat(templates.getFractionalsForDistance(feet),
+                        equalTo(floor.getFractionals()));
+            }
+        }
+    }
 }
@@ -0,0 +1,62 @@
+package com.robinhowlett.chartparser.points_of_call;
+
+import com.robinhowlett.chartparser.charts.pdf.Breed;
+import com.robinhowlett.chartparser.charts.pdf.DistanceSurfaceTrackRecord.RaceDistance;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.robinhowlett.chartparser.ChartParser.getObjectMapper;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class PointsOfCallServiceTest {
+
+    private PointsOfCallRepository repository = new PointsOfCallRepository(getObjectMapper());
+
+    @Test
+    public void getPointsOfCallForDistance_WithEachBreedAndDistance_MatchesRepositoryFloor()
+            throws Exception {
+        PointsOfCallService pointsOfCallService = new PointsOfCallService(repository);
+        List<String> distanceTexts = Arrays.asList("Six Furlongs", "One Mile", "330 Yards",
+                "Four Hundred Yards");
+
+        for (Breed breed : Breed.values()) {
+            for (String distanceText : distanceTexts) {
+                for (int feet = 0; feet <= 16000; feet += 30) {
+                    RaceDistance raceDistance =
+                            new RaceDistance(distanceText, null, true, feet, null, null);
+                    PointsOfCall expected = repository.findByBreed(breed, distanceText)
+                            .floor(new PointsOfCall("", feet, null));
+
+                    assertThat(pointsOfCallService.getPointsOfCallForDistance(breed,
+                            raceDistance), equalTo(expected));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void getPointsOfCallForDistance_CalledForTwoStarters_SharesNoInstances()
+            throws Exception {
+        PointsOfCallService pointsOfCallService = new PointsOfCallService(repository);
+        RaceDistance raceDistance =
+                new RaceDistance("Six Furlongs", "6f", true, 3960, null, null);
+
+        PointsOfCall first =
+                pointsOfCallService.getPointsOfCallForDistance(Breed.THOROUGHBRED, raceDistance);
+        first.getCalls().get(0).setFeet(1);
+        first.getCalls().remove(1);
+        PointsOfCall second =
+                pointsOfCallService.getPointsOfCallForDistance(Breed.THOROUGHBRED, raceDistance);
+
+        assertThat(second, not(sameInstance(first)));
+        assertThat(second, equalTo(repository.findByBreed(Breed.THOROUGHBRED, "Six Furlongs")
+                .floor(new PointsOfCall("", 3960, null))));
+    }
+}
@@ -0,0 +1,87 @@
+package com.robinhowlett.chartparser.tracks;
+
+import com.robinhowlett.chartparser.ChartParser;
+import com.robinhowlett.chartparser.TestChartResources;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class TrackServiceTest {
+
+    @Test
+    public void getTrack_WithEveryCodeAndName_MatchesRepositoryScan() throws Exception {
+        TrackRepository repository = new TrackRepository(ChartParser.getCsvMapper());
+        TrackService trackService = new TrackService(repository);
+
+        for (Track track : repository.findAll()) {
+            assertThat(trackService.getTrack(" " + track.getCode()),
+                    equalTo(repository.findByCode(track.getCode())));
+            assertThat(trackService.getTrackWithName(track.getName()),
+                    equalTo(repository.findByName(track.getName())));
+        }
+        assertThat(trackService.getTrack("XXXX").isPresent(), is(false));
+        assertThat(trackService.getTrackWithName("NOWHERE DOWNS").isPresent(), is(false));
+    }
+
+    @Test
+    public void getTracksWithStateAndCanonical_WithSampleTracks_ReturnsTracksInLoadedOrder()
+            throws Exception {
+        Track arapahoe = TestChartResources.getSampleTrackAraphaoe();
+        Track philadelphia = track("PHA", "PHA", "PA", "PHILADELPHIA PARK");
+        Track parx = track("PRX", "PHA", "PA", "PARX RACING");
+        Track aalborg = track("AAL", "AAL", "", "AALBORG");
+        TrackService trackService = new TrackService(
+                repositoryOf(Arrays.asList(arapahoe, philadelphia, aalborg, parx)));
+
+        assertThat(trackService.getTracksWithState("PA"), contains(philadelphia, parx));
+        assertThat(trackService.getTracksWithState("CO"), contains(arapahoe));
+        assertThat(trackService.getTracksWithCanonical("PHA"), contains(philadelphia, parx));
+        assertThat(trackService.getTracksWithCanonical("AAL"), contains(aalborg));
+        assertThat(trackService.getTracksWithState("NY").isEmpty(), is(true));
+    }
+
+    @Test
+    public void refresh_WithChangedTracks_PublishesNewSnapshot() throws Exception {
+        List<Track> tracks = new ArrayList<>(
+                Collections.singletonList(TestChartResources.getSampleTrackAraphaoe()));
+        TrackService trackService = new TrackService(repositoryOf(tracks));
+        assertThat(trackService.getTrack("ARP").isPresent(), is(true));
+
+        Track parx = track("PRX", "PHA", "PA", "PARX RACING");
+        tracks.add(parx);
+        // loaded once, so not seen until refreshed
+        assertThat(trackService.getTrack("PRX").isPresent(), is(false));
+
+        trackService.refresh();
+        assertThat(trackService.getTrack("PRX"), equalTo(Optional.of(parx)));
+        assertThat(trackService.getTracks().size(), equalTo(2));
+    }
+
+    private static TrackRepository repositoryOf(List<Track> tracks) {
+        return new TrackRepository(ChartParser.getCsvMapper()) {
+            @Override
+            public List<Track> findAll() {
+                return new ArrayList<>(tracks);
+            }
+        };
+    }
+
+    private static Track track(String code, String canonical, String state, String name) {
+        Track track = new Track();
+        track.setCode(code);
+        track.setCanonical(canonical);
+        track.setState(state);
+        track.setName(name);
+        return track;
+    }
+}